@@ -0,0 +1,92 @@
+package com.example.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.graphics.Coord;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.MultiHashGrid;
+import com.example.model.Ant;
+import com.example.model.AntSwarm;
+import com.example.model.Food;
+import com.example.model.Nest;
+import com.example.simulation.Simulation;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Costo per formica di un tick dello sciame struttura-di-array (comportamento, movimento,
+ * feromoni e raccolta), esclusi l'update del campo di densità e il rendering.
+ *
+ * Uso: AntSwarmBenchmark [formiche] [tick] [comportamento]
+ */
+public class AntSwarmBenchmark {
+
+    private static final double MAP_WIDTH = 1600;
+    private static final double MAP_HEIGHT = 900;
+    private static final double DELTA_TIME = 1 / 60.0;
+    private static final int FOOD_COUNT = 2000;
+    private static final int DENSITY_FRAME_SKIP = 3;
+    private static final int WARMUP_TICKS = 100;
+
+    public static void main(String[] args) {
+        int antCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        Ant.ANT_BEHAVIOUR behaviour = args.length > 2 ? Ant.ANT_BEHAVIOUR.valueOf(args[2]) : Ant.ANT_BEHAVIOUR.ALL_PHEROMONES;
+
+        Simulation simulation = new Simulation(1, antCount, FOOD_COUNT, MAP_WIDTH, MAP_HEIGHT);
+        simulation.ANTS_BEHAVIOUR = behaviour;
+        simulation.initDensityManager();
+        simulation.setAntSwarmEnabled(true);
+
+        Random random = new Random(42);
+        for (int i = 0; i < FOOD_COUNT; i++) {
+            simulation.addFood(new Food(new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT / 2)));
+        }
+        Nest nest = new Nest(antCount, new Coord(MAP_WIDTH / 2, MAP_HEIGHT - 50), simulation);
+        nest.spawnAnts();
+
+        AntSwarm swarm = simulation.getAntSwarm();
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        MultiHashGrid grid = new MultiHashGrid();
+        grid.setFoodIndex(simulation.getFoodIndex());
+        swarm.attachMultiHashGrid(grid);
+        swarm.attachDensityManager(densityManager);
+
+        System.out.printf("AntSwarm benchmark: %d ants, %s, %d ticks%n", antCount, behaviour, ticks);
+
+        List<Food> pickedUp = new ArrayList<>();
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+            step(swarm, densityManager, pickedUp, tick);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        long swarmNanos = 0;
+        long bytes = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long bytesBefore = threads.getThreadAllocatedBytes(thread);
+            SimulationClock.getInstance().advance(DELTA_TIME);
+            long start = System.nanoTime();
+            swarm.update(DELTA_TIME, true);
+            swarm.collectFood(pickedUp);
+            swarmNanos += System.nanoTime() - start;
+            bytes += threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+            if (tick % DENSITY_FRAME_SKIP == 0) densityManager.update(DELTA_TIME * DENSITY_FRAME_SKIP);
+        }
+
+        System.out.printf("swarm tick: %8.3f ms/tick, %6.1f ns/ant, %10.1f bytes/tick allocated%n",
+            swarmNanos / 1e6 / ticks, (double) swarmNanos / ticks / antCount, (double) bytes / ticks);
+        System.out.printf("food picked up: %d, delivered: %d%n", pickedUp.size(), nest.getFoodCount());
+    }
+
+    private static void step(AntSwarm swarm, DensityFieldManager densityManager, List<Food> pickedUp, int tick) {
+        SimulationClock.getInstance().advance(DELTA_TIME);
+        swarm.update(DELTA_TIME, true);
+        swarm.collectFood(pickedUp);
+        if (tick % DENSITY_FRAME_SKIP == 0) densityManager.update(DELTA_TIME * DENSITY_FRAME_SKIP);
+    }
+}
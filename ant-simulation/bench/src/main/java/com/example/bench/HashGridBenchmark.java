@@ -0,0 +1,150 @@
+package com.example.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.example.config.SimulationParameters;
+import com.example.graphics.Coord;
+import com.example.managers.HashGrid;
+import com.example.model.Food;
+import com.example.model.GameObject;
+
+/**
+ * Confronto tra la HashGrid con chiavi long e tabella primitiva e la versione precedente
+ * con chiavi String in una HashMap. Riproduce il carico di un frame: clear, inserimento
+ * di tutto il cibo e una query per formica con il raggio antFeelRadius + FOOD_DIM.
+ *
+ * Uso: HashGridBenchmark [cibo] [formiche] [frame]
+ */
+public class HashGridBenchmark {
+
+    private static final double MAP_WIDTH = 1600;
+    private static final double MAP_HEIGHT = 900;
+    private static final double QUERY_RADIUS = SimulationParameters.DEFAULT_ANT_FEEL_RADIUS + Food.FOOD_DIM;
+    private static final int WARMUP_FRAMES = 200;
+
+    public static void main(String[] args) {
+        int foodCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int antCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        Random random = new Random(42);
+        List<Food> foods = new ArrayList<>();
+        for (int i = 0; i < foodCount; i++) {
+            foods.add(new Food(new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT)));
+        }
+        Coord[] queries = new Coord[antCount];
+        for (int i = 0; i < antCount; i++) {
+            queries[i] = new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT);
+        }
+
+        System.out.printf("HashGrid benchmark: %d food, %d queries/frame, %d frames%n", foodCount, antCount, frames);
+
+        HashGrid<Food> grid = new HashGrid<>();
+        LegacyHashGrid<Food> legacy = new LegacyHashGrid<>();
+
+        // Stesso risultato sulle due implementazioni
+        long checksum = runPacked(grid, foods, queries, 1);
+        long legacyChecksum = runLegacy(legacy, foods, queries, 1);
+        if (checksum != legacyChecksum) {
+            throw new IllegalStateException("Risultati diversi: " + checksum + " vs " + legacyChecksum);
+        }
+
+        runLegacy(legacy, foods, queries, WARMUP_FRAMES);
+        runPacked(grid, foods, queries, WARMUP_FRAMES);
+
+        measure("legacy (String keys)", frames, () -> runLegacy(legacy, foods, queries, frames));
+        measure("packed (long keys)  ", frames, () -> runPacked(grid, foods, queries, frames));
+    }
+
+    private static long runPacked(HashGrid<Food> grid, List<Food> foods, Coord[] queries, int frames) {
+        List<Food> nearby = new ArrayList<>();
+        long checksum = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            grid.clear();
+            for (Food food : foods) grid.addGameObject(food);
+            for (Coord query : queries) {
+                grid.getGameObjectsNear(query, QUERY_RADIUS, nearby);
+                checksum += nearby.size();
+            }
+        }
+        return checksum;
+    }
+
+    private static long runLegacy(LegacyHashGrid<Food> grid, List<Food> foods, Coord[] queries, int frames) {
+        long checksum = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            grid.clear();
+            for (Food food : foods) grid.addGameObject(food);
+            for (Coord query : queries) {
+                checksum += grid.getGameObjectsNear(query, QUERY_RADIUS).size();
+            }
+        }
+        return checksum;
+    }
+
+    private static void measure(String label, int frames, Runnable run) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        run.run();
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        System.out.printf("%s: %8.3f ms/frame, %10.1f bytes/frame allocated%n",
+            label, elapsed / 1e6 / frames, (double) bytes / frames);
+    }
+
+    /**
+     * Implementazione precedente (chiavi String in HashMap), tenuta come riferimento
+     */
+    static class LegacyHashGrid<T extends GameObject> {
+        private static final double CELL_SIZE = 10;
+        private final Map<String, List<T>> grid = new HashMap<>();
+        private final StringBuilder keyBuilder = new StringBuilder(16);
+
+        void clear() {
+            grid.clear();
+        }
+
+        void addGameObject(T gameObject) {
+            if (!gameObject.isEnabled()) return;
+
+            String key = getCellKey(gameObject.getCenter());
+            grid.computeIfAbsent(key, k -> new ArrayList<>()).add(gameObject);
+        }
+
+        List<T> getGameObjectsNear(Coord position, double radius) {
+            List<T> nearbyGameObjects = new ArrayList<>();
+            int cellRadius = (int) Math.ceil(radius / CELL_SIZE);
+            int centerX = (int) (position.x / CELL_SIZE);
+            int centerY = (int) (position.y / CELL_SIZE);
+
+            for (int dx = -cellRadius; dx <= cellRadius; dx++) {
+                for (int dy = -cellRadius; dy <= cellRadius; dy++) {
+                    String key = (centerX + dx) + "," + (centerY + dy);
+                    List<T> cellObjects = grid.get(key);
+                    if (cellObjects != null) {
+                        nearbyGameObjects.addAll(cellObjects);
+                    }
+                }
+            }
+            return nearbyGameObjects;
+        }
+
+        private String getCellKey(Coord position) {
+            long cellX = (long) Math.floor(position.x / CELL_SIZE);
+            long cellY = (long) Math.floor(position.y / CELL_SIZE);
+
+            keyBuilder.setLength(0);
+            keyBuilder.append(cellX).append(',').append(cellY);
+            return keyBuilder.toString();
+        }
+    }
+}
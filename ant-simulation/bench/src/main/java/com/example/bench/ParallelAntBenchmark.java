@@ -0,0 +1,132 @@
+package com.example.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.graphics.Coord;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.MultiHashGrid;
+import com.example.managers.NeighborBuffer;
+import com.example.managers.ParallelAntUpdater;
+import com.example.metrics.MetricsCollector;
+import com.example.model.Ant;
+import com.example.model.Food;
+import com.example.model.Nest;
+import com.example.model.Pheromone;
+import com.example.simulation.RandomService;
+import com.example.simulation.Simulation;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Ciclo formiche seriale di SimulationManager.update contro ParallelAntUpdater, sulla stessa
+ * mappa (cibo nella metà alta, nido in basso), escluso l'update del campo di densità.
+ * Il numero di thread è quello del ForkJoinPool comune: per variarlo usare
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=N
+ *
+ * Uso: ParallelAntBenchmark [formiche] [tick] [comportamento]
+ */
+public class ParallelAntBenchmark {
+
+    private static final double MAP_WIDTH = 1600;
+    private static final double MAP_HEIGHT = 900;
+    private static final double DELTA_TIME = 1 / 60.0;
+    private static final int FOOD_COUNT = 2000;
+    private static final int DENSITY_FRAME_SKIP = 3;
+    private static final int WARMUP_TICKS = 100;
+
+    public static void main(String[] args) {
+        int antCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        Ant.ANT_BEHAVIOUR behaviour = args.length > 2 ? Ant.ANT_BEHAVIOUR.valueOf(args[2]) : Ant.ANT_BEHAVIOUR.ALL_PHEROMONES;
+
+        MetricsCollector.getInstance().setAntTracingEnabled(false);
+
+        System.out.printf("Parallel ant update benchmark: %d ants, %s, %d ticks, %d threads%n",
+            antCount, behaviour, ticks, ForkJoinPool.getCommonPoolParallelism());
+
+        run("serial", antCount, ticks, behaviour, false);
+        run("parallel", antCount, ticks, behaviour, true);
+    }
+
+    private static void run(String label, int antCount, int ticks, Ant.ANT_BEHAVIOUR behaviour, boolean parallel) {
+        RandomService.getInstance().reseed(42);        // Stesse formiche di partenza per le due modalità
+        SimulationClock.getInstance().reset();
+
+        Simulation simulation = new Simulation(1, antCount, FOOD_COUNT, MAP_WIDTH, MAP_HEIGHT);
+        simulation.ANTS_BEHAVIOUR = behaviour;
+        simulation.initDensityManager();
+
+        Random random = new Random(42);
+        for (int i = 0; i < FOOD_COUNT; i++) {
+            simulation.addFood(new Food(new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT / 2)));
+        }
+        Nest nest = new Nest(antCount, new Coord(MAP_WIDTH / 2, MAP_HEIGHT - 50), simulation);
+        nest.spawnAnts();
+
+        List<Ant> ants = simulation.getAnts();
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        MultiHashGrid grid = new MultiHashGrid();
+        grid.setFoodIndex(simulation.getFoodIndex());
+        ParallelAntUpdater updater = new ParallelAntUpdater();
+        NeighborBuffer<Food> pickupCandidate = new NeighborBuffer<>(1);
+
+        long nanos = 0;
+        int pickedUp = 0;
+        for (int tick = 0; tick < WARMUP_TICKS + ticks; tick++) {
+            SimulationClock.getInstance().advance(DELTA_TIME);
+            long start = System.nanoTime();
+            grid.rebuildAnts(ants);
+            pickedUp += parallel
+                ? parallelTick(ants, grid, densityManager, updater)
+                : serialTick(ants, grid, densityManager, pickupCandidate);
+            if (tick >= WARMUP_TICKS) nanos += System.nanoTime() - start;
+
+            if (tick % DENSITY_FRAME_SKIP == 0) densityManager.update(DELTA_TIME * DENSITY_FRAME_SKIP);
+        }
+
+        System.out.printf("%-8s: %8.3f ms/tick, %7.1f ns/ant, picked up: %d, delivered: %d%n",
+            label, nanos / 1e6 / ticks, (double) nanos / ticks / antCount, pickedUp, nest.getFoodCount());
+    }
+
+    /**
+     * Il ciclo formiche seriale di SimulationManager.update
+     */
+    private static int serialTick(List<Ant> ants, MultiHashGrid grid, DensityFieldManager densityManager, NeighborBuffer<Food> pickupCandidate) {
+        for (int i = 0; i < ants.size(); i++) {
+            Ant ant = ants.get(i);
+            ant.attachMultiHashGrid(grid);
+            ant.update(DELTA_TIME);
+            densityManager.addPheromone(ant, ant.hasFoodLoad() ? Pheromone.PheromoneType.FOOD_TRAIL : Pheromone.PheromoneType.HOME_TRAIL);
+        }
+
+        int pickedUp = 0;
+        double halfFood = Food.FOOD_DIM / 2.0;
+        for (int i = 0; i < ants.size(); i++) {
+            Ant ant = ants.get(i);
+            if (!ant.isEnabled() || ant.hasFoodLoad()) continue;
+
+            if (grid.findFoodWithin(ant.getPosX() + halfFood, ant.getPosY() + halfFood, ant.getSize() + halfFood, pickupCandidate) == 0) continue;
+
+            pickUp(ant, pickupCandidate.get(0));
+            pickedUp++;
+        }
+        pickupCandidate.clear();
+        return pickedUp;
+    }
+
+    private static int parallelTick(List<Ant> ants, MultiHashGrid grid, DensityFieldManager densityManager, ParallelAntUpdater updater) {
+        updater.update(ants, DELTA_TIME, grid, null, densityManager, null, Ant.ANT_SIZE);
+
+        for (int i = 0; i < updater.getPickupCount(); i++) {
+            pickUp(updater.getPickupAnt(i), updater.getPickupFood(i));
+        }
+        return updater.getPickupCount();
+    }
+
+    private static void pickUp(Ant ant, Food food) {
+        ant.pickupFood(food);
+        food.onPickedUp(ant);
+        food.disable();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.graphics.Coord;
+import com.example.managers.HashGrid;
+import com.example.managers.UniformGrid;
+import com.example.model.Food;
+
+/**
+ * Costo della ricostruzione per frame: HashGrid (clear + inserimento di ogni oggetto)
+ * contro UniformGrid (counting sort in array preallocati), sia partendo dagli oggetti sia
+ * dalle sole coordinate in array.
+ *
+ * Uso: UniformGridBenchmark [oggetti] [frame]
+ */
+public class UniformGridBenchmark {
+
+    private static final double MAP_WIDTH = 1600;
+    private static final double MAP_HEIGHT = 900;
+    private static final int WARMUP_FRAMES = 50;
+
+    public static void main(String[] args) {
+        int objectCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        Random random = new Random(42);
+        List<Food> objects = new ArrayList<>();
+        for (int i = 0; i < objectCount; i++) {
+            objects.add(new Food(new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT)));
+        }
+
+        System.out.printf("Grid rebuild benchmark: %d objects, %d frames%n", objectCount, frames);
+
+        HashGrid<Food> hashGrid = new HashGrid<>();
+        UniformGrid<Food> uniformGrid = new UniformGrid<>();
+
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            rebuildHash(hashGrid, objects);
+            uniformGrid.rebuild(objects);
+        }
+
+        measure("HashGrid rebuild   ", frames, () -> {
+            for (int frame = 0; frame < frames; frame++) rebuildHash(hashGrid, objects);
+        });
+        measure("UniformGrid rebuild", frames, () -> {
+            for (int frame = 0; frame < frames; frame++) uniformGrid.rebuild(objects);
+        });
+
+        // Solo indici, con le posizioni già in array (come uno sciame struttura-di-array)
+        double[] x = new double[objectCount];
+        double[] y = new double[objectCount];
+        for (int i = 0; i < objectCount; i++) {
+            x[i] = objects.get(i).getCenterX();
+            y[i] = objects.get(i).getCenterY();
+        }
+        UniformGrid<Food> indexGrid = new UniformGrid<>();
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) indexGrid.rebuild(x, y, objectCount);
+
+        measure("UniformGrid indices", frames, () -> {
+            for (int frame = 0; frame < frames; frame++) indexGrid.rebuild(x, y, objectCount);
+        });
+
+        // Stesso contenuto sulle due griglie
+        System.out.printf("Objects indexed: HashGrid %d, UniformGrid %d, indices %d%n",
+            hashGrid.size(), uniformGrid.size(), indexGrid.size());
+    }
+
+    private static void rebuildHash(HashGrid<Food> grid, List<Food> objects) {
+        grid.clear();
+        for (int i = 0; i < objects.size(); i++) grid.addGameObject(objects.get(i));
+    }
+
+    private static void measure(String label, int frames, Runnable run) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        run.run();
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        System.out.printf("%s: %8.1f us/frame, %10.1f bytes/frame allocated%n",
+            label, elapsed / 1e3 / frames, (double) bytes / frames);
+    }
+}
@@ -3,6 +3,8 @@ package com.example.config;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.example.managers.DensityFieldManager;
+
 /**
  * Gestisce tutti i parametri della simulazione con:
  * - Valori default, min, max
@@ -44,6 +46,10 @@ public class SimulationParameters {
         public static final int DEFAULT_ANT_NUMBER = 500;
         public static final int DEFAULT_CLUMP_SIZE = 500;
         public static final int DEFAULT_CLUMP_NUMBER = 10;
+        public static final boolean DEFAULT_ANT_SWARM_ENABLED = false;
+        public static final boolean DEFAULT_PARALLEL_UPDATE_ENABLED = false;
+        public static final DensityFieldManager.FieldPrecision DEFAULT_FIELD_PRECISION = DensityFieldManager.FieldPrecision.DOUBLE;
+        public static final DensityFieldManager.EvaporationMode DEFAULT_EVAPORATION_MODE = DensityFieldManager.EvaporationMode.EAGER;
 
     
     // ==================== PARAMETRI REAL-TIME ====================
@@ -75,6 +81,10 @@ public class SimulationParameters {
     private int antNumber = DEFAULT_ANT_NUMBER;
     private int clumpSize = DEFAULT_CLUMP_SIZE;
     private int clumpNumber = DEFAULT_CLUMP_NUMBER;
+    private boolean antSwarmEnabled = DEFAULT_ANT_SWARM_ENABLED;
+    private boolean parallelUpdateEnabled = DEFAULT_PARALLEL_UPDATE_ENABLED;
+    private DensityFieldManager.FieldPrecision fieldPrecision = DEFAULT_FIELD_PRECISION;
+    private DensityFieldManager.EvaporationMode evaporationMode = DEFAULT_EVAPORATION_MODE;
 
     
     // ==================== CONSTRAINTS ====================
@@ -286,6 +296,44 @@ public class SimulationParameters {
     public void setClumpNumber(int value) {
         clumpNumber = (int) clamp(value, Constraints.CLUMP_NUMBER_MIN, Constraints.CLUMP_NUMBER_MAX);
     }
+
+    /**
+     * Formiche negli array di AntSwarm invece che come oggetti Ant (colonie molto grandi).
+     * Le metriche non coincidono con quelle delle Ant: GRADIENT ricade su ALL_PHEROMONES e
+     * mancano i campionamenti ANT_POSITION/ANT_DECISION
+     */
+    public boolean isAntSwarmEnabled() { return antSwarmEnabled; }
+    public void setAntSwarmEnabled(boolean value) {
+        antSwarmEnabled = value;
+    }
+
+    /**
+     * Formiche aggiornate su più core (ParallelAntUpdater): i depositi del frame si vedono solo
+     * dopo l'unione dei blocchi, quindi a parità di seme l'esecuzione differisce da quella seriale
+     * (ma non dipende dal numero di core)
+     */
+    public boolean isParallelUpdateEnabled() { return parallelUpdateEnabled; }
+    public void setParallelUpdateEnabled(boolean value) {
+        parallelUpdateEnabled = value;
+    }
+
+    /**
+     * Memoria per cella dei campi di densità, letta da Simulation.initDensityManager
+     * (FLOAT o FIXED16 riducono la memoria su mappe molto grandi, con un errore limitato)
+     */
+    public DensityFieldManager.FieldPrecision getFieldPrecision() { return fieldPrecision; }
+    public void setFieldPrecision(DensityFieldManager.FieldPrecision value) {
+        fieldPrecision = value != null ? value : DEFAULT_FIELD_PRECISION;
+    }
+
+    /**
+     * Evaporazione dei campi, letta da Simulation.initDensityManager: LAZY applica il decay
+     * solo ai tile letti o scritti (update O(tile attivi) con diffusione nulla)
+     */
+    public DensityFieldManager.EvaporationMode getEvaporationMode() { return evaporationMode; }
+    public void setEvaporationMode(DensityFieldManager.EvaporationMode value) {
+        evaporationMode = value != null ? value : DEFAULT_EVAPORATION_MODE;
+    }
     
     // ==================== UTILITY METHODS ====================
     
@@ -312,6 +360,10 @@ public class SimulationParameters {
         setAntNumber(DEFAULT_ANT_NUMBER);
         setClumpSize(DEFAULT_CLUMP_SIZE);
         setClumpNumber(DEFAULT_CLUMP_NUMBER);
+        setAntSwarmEnabled(DEFAULT_ANT_SWARM_ENABLED);
+        setParallelUpdateEnabled(DEFAULT_PARALLEL_UPDATE_ENABLED);
+        setFieldPrecision(DEFAULT_FIELD_PRECISION);
+        setEvaporationMode(DEFAULT_EVAPORATION_MODE);
     }
     
     /**
@@ -322,5 +374,9 @@ public class SimulationParameters {
         target.antNumber = this.antNumber;
         target.clumpSize = this.clumpSize;
         target.clumpNumber = this.clumpNumber;
+        target.antSwarmEnabled = this.antSwarmEnabled;
+        target.parallelUpdateEnabled = this.parallelUpdateEnabled;
+        target.fieldPrecision = this.fieldPrecision;
+        target.evaporationMode = this.evaporationMode;
     }
 }
\ No newline at end of file
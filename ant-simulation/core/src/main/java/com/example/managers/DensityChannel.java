@@ -0,0 +1,752 @@
+package com.example.managers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Canale del campo di densità (un tipo di feromone).
+ * I valori sono memorizzati in un buffer piatto row-major (indice = y * width + x)
+ * con una coppia front/back persistente: la diffusione legge dal front, scrive nel back
+ * e poi scambia i due buffer, senza allocare nulla ad ogni passata. La precisione di
+ * memorizzazione dei due buffer (double, float o virgola fissa a 16 bit) è scelta alla
+ * creazione, vedi FieldBuffer.
+ *
+ * La griglia è divisa in tile di TILE_SIZE x TILE_SIZE celle. Un tile è attivo se contiene
+ * almeno una cella non nulla; i tile inattivi sono a zero in entrambi i buffer e
+ * l'aggiornamento li salta, così il costo scala con l'area delle scie e non con la mappa.
+ *
+ * Su richiesta mantiene anche la tabella integrale (summed-area table) del front, usata
+ * dai sensori per ottenere la somma di un rettangolo con 4 letture, e il campo gradiente
+ * (gx, gy per cella) calcolato dalla tabella integrale sui soli tile attivi.
+ *
+ * La piramide multirisoluzione (mipmap) tiene per ogni livello l la media dei blocchi
+ * 2^l x 2^l celle: i livelli fino a TILE_LEVEL coincidono con la griglia dei tile e vengono
+ * ricostruiti solo per i tile cambiati, quelli più grossolani per intero dal livello TILE_LEVEL.
+ *
+ * Per l'evaporazione lazy ogni tile ricorda il valore dell'orologio di decay (somma dei
+ * log del decay applicato) all'ultima materializzazione: il valore reale di una cella è
+ * front[i] * exp(decayClock - tileStamp). Il fattore viene messo in cache per tile ad ogni
+ * update e applicato dalle letture; le scritture materializzano prima il tile.
+ */
+class DensityChannel {
+
+    static final int TILE_SIZE = 32;                // Celle per lato di un tile
+
+    private final int width;
+    private final int height;
+
+    private final DensityFieldManager.FieldPrecision precision;
+    private FieldBuffer front;      // Buffer letto da sensori e renderer
+    private FieldBuffer back;       // Buffer di lavoro della diffusione
+
+    // Mappa di attività dei tile
+    private final int tilesX;
+    private final int tilesY;
+    private final BitSet activeTiles;               // Tile con celle non nulle nel front
+    private final BitSet dirtyTiles;                // Tile da processare in questo update (attivi + vicini)
+    private final int[] dirtyTileList;              // Stessi tile in forma di lista per la passata parallela
+    private final int[] tileActiveCells;            // Celle non nulle per tile all'ultimo update
+    private final BitSet staleCountTiles;           // Tile con decay lazy il cui conteggio va ricalcolato
+    private int activeCellCount;
+
+    // Tabella integrale (width+1)x(height+1): sat[y][x] = somma delle celle in [0,x) x [0,y)
+    private static final int SUMMED_AREA_STRIP = 256;  // Colonne per task nella passata verticale
+    private double[] summedArea;
+
+    // Campo gradiente (allocato solo se richiesto): differenze centrali di medie su finestra
+    private double[] gradientX;
+    private double[] gradientY;
+    private final BitSet gradientTiles;             // Tile con gradiente non nullo scritto
+
+    // Piramide multirisoluzione (allocata solo se richiesta); pyramid[0] è il front stesso
+    private static final int TILE_LEVEL = Integer.numberOfTrailingZeros(TILE_SIZE);    // 2^5 = TILE_SIZE
+    private static final int MAX_PYRAMID_LEVELS = 10;
+    private double[][] pyramid;
+    private int[] levelWidth;
+    private int[] levelHeight;
+    private final BitSet pyramidTiles;              // Tile con blocchi non nulli nella piramide
+
+    // Evaporazione lazy
+    private static final double RESCALE_LIMIT = 1e-3;   // Sotto questo fattore il tile viene materializzato
+    private double decayClock;                          // Somma dei log(decay) applicati in modo lazy
+    private final double[] tileStamp;                   // decayClock all'ultima materializzazione del tile
+    private final double[] tileScale;                   // exp(decayClock - tileStamp), aggiornato ad ogni update
+    private final double[] tileMax;                     // Massimo valore memorizzato nel tile (infinito se ignoto)
+    private double lazyMinIntensity;                    // Soglia dell'ultimo advanceLazyDecay (per i riconteggi)
+
+    DensityChannel(int width, int height, DensityFieldManager.FieldPrecision precision) {
+        this.width = width;
+        this.height = height;
+        this.precision = precision;
+        this.front = FieldBuffer.create(precision, width * height);
+        this.back = FieldBuffer.create(precision, width * height);
+
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        this.activeTiles = new BitSet(tilesX * tilesY);
+        this.dirtyTiles = new BitSet(tilesX * tilesY);
+        this.dirtyTileList = new int[tilesX * tilesY];
+        this.tileActiveCells = new int[tilesX * tilesY];
+        this.staleCountTiles = new BitSet(tilesX * tilesY);
+        this.gradientTiles = new BitSet(tilesX * tilesY);
+        this.pyramidTiles = new BitSet(tilesX * tilesY);
+
+        this.tileStamp = new double[tilesX * tilesY];
+        this.tileScale = new double[tilesX * tilesY];
+        this.tileMax = new double[tilesX * tilesY];
+        Arrays.fill(tileScale, 1.0);
+    }
+
+    FieldBuffer front() { return front; }
+
+    FieldBuffer back() { return back; }
+
+    DensityFieldManager.FieldPrecision getPrecision() { return precision; }
+
+    /**
+     * Scambia front e back dopo una passata di diffusione
+     */
+    void swap() {
+        FieldBuffer tmp = front;
+        front = back;
+        back = tmp;
+    }
+
+    int index(int x, int y) {
+        return y * width + x;
+    }
+
+    int tileOf(int x, int y) {
+        return (y / TILE_SIZE) * tilesX + (x / TILE_SIZE);
+    }
+
+    /**
+     * Da chiamare prima di scrivere nella cella (x, y): se il tile ha decay lazy pendente
+     * viene materializzato, così la scrittura avviene sul valore corrente
+     */
+    void prepareWrite(int x, int y, double minIntensity) {
+        int tile = tileOf(x, y);
+
+        if (!activeTiles.get(tile)) {
+            // Tile vuoto: niente da materializzare, basta allinearlo all'orologio
+            tileStamp[tile] = decayClock;
+            tileScale[tile] = 1.0;
+            tileMax[tile] = 0;
+        } else if (tileStamp[tile] != decayClock) {
+            materializeTile(tile, minIntensity);
+        }
+    }
+
+    /**
+     * Segna come attivo il tile che contiene la cella (x, y) dopo averci scritto value
+     */
+    void wakeTile(int x, int y, double value) {
+        int tile = tileOf(x, y);
+        activeTiles.set(tile);
+        tileMax[tile] = Math.max(tileMax[tile], value);
+    }
+
+    /**
+     * Fattore di decay lazy ancora da applicare alla cella (x, y); 1 in modalità eager
+     */
+    double getCellScale(int x, int y) {
+        return tileScale[tileOf(x, y)];
+    }
+
+    /**
+     * Evaporazione lazy: avanza l'orologio senza toccare le celle. Per ogni tile attivo
+     * aggiorna il fattore in cache, addormenta quelli il cui massimo è sceso sotto soglia
+     * e materializza quelli con fattore troppo piccolo (per non perdere precisione).
+     * Costo O(tile attivi) invece di O(celle)
+     */
+    void advanceLazyDecay(double frameDecay, double minIntensity) {
+        decayClock += Math.log(frameDecay);
+        lazyMinIntensity = minIntensity;
+
+        for (int tile = activeTiles.nextSetBit(0); tile >= 0; tile = activeTiles.nextSetBit(tile + 1)) {
+            double scale = Math.exp(decayClock - tileStamp[tile]);
+
+            if (tileMax[tile] * scale < minIntensity) {
+                clearTile(front, tile);
+                clearTile(back, tile);
+                activeTiles.clear(tile);
+                tileActiveCells[tile] = 0;
+                staleCountTiles.clear(tile);
+                tileStamp[tile] = decayClock;
+                tileScale[tile] = 1.0;
+                tileMax[tile] = 0;
+            } else if (scale < RESCALE_LIMIT) {
+                materializeTile(tile, minIntensity);
+            } else {
+                // Le celle scese sotto soglia contano ancora: il conteggio va rifatto (vedi getActiveCellCount)
+                tileScale[tile] = scale;
+                staleCountTiles.set(tile);
+            }
+        }
+
+        activeCellCount = 0;
+        for (int tile = activeTiles.nextSetBit(0); tile >= 0; tile = activeTiles.nextSetBit(tile + 1)) {
+            activeCellCount += tileActiveCells[tile];
+        }
+    }
+
+    /**
+     * Porta al valore corrente tutti i tile con decay pendente (prima di una passata eager)
+     */
+    void materializeActiveTiles(double minIntensity) {
+        for (int tile = activeTiles.nextSetBit(0); tile >= 0; tile = activeTiles.nextSetBit(tile + 1)) {
+            if (tileStamp[tile] != decayClock) materializeTile(tile, minIntensity);
+        }
+    }
+
+    /**
+     * Applica al tile il decay accumulato in forma chiusa, azzera le celle sotto soglia
+     * e ricalcola massimo e celle attive
+     */
+    private void materializeTile(int tile, double minIntensity) {
+        double scale = Math.exp(decayClock - tileStamp[tile]);
+
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+
+        double max = 0;
+        int activeCells = 0;
+
+        for (int y = fromY; y < toY; y++) {
+            for (int i = index(fromX, y); i < index(toX, y); i++) {
+                double value = front.get(i) * scale;
+                value = value < minIntensity ? 0 : value;
+                front.set(i, value);
+                max = Math.max(max, value);
+                activeCells += value > 0 ? 1 : 0;
+            }
+        }
+
+        tileStamp[tile] = decayClock;
+        tileScale[tile] = 1.0;
+        tileMax[tile] = max;
+        tileActiveCells[tile] = activeCells;
+        staleCountTiles.clear(tile);
+    }
+
+    /**
+     * Calcola i tile da aggiornare: quelli attivi più gli 8 vicini, dove la diffusione può
+     * spostare feromone in un passo. Ritorna quanti sono (vedi getDirtyTiles)
+     */
+    int collectDirtyTiles() {
+        dirtyTiles.clear();
+
+        for (int tile = activeTiles.nextSetBit(0); tile >= 0; tile = activeTiles.nextSetBit(tile + 1)) {
+            int tileX = tile % tilesX;
+            int tileY = tile / tilesX;
+
+            for (int ny = Math.max(0, tileY - 1); ny <= Math.min(tilesY - 1, tileY + 1); ny++) {
+                for (int nx = Math.max(0, tileX - 1); nx <= Math.min(tilesX - 1, tileX + 1); nx++) {
+                    dirtyTiles.set(ny * tilesX + nx);
+                }
+            }
+        }
+
+        int count = 0;
+        for (int tile = dirtyTiles.nextSetBit(0); tile >= 0; tile = dirtyTiles.nextSetBit(tile + 1)) {
+            dirtyTileList[count++] = tile;
+        }
+        return count;
+    }
+
+    int[] getDirtyTiles() { return dirtyTileList; }
+
+    /**
+     * Chiamato dalla passata parallela: ogni tile scrive solo i propri slot. max è il massimo
+     * scritto nel back (infinito se non misurato); i sensori non leggono nessuno dei due
+     */
+    void setTileStats(int tile, int count, double max) {
+        tileActiveCells[tile] = count;
+        tileMax[tile] = count > 0 ? max : 0;
+    }
+
+    /**
+     * Massimo del tile nel buffer (per la passata in modalità lazy)
+     */
+    double measureTileMax(FieldBuffer buffer, int tile) {
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+        double[] values = buffer.doubles();
+
+        double max = 0;
+        for (int y = fromY; y < toY; y++) {
+            for (int i = index(fromX, y); i < index(toX, y); i++) {
+                max = Math.max(max, values != null ? values[i] : buffer.get(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Da chiamare dopo la passata e prima dello swap: aggiorna i bit dei tile processati
+     * e azzera nel front i tile che si addormentano, così restano a zero in entrambi i buffer
+     */
+    void commitDirtyTiles(int dirtyCount) {
+        activeCellCount = 0;
+
+        for (int i = 0; i < dirtyCount; i++) {
+            int tile = dirtyTileList[i];
+            int count = tileActiveCells[tile];
+            activeCellCount += count;
+
+            // La passata eager lascia i tile materializzati, con il massimo registrato da setTileStats
+            tileStamp[tile] = decayClock;
+            tileScale[tile] = 1.0;
+            staleCountTiles.clear(tile);
+
+            if (count > 0) {
+                activeTiles.set(tile);
+            } else if (activeTiles.get(tile)) {
+                clearTile(front, tile);
+                activeTiles.clear(tile);
+            }
+        }
+    }
+
+    private void clearTile(FieldBuffer buffer, int tile) {
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+
+        for (int y = fromY; y < toY; y++) {
+            buffer.clear(index(fromX, y), index(toX, y));
+        }
+    }
+
+    private void clearTile(double[] buffer, int tile) {
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+
+        for (int y = fromY; y < toY; y++) {
+            Arrays.fill(buffer, index(fromX, y), index(toX, y), 0);
+        }
+    }
+
+    int getTileStartX(int tile) { return (tile % tilesX) * TILE_SIZE; }
+    int getTileStartY(int tile) { return (tile / tilesX) * TILE_SIZE; }
+
+    /**
+     * Ricostruisce la tabella integrale dal front: prima le somme prefisse di ogni riga,
+     * poi l'accumulo verticale su strisce di colonne, entrambe in parallelo
+     */
+    void buildSummedAreaTable() {
+        int stride = width + 1;
+
+        if (summedArea == null) {
+            summedArea = new double[stride * (height + 1)];    // Riga e colonna 0 restano a zero
+        }
+
+        FieldBuffer field = front;
+        double[] table = summedArea;
+
+        IntStream.range(0, height).parallel().forEach(y -> {
+            int source = y * width;
+            int target = (y + 1) * stride + 1;
+            int tileRow = (y / TILE_SIZE) * tilesX;
+            double rowSum = 0;
+
+            // Un segmento per tile, con il fattore di decay lazy del tile
+            for (int fromX = 0; fromX < width; fromX += TILE_SIZE) {
+                double scale = tileScale[tileRow + fromX / TILE_SIZE];
+                int toX = Math.min(fromX + TILE_SIZE, width);
+                for (int x = fromX; x < toX; x++) {
+                    rowSum += field.get(source + x) * scale;
+                    table[target + x] = rowSum;
+                }
+            }
+        });
+
+        int strips = (stride + SUMMED_AREA_STRIP - 1) / SUMMED_AREA_STRIP;
+
+        IntStream.range(0, strips).parallel().forEach(strip -> {
+            int fromX = strip * SUMMED_AREA_STRIP;
+            int toX = Math.min(fromX + SUMMED_AREA_STRIP, stride);
+            for (int y = 2; y <= height; y++) {
+                int row = y * stride;
+                int previous = row - stride;
+                for (int x = fromX; x < toX; x++) {
+                    table[row + x] += table[previous + x];
+                }
+            }
+        });
+    }
+
+    boolean hasSummedAreaTable() {
+        return summedArea != null;
+    }
+
+    /**
+     * Somma delle celle nel rettangolo [fromX, toX) x [fromY, toY), estremi già dentro la griglia
+     */
+    double getAreaSum(int fromX, int fromY, int toX, int toY) {
+        int stride = width + 1;
+        return summedArea[toY * stride + toX]
+             - summedArea[fromY * stride + toX]
+             - summedArea[toY * stride + fromX]
+             + summedArea[fromY * stride + fromX];
+    }
+
+    /**
+     * Ricalcola il gradiente sui tile attivi e sui loro vicini a partire dalla tabella integrale
+     * (che deve essere già aggiornata). Ogni componente è una differenza centrale tra medie su
+     * finestre (2*span+1)^2 distanti span celle: un gradiente già smussato alla scala dei sensori.
+     * span è limitato a TILE_SIZE/2, così il supporto non esce dai tile vicini.
+     */
+    void updateGradient(int span) {
+        if (gradientX == null) {
+            gradientX = new double[width * height];
+            gradientY = new double[width * height];
+        }
+
+        int halfSpan = Math.max(1, Math.min(span, TILE_SIZE / 2));
+        int count = collectDirtyTiles();
+
+        // I tile che escono dall'insieme tornano a gradiente nullo
+        for (int tile = gradientTiles.nextSetBit(0); tile >= 0; tile = gradientTiles.nextSetBit(tile + 1)) {
+            if (!dirtyTiles.get(tile)) {
+                clearTile(gradientX, tile);
+                clearTile(gradientY, tile);
+            }
+        }
+        gradientTiles.clear();
+        gradientTiles.or(dirtyTiles);
+
+        IntStream.range(0, count).parallel().forEach(i -> updateGradientTile(dirtyTileList[i], halfSpan));
+    }
+
+    private void updateGradientTile(int tile, int span) {
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+
+        double distance = 2.0 * span;
+
+        for (int y = fromY; y < toY; y++) {
+            for (int x = fromX; x < toX; x++) {
+                int index = index(x, y);
+                gradientX[index] = (getWindowMean(x + span, y, span) - getWindowMean(x - span, y, span)) / distance;
+                gradientY[index] = (getWindowMean(x, y + span, span) - getWindowMean(x, y - span, span)) / distance;
+            }
+        }
+    }
+
+    /**
+     * Media della finestra centrata in (x, y); le celle fuori griglia contano come zero
+     */
+    private double getWindowMean(int x, int y, int radius) {
+        int fromX = Math.max(0, x - radius);
+        int fromY = Math.max(0, y - radius);
+        int toX = Math.min(width, x + radius + 1);
+        int toY = Math.min(height, y + radius + 1);
+
+        if (fromX >= toX || fromY >= toY) return 0;
+
+        double windowCells = (2.0 * radius + 1) * (2.0 * radius + 1);
+        return getAreaSum(fromX, fromY, toX, toY) / windowCells;
+    }
+
+    boolean hasGradient() {
+        return gradientX != null;
+    }
+
+    double getGradientX(int index) { return gradientX[index]; }
+    double getGradientY(int index) { return gradientY[index]; }
+
+    /**
+     * Aggiorna la piramide dopo un update: ricalcola i blocchi dei tile attivi e di quelli
+     * che lo erano alla ricostruzione precedente (ora a zero), poi i livelli sopra il tile.
+     * Usa il fattore di decay lazy del tile, come la tabella integrale
+     */
+    void updatePyramid() {
+        if (pyramid == null) allocatePyramid();
+        if (pyramid.length < 2) return;
+
+        pyramidTiles.or(activeTiles);
+
+        int count = 0;
+        for (int tile = pyramidTiles.nextSetBit(0); tile >= 0; tile = pyramidTiles.nextSetBit(tile + 1)) {
+            dirtyTileList[count++] = tile;
+        }
+
+        IntStream.range(0, count).parallel().forEach(i -> updatePyramidTile(dirtyTileList[i]));
+
+        pyramidTiles.clear();
+        pyramidTiles.or(activeTiles);
+
+        for (int level = TILE_LEVEL + 1; level < pyramid.length; level++) {
+            downsample(level, 0, 0, levelWidth[level], levelHeight[level]);
+        }
+    }
+
+    private void allocatePyramid() {
+        // Si dimezza finché il livello più grossolano non è una sola cella
+        int levels = 1;
+        for (int w = width, h = height; levels < MAX_PYRAMID_LEVELS && (w > 1 || h > 1); levels++) {
+            w = (w + 1) / 2;
+            h = (h + 1) / 2;
+        }
+
+        pyramid = new double[levels][];
+        levelWidth = new int[levels];
+        levelHeight = new int[levels];
+        levelWidth[0] = width;
+        levelHeight[0] = height;
+
+        for (int level = 1; level < levels; level++) {
+            levelWidth[level] = (levelWidth[level - 1] + 1) / 2;
+            levelHeight[level] = (levelHeight[level - 1] + 1) / 2;
+            pyramid[level] = new double[levelWidth[level] * levelHeight[level]];
+        }
+    }
+
+    /**
+     * Ricostruisce i livelli 1..TILE_LEVEL nel blocco corrispondente al tile
+     */
+    private void updatePyramidTile(int tile) {
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        double scale = tileScale[tile];
+
+        // Livello 1 direttamente dal front
+        int coarseFromX = fromX >> 1;
+        int coarseFromY = fromY >> 1;
+        int coarseToX = Math.min(coarseFromX + TILE_SIZE / 2, levelWidth[1]);
+        int coarseToY = Math.min(coarseFromY + TILE_SIZE / 2, levelHeight[1]);
+        double[] level1 = pyramid[1];
+
+        for (int cy = coarseFromY; cy < coarseToY; cy++) {
+            int y = cy * 2;
+            boolean hasNextRow = y + 1 < height;
+            for (int cx = coarseFromX; cx < coarseToX; cx++) {
+                int x = cx * 2;
+                boolean hasNextColumn = x + 1 < width;
+                int i = index(x, y);
+
+                double sum = front.get(i);
+                if (hasNextColumn) sum += front.get(i + 1);
+                if (hasNextRow) {
+                    sum += front.get(i + width);
+                    if (hasNextColumn) sum += front.get(i + width + 1);
+                }
+                level1[cy * levelWidth[1] + cx] = sum * scale * 0.25;
+            }
+        }
+
+        for (int level = 2; level <= TILE_LEVEL && level < pyramid.length; level++) {
+            int blockFromX = fromX >> level;
+            int blockFromY = fromY >> level;
+            int blockSize = TILE_SIZE >> level;
+            downsample(level, blockFromX, blockFromY,
+                Math.min(blockFromX + blockSize, levelWidth[level]),
+                Math.min(blockFromY + blockSize, levelHeight[level]));
+        }
+    }
+
+    /**
+     * Media 2x2 dal livello precedente nel rettangolo [fromX, toX) x [fromY, toY) del livello;
+     * i figli fuori griglia contano come zero
+     */
+    private void downsample(int level, int fromX, int fromY, int toX, int toY) {
+        double[] source = pyramid[level - 1];
+        double[] target = pyramid[level];
+        int sourceWidth = levelWidth[level - 1];
+        int sourceHeight = levelHeight[level - 1];
+        int targetWidth = levelWidth[level];
+
+        for (int cy = fromY; cy < toY; cy++) {
+            int y = cy * 2;
+            boolean hasNextRow = y + 1 < sourceHeight;
+            for (int cx = fromX; cx < toX; cx++) {
+                int x = cx * 2;
+                int i = y * sourceWidth + x;
+                boolean hasNextColumn = x + 1 < sourceWidth;
+
+                double sum = source[i];
+                if (hasNextColumn) sum += source[i + 1];
+                if (hasNextRow) {
+                    sum += source[i + sourceWidth];
+                    if (hasNextColumn) sum += source[i + sourceWidth + 1];
+                }
+                target[cy * targetWidth + cx] = sum * 0.25;
+            }
+        }
+    }
+
+    boolean hasPyramid() {
+        return pyramid != null;
+    }
+
+    /**
+     * Numero di livelli compreso il livello 0 (risoluzione piena)
+     */
+    int getPyramidLevels() {
+        return pyramid.length;
+    }
+
+    int getLevelWidth(int level) { return levelWidth[level]; }
+    int getLevelHeight(int level) { return levelHeight[level]; }
+
+    /**
+     * Media del blocco (x, y) del livello (level >= 1), coordinate già dentro il livello
+     */
+    double getLevelValue(int level, int x, int y) {
+        return pyramid[level][y * levelWidth[level] + x];
+    }
+
+    /**
+     * Copia in blocco il livello in target (row-major). Il livello 0 è il front decodificato
+     * con il fattore di decay lazy del tile e le celle sotto minIntensity azzerate, come le
+     * letture per cella; gli altri livelli sono gli array della piramide
+     */
+    void copyLevel(int level, double[] target, double minIntensity) {
+        if (level > 0) {
+            System.arraycopy(pyramid[level], 0, target, 0, levelWidth[level] * levelHeight[level]);
+            return;
+        }
+
+        front.read(0, target, 0, width * height);
+
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int tileRow = (y / TILE_SIZE) * tilesX;
+            for (int fromX = 0; fromX < width; fromX += TILE_SIZE) {
+                double scale = tileScale[tileRow + fromX / TILE_SIZE];
+                int to = row + Math.min(fromX + TILE_SIZE, width);
+                for (int i = row + fromX; i < to; i++) {
+                    double value = target[i] * scale;
+                    target[i] = value < minIntensity ? 0 : value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Come copyLevel(0, ...) ma solo dove il campo può essere cambiato: copia i tile attivi e
+     * azzera quelli copiati in precedenza (copiedTiles) che nel frattempo si sono addormentati.
+     * I tile che dormono sono a zero nel front, quindi target deve essere a zero fuori da
+     * copiedTiles. Alla fine copiedTiles contiene i tile attivi; costo O(celle dei tile attivi)
+     */
+    void copyActiveTiles(double[] target, BitSet copiedTiles, double minIntensity) {
+        for (int tile = copiedTiles.nextSetBit(0); tile >= 0; tile = copiedTiles.nextSetBit(tile + 1)) {
+            if (!activeTiles.get(tile)) clearTile(target, tile);
+        }
+
+        for (int tile = activeTiles.nextSetBit(0); tile >= 0; tile = activeTiles.nextSetBit(tile + 1)) {
+            int fromX = getTileStartX(tile);
+            int fromY = getTileStartY(tile);
+            int toX = Math.min(fromX + TILE_SIZE, width);
+            int toY = Math.min(fromY + TILE_SIZE, height);
+            double scale = tileScale[tile];
+
+            for (int y = fromY; y < toY; y++) {
+                int from = index(fromX, y);
+                int to = index(toX, y);
+                front.read(from, target, from, to - from);
+                for (int i = from; i < to; i++) {
+                    double value = target[i] * scale;
+                    target[i] = value < minIntensity ? 0 : value;
+                }
+            }
+        }
+
+        copiedTiles.clear();
+        copiedTiles.or(activeTiles);
+    }
+
+    void clear() {
+        front.clear(0, front.size());
+        back.clear(0, back.size());
+        if (summedArea != null) Arrays.fill(summedArea, 0);
+        if (gradientX != null) {
+            Arrays.fill(gradientX, 0);
+            Arrays.fill(gradientY, 0);
+        }
+        gradientTiles.clear();
+        if (pyramid != null) {
+            for (int level = 1; level < pyramid.length; level++) Arrays.fill(pyramid[level], 0);
+        }
+        pyramidTiles.clear();
+        activeTiles.clear();
+        Arrays.fill(tileActiveCells, 0);
+        staleCountTiles.clear();
+        activeCellCount = 0;
+        Arrays.fill(tileStamp, decayClock);
+        Arrays.fill(tileScale, 1.0);
+        Arrays.fill(tileMax, 0);
+    }
+
+    /**
+     * Celle non nulle (al netto del decay lazy). I tile scalati in modo lazy vengono
+     * ricontati qui, alla lettura, invece che a ogni update
+     */
+    int getActiveCellCount() {
+        for (int tile = staleCountTiles.nextSetBit(0); tile >= 0; tile = staleCountTiles.nextSetBit(tile + 1)) {
+            int count = countTileCells(tile);
+            activeCellCount += count - tileActiveCells[tile];
+            tileActiveCells[tile] = count;
+        }
+        staleCountTiles.clear();
+        return activeCellCount;
+    }
+
+    private int countTileCells(int tile) {
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+
+        int count = 0;
+        for (int y = fromY; y < toY; y++) {
+            for (int i = index(fromX, y); i < index(toX, y); i++) {
+                count += isCellActive(tile, i) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Celle del tile non nulle sia in questo canale che in other (stessa griglia):
+     * la parte da non contare due volte nell'unione dei canali
+     */
+    int countCellsActiveInBoth(DensityChannel other, int tile) {
+        if (!activeTiles.get(tile) || !other.activeTiles.get(tile)) return 0;
+
+        int fromX = getTileStartX(tile);
+        int fromY = getTileStartY(tile);
+        int toX = Math.min(fromX + TILE_SIZE, width);
+        int toY = Math.min(fromY + TILE_SIZE, height);
+
+        int count = 0;
+        for (int y = fromY; y < toY; y++) {
+            for (int i = index(fromX, y); i < index(toX, y); i++) {
+                count += isCellActive(tile, i) && other.isCellActive(tile, i) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    private boolean isCellActive(int tile, int index) {
+        double value = front.get(index) * tileScale[tile];
+        return value > 0 && value >= lazyMinIntensity;
+    }
+
+    int nextActiveTile(int fromTile) { return activeTiles.nextSetBit(fromTile); }
+
+    int getActiveTileCount() { return activeTiles.cardinality(); }
+    int getWidth() { return width; }
+    int getHeight() { return height; }
+}
@@ -0,0 +1,984 @@
+package com.example.managers;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+import com.example.config.ParameterAdapter;
+import com.example.graphics.Coord;
+import com.example.model.Ant;
+import com.example.model.AntSwarm;
+import com.example.model.Pheromone;
+import com.example.simulation.SimulationClock;
+
+
+public class DensityFieldManager {
+
+    /**
+     * Modalità di evaporazione del campo
+     */
+    public enum EvaporationMode {
+        EAGER,              // Decay applicato a ogni cella dei tile attivi ad ogni update
+        LAZY                // Decay in forma chiusa applicato quando un tile viene letto o scritto; la
+                            // diffusione viene accumulata e applicata una volta ogni LAZY_DIFFUSION_INTERVAL update
+    }
+
+    /**
+     * Precisione di memorizzazione dei buffer del campo (scelta alla creazione)
+     */
+    public enum FieldPrecision {
+        DOUBLE,             // 8 byte per cella (riferimento)
+        FLOAT,              // 4 byte per cella
+        FIXED16             // 2 byte per cella, virgola fissa sull'intervallo di maxIntensity (mappe enormi)
+    }
+
+    /**
+     * Modalità di campionamento dei sensori delle formiche
+     */
+    public enum SensingMode {
+        SUMMED_AREA,        // Media su finestra quadrata tramite tabella integrale: 4 letture per sensore
+        STENCIL             // Somma esatta sul rombo |dx|+|dy| <= r (modalità di riferimento)
+    }
+    
+    // Configurazione griglia
+    public static final double CELL_SIZE = Pheromone.PHEROMONE_SIZE; // Pixel per cella
+    public static final int COARSE_SENSOR_RADIUS = 16;             // Oltre questo raggio (in celle) i sensori leggono la piramide
+    private final int gridWidth, gridHeight;
+    
+    // Campi di densità separati per tipo (buffer piatti row-major con doppio buffer)
+    private final DensityChannel foodDensity;
+    private final DensityChannel homeDensity;
+        
+    // Costanti per limitare il piazzamento dei feromoni
+    private static final double MIN_DISTANCE_BETWEEN_PHEROMONES = Pheromone.PHEROMONE_SIZE; // Distanza minima tra i feromoni
+    private static final double JITTER_RADIUS = MIN_DISTANCE_BETWEEN_PHEROMONES * 0.15;
+    private static final double MIN_TIME_BETWEEN_PHEROMONES = MIN_DISTANCE_BETWEEN_PHEROMONES / ParameterAdapter.getAntSpeed(); // secondi
+    private static final double FOOD_PHEROMONES_BOOSTER = 1.5;
+
+    private static final double[][] GAUSSIAN_KERNEL = {             // Kernel gaussiano 3x3 pre-calcolato
+        {0.077847, 0.123317, 0.077847},
+        {0.123317, 0.195346, 0.123317}, 
+        {0.077847, 0.123317, 0.077847}
+    };
+
+    // Pesi del kernel per il percorso interno senza branch (centro, lati, angoli)
+    private static final double KERNEL_CENTER = GAUSSIAN_KERNEL[1][1];
+    private static final double KERNEL_EDGE = GAUSSIAN_KERNEL[0][1];
+    private static final double KERNEL_CORNER = GAUSSIAN_KERNEL[0][0];
+
+    private double totalFoodIntensity;
+    private double totalHomeIntensity;
+
+    private SensingMode sensingMode = SensingMode.SUMMED_AREA;
+    private boolean gradientEnabled = false;            // Campo gradiente precalcolato (comportamento GRADIENT)
+    private boolean pyramidEnabled = false;             // Piramide multirisoluzione (sensori larghi, LOD del renderer)
+    private EvaporationMode evaporationMode = EvaporationMode.EAGER;
+    private static final int LAZY_DIFFUSION_INTERVAL = 4;   // Update lazy per ogni passata di diffusione
+    private long lazyUpdateCount;
+
+    // Update avviato da beginUpdate e non ancora concluso
+    private boolean updatePending;
+    private ForkJoinTask<?> pendingPass;                // null se la passata è già stata eseguita inline
+    private double pendingFrameDecay;
+    private int foodDirtyCount;                         // Tile da committare, -1 = solo decay lazy
+    private int homeDirtyCount;
+    private final PheromoneDepositBuffer pendingDeposits = new PheromoneDepositBuffer();
+
+    // Kernel della passata fusa: vettoriale (Vector API) se il modulo è abilitato, altrimenti scalare
+    private DensityKernel kernel = DensityKernel.create(true);
+
+    // Righe decodificate per il kernel quando la precisione non è DOUBLE (una per thread della passata)
+    private static final ThreadLocal<RowScratch> ROW_SCRATCH = ThreadLocal.withInitial(RowScratch::new);
+
+    public DensityFieldManager(double mapWidth, double mapHeight) {
+        this(mapWidth, mapHeight, FieldPrecision.DOUBLE);
+    }
+
+    public DensityFieldManager(double mapWidth, double mapHeight, FieldPrecision precision) {
+        this.gridWidth = (int) Math.ceil(mapWidth / CELL_SIZE);
+        this.gridHeight = (int) Math.ceil(mapHeight / CELL_SIZE);
+        
+        // Inizializza griglie
+        this.foodDensity = new DensityChannel(gridWidth, gridHeight, precision);
+        this.homeDensity = new DensityChannel(gridWidth, gridHeight, precision);
+        
+        System.out.printf("DensityFieldManager initialized: %dx%d grid (%.1f cell size, %s kernel, %s storage)\n", 
+            gridWidth, gridHeight, CELL_SIZE, isVectorKernelActive() ? "vector" : "scalar", precision);
+
+        this.totalFoodIntensity = 0;
+        this.totalHomeIntensity = 0;
+    }
+    
+    /**
+     * Aggiunge feromone al campo di densità
+     */
+    public void addPheromone(Coord pos, Pheromone.PheromoneType type, double  intensity) {
+        addPheromone(pos.x, pos.y, type, intensity);
+    }
+
+    public void addPheromone(double posX, double posY, Pheromone.PheromoneType type, double  intensity) {
+
+        // Durante una passata asincrona il front non si tocca: il deposito verrà scritto da finishUpdate
+        if (updatePending) {
+            pendingDeposits.add(posX, posY, type, intensity);
+            return;
+        }
+
+        if (intensity <= ParameterAdapter.getPheromoneMinIntensity()) return;
+
+        int x = (int) (posX / CELL_SIZE);
+        int y = (int) (posY / CELL_SIZE);
+
+        if (type == Pheromone.PheromoneType.FOOD_TRAIL) intensity *= FOOD_PHEROMONES_BOOSTER;
+
+        if (isValidCell(x, y)) {
+
+            // Ottieni il campo di densità corrispondente al tipo (con decay lazy già applicato al tile)
+            DensityChannel channel = getChannel(type);
+            channel.prepareWrite(x, y, ParameterAdapter.getPheromoneMinIntensity());
+
+            FieldBuffer targetField = channel.front();
+            int index = cellIndex(x, y);
+            double current = targetField.get(index);
+            
+            // Calcola il fattore di saturazione
+            // Se tante formiche passano per quella strada, le nuove formiche non rilasciano altro feromone (Lasius Niger)
+            double adjustedIntensity = calculateWeberFechnerSuppression(current, intensity);
+            
+
+            targetField.set(index, Math.min(ParameterAdapter.getPheromoneMaxIntensity(), current + adjustedIntensity));
+
+            // Il tile torna attivo e verrà processato al prossimo update
+            channel.wakeTile(x, y, targetField.get(index));
+         
+            switch(type) {
+                case FOOD_TRAIL:
+                    totalFoodIntensity += adjustedIntensity;
+                    break;
+                case HOME_TRAIL:
+                    totalHomeIntensity += adjustedIntensity;
+                    break;
+            }
+        }
+    }
+
+    // Saturazione dei feromoni basata sulla legge di Weber-Fechner (Ant Navigation Model based on Webers Law)
+    public double calculateWeberFechnerSuppression(double currentIntensity, double newIntensity) {
+        
+        // Parametri
+        double C_STAR_MIN = ParameterAdapter.getPheromoneMinIntensity();
+        double C_STAR_MAX = ParameterAdapter.getPheromoneMaxIntensity() / ParameterAdapter.getPheromoneSaturationFactor();
+        
+        // Calcola soglia differenziale di Weber
+        double justNoticeableDifference = currentIntensity * ParameterAdapter.getAntPheromoneSensibility();
+        
+        // deposita solo se il nuovo feromone è percettibilmente diverso
+        if (newIntensity < justNoticeableDifference) {
+            return 0.0; // Sotto soglia Weber
+        }
+        
+        // Calcola concentrazione effettiva
+        double totalIntensity = currentIntensity + newIntensity;
+        
+        // Applica saturazione secondo Fechner (logaritmica)
+        if (totalIntensity <= C_STAR_MIN) {
+            return 0.0;
+        } else if (totalIntensity >= C_STAR_MAX) {
+            // Usa formula logaritmica di Fechner per saturazione graduale
+            double logRatio = Math.log(totalIntensity / C_STAR_MAX);
+            double fechnerSuppression = Math.exp(-logRatio);
+            return newIntensity * fechnerSuppression;
+        } else {
+            return newIntensity; // Range normale
+        }
+    }
+
+    public void addPheromone(Ant ant, Pheromone.PheromoneType type) {
+        addPheromone(ant, type, null);
+    }
+
+    /**
+     * Come addPheromone(Ant, type), ma con deferred non null il deposito viene accodato
+     * invece che scritto nel campo (lo stato della formica è aggiornato subito): il campo
+     * non viene toccato, quindi più thread possono chiamarlo su formiche diverse
+     */
+    public void addPheromone(Ant ant, Pheromone.PheromoneType type, PheromoneDepositBuffer deferred) {
+        
+        if (!shouldPlacePheromone(ant)) return;
+        
+        double now = SimulationClock.getInstance().nanoTime();
+
+        // Aggiunge jitter per un aspetto più organico (in cerchio, senza Coord temporanei)
+        double angle = ant.nextRandom() * 2 * Math.PI;
+        double distance = ant.nextRandom() * JITTER_RADIUS;
+        double x = ant.getCenterX() + Math.cos(angle) * distance;
+        double y = ant.getCenterY() + Math.sin(angle) * distance;
+    
+        // Aggiunge feromone alla griglia (o lo accoda)
+        double intensity = calcPheromoneIntensity(ant.getStartTrackTime(), now);
+        if (deferred != null) {
+            deferred.add(x, y, type, intensity);
+        } else {
+            addPheromone(x, y, type, intensity);
+        }
+        
+        // Aggiorna lo stato della formica
+        ant.setLastPheromonePosition(x, y);
+        ant.setLastPheromoneTime(now);
+    }
+
+    /**
+     * Scrive nel campo i depositi accodati, nell'ordine in cui sono stati accodati
+     */
+    public void applyDeposits(PheromoneDepositBuffer deposits) {
+        for (int i = 0; i < deposits.size(); i++) {
+            addPheromone(deposits.getX(i), deposits.getY(i), deposits.getType(i), deposits.getIntensity(i));
+        }
+    }
+
+    /**
+     * Deposito di una formica dello sciame struttura-di-array: stessa logica di
+     * addPheromone(Ant, type), con lo stato letto e scritto negli array dello sciame
+     */
+    public void addPheromone(AntSwarm swarm, int ant, Pheromone.PheromoneType type) {
+        double centerX = swarm.getCenterX(ant);
+        double centerY = swarm.getCenterY(ant);
+        double now = swarm.getCurrentTime();
+
+        if (!shouldPlacePheromone(centerX, centerY, swarm.getLastPheromoneX(ant), swarm.getLastPheromoneY(ant),
+                swarm.getLastPheromoneTime(ant), now)) return;
+
+        // Jitter in cerchio, come per le Ant
+        double angle = swarm.nextRandom(ant) * 2 * Math.PI;
+        double distance = swarm.nextRandom(ant) * JITTER_RADIUS;
+        double x = centerX + Math.cos(angle) * distance;
+        double y = centerY + Math.sin(angle) * distance;
+
+        addPheromone(x, y, type, calcPheromoneIntensity(swarm.getStartTrackTime(ant), now));
+
+        swarm.setLastPheromone(ant, x, y, now);
+    }
+
+    private double calcPheromoneIntensity(double lastMilestoneTime, double now) {
+
+        // Sistema che usa il tempo (lo 0 è un istante valido dell'orologio simulato)
+        if (lastMilestoneTime < 0) return ParameterAdapter.getPheromoneInitialIntensity(); // Se non c'è milestone, usa intensità iniziale
+
+        double timeSinceLastMilestone = now - lastMilestoneTime;
+
+        timeSinceLastMilestone /= 1_000_000_000.0; // Converti nanosecondi in secondi
+
+        double normalizedTime = Math.min(timeSinceLastMilestone / Pheromone.MAX_PHEROMONE_TRAIL_DURATION, 1.0);
+
+        return Math.max(ParameterAdapter.getPheromoneMinIntensity(), ParameterAdapter.getPheromoneInitialIntensity() * (1 - normalizedTime));
+    }
+    
+    /**
+     * CONTROLLO DISTANZA - Previene il "pheromone spam"
+     */
+    private boolean shouldPlacePheromone(Ant ant) {
+        Coord lastPos = ant.getLastPheromonePosition();
+        if (lastPos == null) return true;
+
+        return shouldPlacePheromone(ant.getCenterX(), ant.getCenterY(), lastPos.x, lastPos.y, ant.getLastPheromoneTime(), SimulationClock.getInstance().nanoTime());
+    }
+
+    /**
+     * Versione su primitive; lastX NaN = nessun feromone ancora rilasciato in questo percorso
+     */
+    private boolean shouldPlacePheromone(double centerX, double centerY, double lastX, double lastY, double lastTime, double now) {
+        if (Double.isNaN(lastX)) return true;
+
+        // Distanza minima
+        double dx = centerX - lastX;
+        double dy = centerY - lastY;
+        if (dx * dx + dy * dy < MIN_DISTANCE_BETWEEN_PHEROMONES * MIN_DISTANCE_BETWEEN_PHEROMONES) {
+            return false;
+        }
+        
+        // Tempo minimo
+        double timeSinceLastPheromone = now - lastTime;
+        return timeSinceLastPheromone > MIN_TIME_BETWEEN_PHEROMONES;
+    }
+
+    /**
+     * Buffer front (piatto, row-major) del campo corrispondente al tipo.
+     * Disponibile solo con precisione DOUBLE: per le altre usare getIntensity
+     */
+    public double[] getDensityField(Pheromone.PheromoneType type) {
+        double[] field = getChannel(type).front().doubles();
+        if (field == null) {
+            throw new IllegalStateException("Buffer double non disponibile con precisione " + getFieldPrecision());
+        }
+        return field;
+    }
+
+    private DensityChannel getChannel(Pheromone.PheromoneType type) {
+        switch(type) {
+            case FOOD_TRAIL:
+                return foodDensity;
+            case HOME_TRAIL:
+                return homeDensity;
+            default:
+                throw new IllegalArgumentException("Unknown pheromone type: " + type);
+        }
+    }
+
+    /**
+     * Aggiorna tutti i campi di densità
+     */
+    public void update(double deltaTime) {
+        startUpdate(deltaTime, false);
+        finishUpdate();
+    }
+
+    /**
+     * Come update, ma la passata sui tile parte su un worker del pool comune e il metodo
+     * ritorna subito; il risultato diventa visibile con finishUpdate. Nel frattempo il front
+     * (e le tabelle dei sensori) restano quelli dell'update precedente e i depositi vengono
+     * accodati, per essere scritti dopo lo swap nell'ordine di arrivo: il risultato non
+     * dipende da quando il worker finisce.
+     */
+    public void beginUpdate(double deltaTime) {
+        startUpdate(deltaTime, true);
+    }
+
+    /**
+     * true tra beginUpdate e finishUpdate
+     */
+    public boolean isUpdatePending() {
+        return updatePending;
+    }
+
+    /**
+     * Attende la passata avviata da beginUpdate (se c'è), scambia i buffer, ricostruisce
+     * tabelle integrali, gradiente e piramide e scrive i depositi accodati nel frattempo
+     */
+    public void finishUpdate() {
+        if (!updatePending) return;
+
+        if (pendingPass != null) {
+            pendingPass.join();
+            pendingPass = null;
+        }
+        updatePending = false;
+
+        // Addormenta i tile svuotati e il back diventa il nuovo front
+        commitDensityField(foodDensity, foodDirtyCount);
+        commitDensityField(homeDensity, homeDirtyCount);
+
+        this.totalFoodIntensity *= pendingFrameDecay;
+        this.totalHomeIntensity *= pendingFrameDecay;
+
+        // Tabelle integrali per i sensori, ricostruite una volta per update
+        if (sensingMode == SensingMode.SUMMED_AREA || gradientEnabled) {
+            foodDensity.buildSummedAreaTable();
+            homeDensity.buildSummedAreaTable();
+        }
+
+        // Gradiente smussato alla scala del raggio dei sensori, solo sui tile attivi
+        if (gradientEnabled) {
+            foodDensity.updateGradient(ParameterAdapter.getAntSensorRadius());
+            homeDensity.updateGradient(ParameterAdapter.getAntSensorRadius());
+        }
+
+        // Mipmap ricostruite solo sui tile cambiati (sempre, se i sensori sono larghi)
+        if (pyramidEnabled || ParameterAdapter.getAntSensorRadius() > COARSE_SENSOR_RADIUS) {
+            foodDensity.updatePyramid();
+            homeDensity.updatePyramid();
+        }
+
+        // Depositi arrivati durante la passata, sul front appena pubblicato
+        applyDeposits(pendingDeposits);
+        pendingDeposits.clear();
+    }
+
+    /**
+     * Aggiorna campo con decay e diffusione in un'unica passata parallela.
+     * Ogni cella del back viene calcolata dal front come:
+     *   nuovo = decay * (originale * (1-diffusion) + media_gaussiana * diffusion)
+     * poi clampata a maxIntensity e azzerata sotto minIntensity.
+     * Vengono processati solo i tile attivi e i loro vicini (dove la diffusione può arrivare).
+     *
+     * La preparazione (decay lazy, tile da processare) avviene qui; la passata, che legge solo
+     * il front e scrive solo il back, gira inline o sul pool comune se async
+     */
+    private void startUpdate(double deltaTime, boolean async) {
+        finishUpdate();                                         // Un solo update in volo
+
+        double inverseEvaporationRate = 1.0 - ParameterAdapter.getPheromoneEvaporationRate();
+
+        double frameDecay = Math.pow(inverseEvaporationRate, deltaTime);
+
+        // Calcola intensità diffusione basata su deltaTime
+        // Più deltaTime = più diffusione per mantenere consistenza temporale
+        double diffusion = Math.min(1.0, ParameterAdapter.getDiffusionRate() * deltaTime);
+
+        // In modalità lazy la diffusione di più update si applica in una sola passata eager;
+        // negli altri update (e sempre senza diffusione) basta avanzare l'orologio di decay
+        if (evaporationMode == EvaporationMode.LAZY && diffusion > 0) {
+            lazyUpdateCount++;
+            if (lazyUpdateCount % LAZY_DIFFUSION_INTERVAL != 0) {
+                diffusion = 0;
+            } else {
+                diffusion = Math.min(1.0, ParameterAdapter.getDiffusionRate() * deltaTime * LAZY_DIFFUSION_INTERVAL);
+            }
+        }
+
+        UpdateWeights weights = new UpdateWeights(frameDecay, diffusion,
+            ParameterAdapter.getPheromoneMinIntensity(), ParameterAdapter.getPheromoneMaxIntensity());
+
+        int foodDirty = prepareDensityField(foodDensity, weights);
+        int homeDirty = prepareDensityField(homeDensity, weights);
+
+        this.pendingFrameDecay = frameDecay;
+        this.foodDirtyCount = foodDirty;
+        this.homeDirtyCount = homeDirty;
+        this.updatePending = true;
+
+        Runnable pass = () -> {
+            updateDirtyTiles(foodDensity, foodDirty, weights);
+            updateDirtyTiles(homeDensity, homeDirty, weights);
+        };
+
+        if (async && (foodDirty > 0 || homeDirty > 0)) {
+            pendingPass = ForkJoinPool.commonPool().submit(pass);
+        } else {
+            pass.run();
+        }
+    }
+
+    /**
+     * Ritorna quanti tile del canale vanno processati, -1 se basta il decay lazy
+     */
+    private int prepareDensityField(DensityChannel channel, UpdateWeights weights) {
+
+        // Evaporazione lazy senza diffusione in questo update: basta avanzare l'orologio di decay dei tile
+        if (evaporationMode == EvaporationMode.LAZY && weights.diffusion <= 0) {
+            channel.advanceLazyDecay(weights.frameDecay, weights.minIntensity);
+            return -1;
+        }
+
+        // Porta al valore corrente i tile con decay lazy pendente prima della passata
+        channel.materializeActiveTiles(weights.minIntensity);
+
+        return channel.collectDirtyTiles();
+    }
+
+    private void updateDirtyTiles(DensityChannel channel, int dirtyCount, UpdateWeights weights) {
+        if (dirtyCount <= 0) return;
+
+        // Legge dal front e scrive nel back: nessuna race condition tra tile
+        FieldBuffer field = channel.front();
+        FieldBuffer target = channel.back();
+        int[] dirtyTiles = channel.getDirtyTiles();
+
+        // Il massimo per tile serve solo all'evaporazione lazy (per addormentare i tile senza leggerli)
+        boolean measureMax = evaporationMode == EvaporationMode.LAZY;
+
+        IntStream.range(0, dirtyCount).parallel().forEach(i -> {
+            int tile = dirtyTiles[i];
+            int activeCells = updateTile(channel, field, target, tile, weights);
+            double max = measureMax ? channel.measureTileMax(target, tile) : Double.POSITIVE_INFINITY;
+            channel.setTileStats(tile, activeCells, max);
+        });
+    }
+
+    private void commitDensityField(DensityChannel channel, int dirtyCount) {
+        if (dirtyCount < 0) return;
+
+        channel.commitDirtyTiles(dirtyCount);
+        channel.swap();
+    }
+
+    /**
+     * Aggiorna un tile dal front al back; ritorna il numero di celle rimaste attive
+     */
+    private int updateTile(DensityChannel channel, FieldBuffer field, FieldBuffer target, int tile, UpdateWeights weights) {
+        int fromX = channel.getTileStartX(tile);
+        int fromY = channel.getTileStartY(tile);
+        int toX = Math.min(fromX + DensityChannel.TILE_SIZE, gridWidth);
+        int toY = Math.min(fromY + DensityChannel.TILE_SIZE, gridHeight);
+
+        // Colonne interne del tile (le colonne 0 e gridWidth-1 sono bordo)
+        int interiorFromX = Math.max(fromX, 1);
+        int interiorToX = Math.min(toX, gridWidth - 1);
+
+        // Con precisione DOUBLE il kernel lavora direttamente sui buffer
+        double[] fieldValues = field.doubles();
+        double[] targetValues = target.doubles();
+
+        int activeCells = 0;
+
+        for (int y = fromY; y < toY; y++) {
+
+            // Righe di bordo: percorso generico con normalizzazione dei pesi
+            if (y == 0 || y == gridHeight - 1 || gridWidth < 3) {
+                for (int x = fromX; x < toX; x++) {
+                    activeCells += storeCell(target, cellIndex(x, y), updateBorderCell(field, x, y, weights));
+                }
+                continue;
+            }
+
+            // Colonne di bordo fuori dal ciclo interno
+            if (fromX == 0) {
+                activeCells += storeCell(target, cellIndex(0, y), updateBorderCell(field, 0, y, weights));
+            }
+            if (toX == gridWidth) {
+                activeCells += storeCell(target, cellIndex(gridWidth - 1, y), updateBorderCell(field, gridWidth - 1, y, weights));
+            }
+
+            // Kernel interno: tutti i vicini esistono, quindi niente bounds check né branch
+            if (fieldValues != null) {
+                activeCells += kernel.updateInteriorRow(fieldValues, targetValues, y * gridWidth, gridWidth, interiorFromX, interiorToX,
+                    weights.center, weights.edge, weights.corner, weights.minIntensity, weights.maxIntensity);
+            } else {
+                activeCells += updateDecodedRow(field, target, y, interiorFromX, interiorToX, weights);
+            }
+        }
+
+        return activeCells;
+    }
+
+    /**
+     * Riga interna con precisione ridotta: decodifica in double le tre righe coinvolte
+     * (con una colonna di margine per lato), applica lo stesso kernel e ricodifica il risultato
+     */
+    private int updateDecodedRow(FieldBuffer field, FieldBuffer target, int y, int fromX, int toX, UpdateWeights weights) {
+        int length = toX - fromX;
+        if (length <= 0) return 0;
+
+        RowScratch scratch = ROW_SCRATCH.get();
+        int stride = length + 2;
+
+        for (int row = 0; row < 3; row++) {
+            field.read(cellIndex(fromX - 1, y - 1 + row), scratch.rows, row * stride, stride);
+        }
+
+        int activeCells = kernel.updateInteriorRow(scratch.rows, scratch.output, stride, stride, 1, length + 1,
+            weights.center, weights.edge, weights.corner, weights.minIntensity, weights.maxIntensity);
+
+        target.write(scratch.output, stride + 1, cellIndex(fromX, y), length);
+        return activeCells;
+    }
+
+    private static int storeCell(FieldBuffer target, int index, double value) {
+        target.set(index, value);
+        return value > 0 ? 1 : 0;
+    }
+
+    /**
+     * Cella di bordo: kernel gaussiano 3x3 rinormalizzato sui soli vicini validi
+     */
+    private double updateBorderCell(FieldBuffer field, int x, int y, UpdateWeights weights) {
+
+        double weightedSum = 0.0;   // Somma pesata usando kernel gaussiano
+        double totalWeight = 0.0;   // Peso totale (per normalizzazione ai bordi)
+
+        for (int kernelX = 0; kernelX < 3; kernelX++) {
+            for (int kernelY = 0; kernelY < 3; kernelY++) {
+                int gridX = x + kernelX - 1;  // -1, 0, +1 offset dal centro
+                int gridY = y + kernelY - 1;
+
+                if (isValidCell(gridX, gridY)) {
+                    double weight = GAUSSIAN_KERNEL[kernelX][kernelY];
+                    weightedSum += field.get(cellIndex(gridX, gridY)) * weight;
+                    totalWeight += weight;
+                }
+            }
+        }
+
+        double original = field.get(cellIndex(x, y));
+        double gaussianAverage = (totalWeight > 0) ? weightedSum / totalWeight : original;
+
+        double value = weights.frameDecay * (original * (1.0 - weights.diffusion) + gaussianAverage * weights.diffusion);
+
+        value = Math.min(value, weights.maxIntensity);
+        return value < weights.minIntensity ? 0 : value;
+    }
+
+    /**
+     * Parametri di una passata di aggiornamento, letti una volta sola per frame
+     */
+    private static final class UpdateWeights {
+        final double frameDecay;
+        final double diffusion;
+        final double minIntensity;
+        final double maxIntensity;
+
+        // Coefficienti del kernel fuso: decay e interpolazione già moltiplicati nei pesi
+        final double center;
+        final double edge;
+        final double corner;
+
+        UpdateWeights(double frameDecay, double diffusion, double minIntensity, double maxIntensity) {
+            this.frameDecay = frameDecay;
+            this.diffusion = diffusion;
+            this.minIntensity = minIntensity;
+            this.maxIntensity = maxIntensity;
+            this.center = frameDecay * ((1.0 - diffusion) + diffusion * KERNEL_CENTER);
+            this.edge = frameDecay * diffusion * KERNEL_EDGE;
+            this.corner = frameDecay * diffusion * KERNEL_CORNER;
+        }
+    }
+
+    /**
+     * Tre righe decodificate (riga sopra, riga, riga sotto) e la riga di uscita del kernel
+     */
+    private static final class RowScratch {
+        final double[] rows = new double[3 * (DensityChannel.TILE_SIZE + 2)];
+        final double[] output = new double[3 * (DensityChannel.TILE_SIZE + 2)];
+    }
+
+
+
+    /*
+     * 
+     * 
+     * 
+     *     public double getTotalIntensity(Coord position, Pheromone.PheromoneType type, double radius) {
+        
+        int x = (int) (position.x / CELL_SIZE);
+        int y = (int) (position.y / CELL_SIZE);
+        
+        if (!isValidCell(x, y)) return 0;
+        
+        double [][] field = getDensityField(type);
+
+        double totalIntensity = 0;
+        for (double dx = -radius; dx <= radius; dx++) {
+            for (double dy = -radius; dy <= radius; dy++) {
+                if (Math.abs(dx) + Math.abs(dy) <= radius) {
+                    totalIntensity += getFieldValue(field, x + (int)Math.round(dx), y + (int)Math.round(dy));
+                }
+            }
+        }
+        return totalIntensity;
+    }
+     */
+
+    /**
+     * Ottieni intensità media in una posizione, in un cerchio - per navigazione formiche.
+     * In modalità SUMMED_AREA usa la tabella integrale dell'ultimo update (i depositi successivi
+     * si vedono dal prossimo update); in modalità STENCIL somma le celle del rombo sul front.
+     * Oltre COARSE_SENSOR_RADIUS, in entrambe le modalità, legge la piramide dell'ultimo update
+     * (getCoarseMeanIntensity) se è già costruita.
+     */
+    public double getMeanIntensity(Coord position, Pheromone.PheromoneType type, int radius) {
+        return getMeanIntensity(position.x, position.y, type, radius);
+    }
+
+    public double getMeanIntensity(double posX, double posY, Pheromone.PheromoneType type, int radius) {
+        int x = (int) (posX / CELL_SIZE);
+        int y = (int) (posY / CELL_SIZE);
+        
+        if (!isValidCell(x, y)) return 0;
+
+        DensityChannel channel = getChannel(type);
+
+        if (radius > COARSE_SENSOR_RADIUS && channel.hasPyramid()) {
+            return getCoarseMeanIntensity(posX, posY, type, radius) * getStencilCells(radius) / (Math.PI * radius * radius);
+        }
+
+        if (sensingMode == SensingMode.SUMMED_AREA && channel.hasSummedAreaTable()) {
+            return getSummedAreaMeanIntensity(channel, x, y, radius);
+        }
+        
+        double totalIntensity = 0;
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                if (Math.abs(dx) + Math.abs(dy) <= radius) {
+                    totalIntensity += getFieldValue(channel, x + dx, y + dy);
+                }
+            }
+        }
+        return totalIntensity / (Math.PI * radius * radius);
+    }
+
+    /**
+     * Media sulla finestra (2r+1)x(2r+1) in 4 letture, riportata alla scala dello stencil:
+     * la densità media della finestra viene moltiplicata per le celle del rombo (2r²+2r+1),
+     * così le soglie calibrate sullo stencil restano valide
+     */
+    private double getSummedAreaMeanIntensity(DensityChannel channel, int x, int y, int radius) {
+        int fromX = Math.max(0, x - radius);
+        int fromY = Math.max(0, y - radius);
+        int toX = Math.min(gridWidth, x + radius + 1);
+        int toY = Math.min(gridHeight, y + radius + 1);
+
+        double windowSum = channel.getAreaSum(fromX, fromY, toX, toY);
+
+        // Le celle fuori griglia contano come zero, come nello stencil
+        double windowCells = (2.0 * radius + 1) * (2.0 * radius + 1);
+
+        return (windowSum / windowCells) * getStencilCells(radius) / (Math.PI * radius * radius);
+    }
+
+    /**
+     * Celle del rombo |dx|+|dy| <= radius: riporta una densità media alla scala dello stencil
+     */
+    private static double getStencilCells(int radius) {
+        return 2.0 * radius * radius + 2.0 * radius + 1;
+    }
+
+    public void setSensingMode(SensingMode sensingMode) {
+        this.sensingMode = sensingMode;
+    }
+
+    public SensingMode getSensingMode() {
+        return sensingMode;
+    }
+
+    /**
+     * Attiva il campo gradiente precalcolato: da qui in poi ogni update lo ricalcola
+     */
+    public void setGradientEnabled(boolean gradientEnabled) {
+        this.gradientEnabled = gradientEnabled;
+    }
+
+    public boolean isGradientEnabled() {
+        return gradientEnabled;
+    }
+
+    /**
+     * Attiva la piramide multirisoluzione: da qui in poi ogni update la aggiorna
+     */
+    public void setPyramidEnabled(boolean pyramidEnabled) {
+        this.pyramidEnabled = pyramidEnabled;
+    }
+
+    public boolean isPyramidEnabled() {
+        return pyramidEnabled;
+    }
+
+    /**
+     * Livelli disponibili, compreso il livello 0 a risoluzione piena (1 se la piramide non è ancora costruita)
+     */
+    public int getPyramidLevels() {
+        return foodDensity.hasPyramid() ? foodDensity.getPyramidLevels() : 1;
+    }
+
+    public int getLevelWidth(int level) {
+        return level == 0 ? gridWidth : foodDensity.getLevelWidth(level);
+    }
+
+    public int getLevelHeight(int level) {
+        return level == 0 ? gridHeight : foodDensity.getLevelHeight(level);
+    }
+
+    /**
+     * Intensità media del blocco (cellX, cellY) di 2^level x 2^level celle all'ultimo update.
+     * Il livello 0 coincide con getIntensity; 0 fuori griglia o se il livello non esiste
+     */
+    public double getLevelIntensity(Pheromone.PheromoneType type, int level, int cellX, int cellY) {
+        if (level == 0) return getIntensity(type, cellX, cellY);
+
+        if (level < 0 || level >= getPyramidLevels()) return 0;
+        if (cellX < 0 || cellY < 0 || cellX >= getLevelWidth(level) || cellY >= getLevelHeight(level)) return 0;
+
+        return getChannel(type).getLevelValue(level, cellX, cellY);
+    }
+
+    /**
+     * Copia in blocco un livello esistente in target (almeno getLevelWidth * getLevelHeight
+     * celle, row-major), con gli stessi valori di getLevelIntensity
+     */
+    public void copyLevel(Pheromone.PheromoneType type, int level, double[] target) {
+        getChannel(type).copyLevel(level, target, ParameterAdapter.getPheromoneMinIntensity());
+    }
+
+    /**
+     * Porta target (livello 0, row-major) ai valori di copyLevel riscrivendo solo i tile attivi
+     * e quelli addormentati da quando target è stato aggiornato (copiedTiles, tenuto dal chiamante)
+     */
+    void copyActiveTiles(Pheromone.PheromoneType type, double[] target, BitSet copiedTiles) {
+        getChannel(type).copyActiveTiles(target, copiedTiles, ParameterAdapter.getPheromoneMinIntensity());
+    }
+
+    /**
+     * Livello il cui blocco copre al massimo una finestra di lato 2*radius+1 celle
+     */
+    public int getLevelForRadius(int radius) {
+        int level = 31 - Integer.numberOfLeadingZeros(Math.max(1, 2 * radius + 1));
+        return Math.min(level, getPyramidLevels() - 1);
+    }
+
+    /**
+     * Densità media (per cella) attorno alla posizione su scala radius, interpolata bilinearmente
+     * tra i quattro blocchi più vicini del livello adatto: costa 4 letture per qualsiasi raggio.
+     * A differenza di getMeanIntensity non è normalizzata sull'area del cerchio.
+     */
+    public double getCoarseMeanIntensity(Coord position, Pheromone.PheromoneType type, int radius) {
+        return getCoarseMeanIntensity(position.x, position.y, type, radius);
+    }
+
+    public double getCoarseMeanIntensity(double posX, double posY, Pheromone.PheromoneType type, int radius) {
+        int level = getLevelForRadius(radius);
+        double blockSize = CELL_SIZE * (1 << level);
+
+        // Coordinate continue nel livello, riferite ai centri dei blocchi
+        double u = posX / blockSize - 0.5;
+        double v = posY / blockSize - 0.5;
+        int x0 = (int) Math.floor(u);
+        int y0 = (int) Math.floor(v);
+        double fx = u - x0;
+        double fy = v - y0;
+
+        double top = getLevelIntensity(type, level, x0, y0) * (1 - fx) + getLevelIntensity(type, level, x0 + 1, y0) * fx;
+        double bottom = getLevelIntensity(type, level, x0, y0 + 1) * (1 - fx) + getLevelIntensity(type, level, x0 + 1, y0 + 1) * fx;
+        return top * (1 - fy) + bottom * fy;
+    }
+
+    /**
+     * Seleziona a runtime il kernel della passata fusa. Se la Vector API non è disponibile
+     * (JVM avviata senza --add-modules jdk.incubator.vector) resta quello scalare
+     */
+    public void setVectorKernelEnabled(boolean enabled) {
+        this.kernel = DensityKernel.create(enabled);
+    }
+
+    public boolean isVectorKernelActive() {
+        return !(kernel instanceof ScalarDensityKernel);
+    }
+
+    /**
+     * In modalità LAZY, con diffusione nulla, l'update costa O(tile attivi): il decay viene
+     * applicato in forma chiusa (valore * decay^(tick trascorsi)) quando il tile viene letto
+     * da sensori e renderer o scritto da addPheromone. Con diffusione attiva i tile attivi
+     * vengono materializzati e aggiornati dalla passata fusa come in modalità EAGER.
+     */
+    public void setEvaporationMode(EvaporationMode evaporationMode) {
+        this.evaporationMode = evaporationMode;
+    }
+
+    public EvaporationMode getEvaporationMode() {
+        return evaporationMode;
+    }
+    /**
+     * Calcola gradiente per navigazione formiche.
+     * Se il campo gradiente è attivo basta una lettura, altrimenti differenze centrali sul front
+     */
+    public Coord getPheromoneGradient(Coord position, Pheromone.PheromoneType type) {
+        return getPheromoneGradient(position.x, position.y, type, new Coord(0, 0));
+    }
+
+    /**
+     * Come getPheromoneGradient, ma scrive il risultato nel Coord passato (nessuna allocazione)
+     */
+    public Coord getPheromoneGradient(double posX, double posY, Pheromone.PheromoneType type, Coord result) {
+
+        DensityChannel channel = getChannel(type);
+
+        int x = (int) (posX / CELL_SIZE);
+        int y = (int) (posY / CELL_SIZE);
+
+        if (gradientEnabled && channel.hasGradient()) {
+            if (!isValidCell(x, y)) {
+                result.x = 0;
+                result.y = 0;
+                return result;
+            }
+
+            int index = cellIndex(x, y);
+            result.x = channel.getGradientX(index);
+            result.y = channel.getGradientY(index);
+            return result;
+        }
+        
+        int delta = ParameterAdapter.getAntFeelRadius();
+
+        // Componente X (derivata parziale rispetto a x)
+        double gradX = (getFieldValue(channel, x+delta, y) - getFieldValue(channel, x-delta, y)) / (2.0 * delta);
+
+        // Componente Y (derivata parziale rispetto a y)  
+        double gradY = (getFieldValue(channel, x, y+delta) - getFieldValue(channel, x, y-delta)) / (2.0 * delta);
+
+        // Scala
+        result.x = gradX * 2;
+        result.y = gradY * 2;
+
+        return result;
+    }
+
+    /**
+     * Ottieni valore sicuro dal campo (0 se fuori bounds), con l'eventuale decay lazy del tile
+     */
+    private double getFieldValue(DensityChannel channel, int x, int y) {
+        if (!isValidCell(x, y)) return 0;
+
+        // Con decay lazy le celle scese sotto soglia non sono ancora state azzerate
+        double value = channel.front().get(cellIndex(x, y)) * channel.getCellScale(x, y);
+        return value < ParameterAdapter.getPheromoneMinIntensity() ? 0 : value;
+    }
+
+    /**
+     * Intensità corrente di una cella (usata dal renderer; tiene conto del decay lazy)
+     */
+    public double getIntensity(Pheromone.PheromoneType type, int cellX, int cellY) {
+        return getFieldValue(getChannel(type), cellX, cellY);
+    }
+
+    /**
+     * Indice della cella nel buffer piatto row-major
+     */
+    private int cellIndex(int x, int y) {
+        return y * gridWidth + x;
+    }
+    
+    /**
+     * Verifica validità coordinate cella
+     */
+    private boolean isValidCell(int x, int y) {
+        return x >= 0 && x < gridWidth && y >= 0 && y < gridHeight;
+    }
+    
+    /**
+     * Pulisce tutti i campi (per reset simulazione)
+     */
+    public void clear() {
+        finishUpdate();
+        foodDensity.clear();
+        homeDensity.clear();
+    }
+    
+    // Getters per renderer (buffer piatti row-major: indice = y * gridWidth + x), solo con precisione DOUBLE.
+    // In modalità LAZY i valori grezzi vanno scalati per il decay del tile: usare getIntensity
+    public double [] getFoodDensity() { return getDensityField(Pheromone.PheromoneType.FOOD_TRAIL); }
+    public double [] getHomeDensity() { return getDensityField(Pheromone.PheromoneType.HOME_TRAIL); }
+    public FieldPrecision getFieldPrecision() { return foodDensity.getPrecision(); }
+    public int getGridWidth() { return gridWidth; }
+    public int getGridHeight() { return gridHeight; }
+    public double getCellSize() { return CELL_SIZE; }
+    
+    // Metodi di utilità per debug
+
+    /**
+     * Celle non nulle in almeno uno dei due canali all'ultimo update. I conteggi per canale
+     * vengono dalla passata; solo i tile attivi in entrambi i canali vengono riletti per
+     * togliere le celle contate due volte
+     */
+    public int getTotalActiveCells() {
+        int count = foodDensity.getActiveCellCount() + homeDensity.getActiveCellCount();
+
+        for (int tile = foodDensity.nextActiveTile(0); tile >= 0; tile = foodDensity.nextActiveTile(tile + 1)) {
+            count -= foodDensity.countCellsActiveInBoth(homeDensity, tile);
+        }
+        return count;
+    }
+
+    public int getActiveTileCount() {
+        return foodDensity.getActiveTileCount() + homeDensity.getActiveTileCount();
+    }
+    
+    public double getAverageIntensity(Pheromone.PheromoneType type) {
+        switch(type) {
+            case FOOD_TRAIL:
+                return this.totalFoodIntensity / (gridWidth * gridHeight);
+            case HOME_TRAIL:
+                return this.totalHomeIntensity / (gridWidth * gridHeight);
+            default:
+                return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.managers;
+
+/**
+ * Kernel della passata fusa decay + diffusione sulle celle interne di una riga.
+ * Per ogni x in [fromX, toX) scrive in target:
+ *   min(center * c + edge * (W + E + N + S) + corner * (NW + NE + SW + SE), maxIntensity)
+ * azzerato se sotto minIntensity, e ritorna quante celle non nulle ha scritto.
+ *
+ * Le implementazioni eseguono le stesse operazioni IEEE nello stesso ordine e senza FMA,
+ * quindi scalare e vettoriale producono risultati identici bit a bit (tolleranza 0).
+ */
+interface DensityKernel {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    int updateInteriorRow(double[] field, double[] target, int rowStart, int stride, int fromX, int toX,
+                          double centerWeight, double edgeWeight, double cornerWeight,
+                          double minIntensity, double maxIntensity);
+
+    /**
+     * Il modulo incubator va abilitato esplicitamente (--add-modules jdk.incubator.vector)
+     */
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    /**
+     * Ritorna il kernel vettoriale se richiesto e disponibile, altrimenti quello scalare.
+     * Il kernel vettoriale è caricato per riflessione: senza il modulo la sua classe non va mai linkata
+     */
+    static DensityKernel create(boolean preferVector) {
+        if (preferVector && isVectorApiAvailable()) {
+            try {
+                return (DensityKernel) Class.forName("com.example.managers.VectorDensityKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector API non utilizzabile, uso il kernel scalare: " + e);
+            }
+        }
+        return new ScalarDensityKernel();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.managers;
+
+import java.util.Arrays;
+
+import com.example.config.SimulationParameters;
+
+/**
+ * Buffer piatto di un canale di densità con precisione di memorizzazione configurabile.
+ * I valori entrano ed escono sempre come double: la conversione avviene solo nelle
+ * letture/scritture, così deposito, decay, diffusione e sensori restano invariati.
+ *
+ * - DOUBLE: 8 byte per cella, nessuna perdita (riferimento)
+ * - FLOAT: 4 byte per cella, errore relativo ~6e-8
+ * - FIXED16: 2 byte per cella, virgola fissa a 16 bit sull'intervallo [0, MAX_INTENSITY_MAX]
+ *   con saturazione e troncamento; passo di quantizzazione ~1.5e-4
+ */
+abstract class FieldBuffer {
+
+    /**
+     * Crea un buffer di size celle con la precisione richiesta
+     */
+    static FieldBuffer create(DensityFieldManager.FieldPrecision precision, int size) {
+        switch (precision) {
+            case FLOAT:
+                return new FloatBuffer(size);
+            case FIXED16:
+                return new Fixed16Buffer(size);
+            default:
+                return new DoubleBuffer(size);
+        }
+    }
+
+    abstract double get(int index);
+
+    abstract void set(int index, double value);
+
+    /**
+     * Azzera le celle [from, to)
+     */
+    abstract void clear(int from, int to);
+
+    /**
+     * Decodifica length celle a partire da from in target[offset..]
+     */
+    abstract void read(int from, double[] target, int offset, int length);
+
+    /**
+     * Codifica length valori di source[offset..] nelle celle a partire da to
+     */
+    abstract void write(double[] source, int offset, int to, int length);
+
+    /**
+     * Array double sottostante se la precisione è DOUBLE (accesso diretto per il kernel), altrimenti null
+     */
+    double[] doubles() { return null; }
+
+    abstract int size();
+
+    /**
+     * Precisione piena: il kernel lavora direttamente sull'array
+     */
+    private static final class DoubleBuffer extends FieldBuffer {
+        private final double[] values;
+
+        DoubleBuffer(int size) { this.values = new double[size]; }
+
+        @Override double get(int index) { return values[index]; }
+        @Override void set(int index, double value) { values[index] = value; }
+        @Override void clear(int from, int to) { Arrays.fill(values, from, to, 0); }
+
+        @Override
+        void read(int from, double[] target, int offset, int length) {
+            System.arraycopy(values, from, target, offset, length);
+        }
+
+        @Override
+        void write(double[] source, int offset, int to, int length) {
+            System.arraycopy(source, offset, values, to, length);
+        }
+
+        @Override double[] doubles() { return values; }
+        @Override int size() { return values.length; }
+    }
+
+    private static final class FloatBuffer extends FieldBuffer {
+        private final float[] values;
+
+        FloatBuffer(int size) { this.values = new float[size]; }
+
+        @Override double get(int index) { return values[index]; }
+        @Override void set(int index, double value) { values[index] = (float) value; }
+        @Override void clear(int from, int to) { Arrays.fill(values, from, to, 0f); }
+
+        @Override
+        void read(int from, double[] target, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                target[offset + i] = values[from + i];
+            }
+        }
+
+        @Override
+        void write(double[] source, int offset, int to, int length) {
+            for (int i = 0; i < length; i++) {
+                values[to + i] = (float) source[offset + i];
+            }
+        }
+
+        @Override int size() { return values.length; }
+    }
+
+    /**
+     * Virgola fissa senza segno a 16 bit: scala fissata al massimo ammesso per maxIntensity,
+     * così cambiare maxIntensity a runtime non reinterpreta i valori già memorizzati
+     */
+    private static final class Fixed16Buffer extends FieldBuffer {
+        private static final double RANGE = SimulationParameters.Constraints.MAX_INTENSITY_MAX;
+        private static final double QUANTUM = RANGE / Character.MAX_VALUE;
+        private static final double INVERSE_QUANTUM = Character.MAX_VALUE / RANGE;
+
+        private final char[] values;
+
+        Fixed16Buffer(int size) { this.values = new char[size]; }
+
+        // Margine per la lettura/riscrittura di un valore già quantizzato (q * QUANTUM * INVERSE_QUANTUM
+        // può uscire q - 1e-12): senza, il troncamento toglierebbe un quanto a ogni passaggio
+        private static final double ROUNDTRIP_EPSILON = 1e-6;
+
+        private static char encode(double value) {
+            // Troncamento al quanto inferiore con saturazione: arrotondando al più vicino un valore
+            // che decade di meno di mezzo quanto per passata tornerebbe sempre al codice di partenza
+            // e non evaporerebbe mai (celle fino a ~0.03 con minIntensity 0.01 e dt 1/60)
+            if (value <= 0) return 0;
+            if (value >= RANGE) return Character.MAX_VALUE;
+            return (char) (value * INVERSE_QUANTUM + ROUNDTRIP_EPSILON);
+        }
+
+        @Override double get(int index) { return values[index] * QUANTUM; }
+        @Override void set(int index, double value) { values[index] = encode(value); }
+        @Override void clear(int from, int to) { Arrays.fill(values, from, to, (char) 0); }
+
+        @Override
+        void read(int from, double[] target, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                target[offset + i] = values[from + i] * QUANTUM;
+            }
+        }
+
+        @Override
+        void write(double[] source, int offset, int to, int length) {
+            for (int i = 0; i < length; i++) {
+                values[to + i] = encode(source[offset + i]);
+            }
+        }
+
+        @Override int size() { return values.length; }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.managers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.graphics.Coord;
+import com.example.model.Food;
+
+/**
+ * Indice spaziale persistente del cibo. Il cibo non si muove, quindi invece di ricostruire
+ * la griglia ad ogni frame ogni pezzo viene inserito una volta (allo spawn) e tolto quando
+ * viene disabilitato. La griglia copre la mappa con celle dense; ogni cella ha un bucket
+ * (array) e il pezzo ricorda cella e posizione, così la rimozione è uno swap con l'ultimo
+ * elemento del bucket: O(1), senza scansioni né allocazioni.
+ *
+ * Nessun lock: l'indice viene modificato solo dal thread della simulazione, fuori dalle fasi
+ * parallele (spawn, raccolta, reset a thread fermo), e durante l'aggiornamento parallelo delle
+ * formiche i worker lo leggono soltanto. Il rendering non lo usa (disegna da RenderSnapshot).
+ */
+public class FoodIndex implements SpatialIndex<Food> {
+    public final double CELL_SIZE; // Dimensione celle in pixel
+
+    private static final int INITIAL_BUCKET_SIZE = 4;
+
+    private final int columns;
+    private final int rows;
+    private final Food[][] cells;           // Bucket per cella, allocato al primo inserimento
+    private final int[] cellCount;
+    private int size;
+
+    public FoodIndex(double mapWidth, double mapHeight) {
+        this(mapWidth, mapHeight, 10); // Valore di default, come le altre griglie
+    }
+
+    public FoodIndex(double mapWidth, double mapHeight, double cellSize) {
+        this.CELL_SIZE = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(mapWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(mapHeight / cellSize));
+        this.cells = new Food[columns * rows][];
+        this.cellCount = new int[columns * rows];
+    }
+
+    /**
+     * Inserisce un pezzo abilitato (ignorato se è già in un indice)
+     */
+    public void insert(Food food) {
+        if (!food.isEnabled() || food.getSpatialIndex() != null) return;
+
+        int cell = cellIndex(toColumn(food.getCenterX()), toRow(food.getCenterY()));
+
+        Food[] bucket = cells[cell];
+        int count = cellCount[cell];
+        if (bucket == null) {
+            bucket = new Food[INITIAL_BUCKET_SIZE];
+            cells[cell] = bucket;
+        } else if (count == bucket.length) {
+            bucket = Arrays.copyOf(bucket, count * 2);
+            cells[cell] = bucket;
+        }
+
+        bucket[count] = food;
+        cellCount[cell] = count + 1;
+        food.setIndexPosition(this, cell, count);
+        size++;
+    }
+
+    /**
+     * Rimuove il pezzo in O(1): l'ultimo elemento del bucket prende il suo posto
+     */
+    public void remove(Food food) {
+        if (food.getSpatialIndex() != this) return;
+
+        int cell = food.getIndexCell();
+        int slot = food.getIndexSlot();
+        Food[] bucket = cells[cell];
+        int last = --cellCount[cell];
+
+        Food moved = bucket[last];
+        bucket[slot] = moved;
+        bucket[last] = null;
+        if (moved != food) {
+            moved.setIndexPosition(this, cell, slot);
+        }
+
+        food.setIndexPosition(null, -1, -1);
+        size--;
+    }
+
+    public void clear() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            Food[] bucket = cells[cell];
+            if (bucket == null) continue;
+
+            for (int i = 0; i < cellCount[cell]; i++) {
+                bucket[i].setIndexPosition(null, -1, -1);
+                bucket[i] = null;
+            }
+            cellCount[cell] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Riempie result (svuotata prima) con il cibo delle celle entro radius dalla posizione
+     */
+    public void getFoodNear(Coord position, double radius, List<Food> result) {
+        result.clear();
+
+        int fromColumn = Math.max(0, toColumn(position.x - radius));
+        int toColumn = Math.min(columns - 1, toColumn(position.x + radius));
+        int fromRow = Math.max(0, toRow(position.y - radius));
+        int toRow = Math.min(rows - 1, toRow(position.y + radius));
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = cellIndex(column, row);
+                Food[] bucket = cells[cell];
+                for (int i = 0; i < cellCount[cell]; i++) {
+                    result.add(bucket[i]);
+                }
+            }
+        }
+    }
+
+    public Coord getNearestFoodDirection(Coord pos, double maxDistance) {
+        double minDistance = maxDistance * maxDistance; // Confronto con distanza al quadrato
+        double nearestX = 0;
+        double nearestY = 0;
+        boolean found = false;
+
+        int fromColumn = Math.max(0, toColumn(pos.x - maxDistance));
+        int toColumn = Math.min(columns - 1, toColumn(pos.x + maxDistance));
+        int fromRow = Math.max(0, toRow(pos.y - maxDistance));
+        int toRow = Math.min(rows - 1, toRow(pos.y + maxDistance));
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = cellIndex(column, row);
+                Food[] bucket = cells[cell];
+                for (int i = 0; i < cellCount[cell]; i++) {
+                    double offsetX = bucket[i].getCenterX() - pos.x;
+                    double offsetY = bucket[i].getCenterY() - pos.y;
+                    double distanceSquared = offsetX * offsetX + offsetY * offsetY;
+                    if (distanceSquared < minDistance) {
+                        minDistance = distanceSquared;
+                        nearestX = offsetX;
+                        nearestY = offsetY;
+                        found = true;
+                    }
+                }
+            }
+        }
+
+        if (!found) return null;
+
+        Coord direction = new Coord(nearestX, nearestY);
+        direction.normalize();
+        return direction;
+    }
+
+    @Override
+    public void forEachWithin(double x, double y, double radius, SpatialVisitor<? super Food> visitor) {
+        double radiusSquared = radius * radius;
+        int fromColumn = toColumn(x - radius);
+        int toColumn = toColumn(x + radius);
+        int fromRow = toRow(y - radius);
+        int toRow = toRow(y + radius);
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = cellIndex(column, row);
+                Food[] bucket = cells[cell];
+                for (int i = 0; i < cellCount[cell]; i++) {
+                    double offsetX = bucket[i].getCenterX() - x;
+                    double offsetY = bucket[i].getCenterY() - y;
+                    double distanceSquared = offsetX * offsetX + offsetY * offsetY;
+                    if (distanceSquared <= radiusSquared && !visitor.visit(bucket[i], -1, distanceSquared)) return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean anyWithin(double x, double y, double radius, Predicate<? super Food> filter) {
+        double radiusSquared = radius * radius;
+        int fromColumn = toColumn(x - radius);
+        int toColumn = toColumn(x + radius);
+        int fromRow = toRow(y - radius);
+        int toRow = toRow(y + radius);
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = cellIndex(column, row);
+                Food[] bucket = cells[cell];
+                for (int i = 0; i < cellCount[cell]; i++) {
+                    double offsetX = bucket[i].getCenterX() - x;
+                    double offsetY = bucket[i].getCenterY() - y;
+                    if (offsetX * offsetX + offsetY * offsetY <= radiusSquared && (filter == null || filter.test(bucket[i]))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pezzi di cibo indicizzati (tutti abilitati: i disabilitati vengono rimossi subito)
+     */
+    public int size() {
+        return size;
+    }
+
+    private int cellIndex(int column, int row) {
+        return row * columns + column;
+    }
+
+    // Il cibo fuori mappa finisce nelle celle di bordo; le query limitano comunque la finestra
+    private int toColumn(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / CELL_SIZE)));
+    }
+
+    private int toRow(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / CELL_SIZE)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.managers;
+
+import com.example.metrics.MetricsCollector;
+
+/**
+ * Sceglie ogni quanti tick aggiornare il campo di densità, ogni quanti frame disegnare e in
+ * quanti sotto-passi dividere il movimento delle formiche, in base ai costi misurati delle
+ * fasi (formiche, cibo, densità, rendering) e a un tempo di frame obiettivo. La priorità è:
+ * disegno fluido, poi campo aggiornato più spesso, poi sotto-passi con il tempo che avanza.
+ *
+ * Di default è fisso (campo ogni DEFAULT_DENSITY_INTERVAL tick, un passo, disegno a ogni
+ * frame), così le esecuzioni restano riproducibili a parità di seme; in modalità adattiva le
+ * decisioni dipendono dai tempi della macchina. Ogni cambio di decisione viene registrato in
+ * MetricsCollector come evento SCHEDULER_DECISION.
+ *
+ * Le fasi della simulazione le registra il thread della simulazione, il rendering il thread
+ * che disegna; le decisioni sono lette da entrambi.
+ */
+public class FrameBudgetScheduler {
+
+    public static final int DEFAULT_DENSITY_INTERVAL = 3;       // Il vecchio FRAME_SKIP
+    public static final int MAX_DENSITY_INTERVAL = 8;
+    public static final int MAX_RENDER_INTERVAL = 4;
+    public static final int MAX_ANT_SUBSTEPS = 4;
+
+    private static final double BUDGET_HEADROOM = 0.8;          // Frazione del frame assegnabile alle fasi
+    private static final double COST_SMOOTHING = 0.1;           // Peso di un nuovo campione nella media mobile
+    private static final int DECISION_PERIOD = 30;              // Tick tra due decisioni (mezzo secondo a 60 tick/s)
+
+    // Con un solo core simulazione e rendering si dividono lo stesso budget
+    private final boolean sharedCpu = Runtime.getRuntime().availableProcessors() == 1;
+
+    private volatile boolean adaptive = false;
+    private volatile double targetFrameNanos = SimulationLoop.FIXED_TIMESTEP * 1_000_000_000.0;
+
+    // Costi medi in nanosecondi
+    private double antCost;                     // Un sotto-passo delle formiche (sciame e raccolta inclusi)
+    private double foodCost;                    // Ammassi di cibo, una volta per tick
+    private double densityCost;                 // Un update del campo (in pipeline solo la parte non sovrapposta)
+    private volatile double renderCost;         // Un frame disegnato, scritto dal thread che disegna
+
+    private volatile int densityInterval = DEFAULT_DENSITY_INTERVAL;
+    private volatile int renderInterval = 1;
+    private volatile int antSubsteps = 1;
+
+    private int ticksSinceDecision;
+
+    public void recordAnts(long nanos, int substeps) {
+        antCost = smooth(antCost, nanos / (double) substeps);
+    }
+
+    public void recordFood(long nanos) {
+        foodCost = smooth(foodCost, nanos);
+    }
+
+    public void recordDensity(long nanos) {
+        densityCost = smooth(densityCost, nanos);
+    }
+
+    /**
+     * Da chiamare dal thread che disegna, dopo ogni frame disegnato
+     */
+    public void recordRender(long nanos) {
+        renderCost = smooth(renderCost, nanos);
+    }
+
+    /**
+     * Fine di un tick: ogni DECISION_PERIOD tick, in modalità adattiva, ricalcola le decisioni
+     */
+    public void endTick() {
+        if (!adaptive || ++ticksSinceDecision < DECISION_PERIOD) return;
+
+        ticksSinceDecision = 0;
+        decide();
+    }
+
+    private void decide() {
+        double budget = targetFrameNanos * BUDGET_HEADROOM;
+        double simulationFloor = antCost + foodCost;
+
+        // Rendering: a ogni frame se ci sta (con un core, accanto alla simulazione al minimo)
+        int render = 1;
+        double renderFloor = sharedCpu ? simulationFloor + densityCost / MAX_DENSITY_INTERVAL : 0;
+        while (render < MAX_RENDER_INTERVAL && renderCost > 0 && renderFloor + renderCost / render > budget) render++;
+        double renderShare = sharedCpu ? renderCost / render : 0;
+
+        // Campo di densità: l'intervallo più corto che ci sta
+        int density = 1;
+        while (density < MAX_DENSITY_INTERVAL && simulationFloor + densityCost / density + renderShare > budget) density++;
+
+        // Sotto-passi delle formiche con quello che avanza
+        double fixedCost = foodCost + densityCost / density + renderShare;
+        int substeps = 1;
+        while (substeps < MAX_ANT_SUBSTEPS && antCost * (substeps + 1) + fixedCost <= budget) substeps++;
+
+        apply(density, render, substeps);
+    }
+
+    private void apply(int density, int render, int substeps) {
+        if (density == densityInterval && render == renderInterval && substeps == antSubsteps) return;
+
+        densityInterval = density;
+        renderInterval = render;
+        antSubsteps = substeps;
+
+        MetricsCollector.getInstance().logEvent(
+            "SCHEDULER_DECISION",
+            "Density every " + density + " ticks, render every " + render + " frames, " + substeps + " ant substeps",
+            null,
+            String.format("ants=%.3fms food=%.3fms density=%.3fms render=%.3fms",
+                antCost / 1e6, foodCost / 1e6, densityCost / 1e6, renderCost / 1e6)
+        );
+    }
+
+    private static double smooth(double average, double sample) {
+        return average == 0 ? sample : average + COST_SMOOTHING * (sample - average);
+    }
+
+    /**
+     * Modalità adattiva; disattivandola si torna alle decisioni fisse di default
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        this.ticksSinceDecision = 0;
+        if (!adaptive) apply(DEFAULT_DENSITY_INTERVAL, 1, 1);
+    }
+
+    public boolean isAdaptive() { return adaptive; }
+
+    /**
+     * Tempo di frame obiettivo in secondi (default: il passo fisso di SimulationLoop)
+     */
+    public void setTargetFrameTime(double seconds) {
+        this.targetFrameNanos = seconds * 1_000_000_000.0;
+    }
+
+    public double getTargetFrameTime() { return targetFrameNanos / 1_000_000_000.0; }
+
+    // Decisioni correnti
+    public int getDensityInterval() { return densityInterval; }
+    public int getRenderInterval() { return renderInterval; }
+    public int getAntSubsteps() { return antSubsteps; }
+
+    // Costi medi misurati in millisecondi
+    public double getAntCostMillis() { return antCost / 1e6; }
+    public double getFoodCostMillis() { return foodCost / 1e6; }
+    public double getDensityCostMillis() { return densityCost / 1e6; }
+    public double getRenderCostMillis() { return renderCost / 1e6; }
+}
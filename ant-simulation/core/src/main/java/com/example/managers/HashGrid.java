@@ -0,0 +1,317 @@
+package com.example.managers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.graphics.Coord;
+import com.example.model.GameObject;
+
+/**
+ * Griglia spaziale hash: le celle sono identificate da una chiave long (cellX nei 32 bit alti,
+ * cellY in quelli bassi) in una tabella ad indirizzamento aperto con scansione lineare.
+ * Ogni cella occupata punta a un bucket (array di oggetti) che sopravvive ai clear: a regime
+ * clear, inserimenti e query non allocano nulla, si allocano solo i bucket/tabelle che crescono.
+ */
+public class HashGrid<T extends GameObject> implements SpatialIndex<T> {
+    public final double CELL_SIZE; // Dimensione celle in pixel
+
+    private static final int INITIAL_CAPACITY = 256;            // Slot della tabella (potenza di 2)
+    private static final int INITIAL_BUCKET_SIZE = 4;           // Oggetti per bucket prima della prima crescita
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;   // Fibonacci hashing
+
+    // Tabella chiave -> bucket; uno slot è occupato solo se il suo stamp è quello della generazione corrente
+    private long[] slotKeys;
+    private int[] slotBuckets;
+    private int[] slotStamps;
+    private int mask;
+    private int generation = 1;
+
+    // Bucket riusabili, assegnati in ordine alle celle occupate dopo ogni clear
+    private Object[][] buckets;
+    private int[] bucketSizes;
+    private long[] bucketKeys;
+    private int bucketCount;
+    private int objectCount;
+
+
+    public HashGrid() {
+        this(10); // Valore di default
+    }
+
+    public HashGrid(double cellSize) {
+        this.CELL_SIZE = cellSize;
+        allocateTable(INITIAL_CAPACITY);
+        this.buckets = new Object[INITIAL_CAPACITY / 2][];
+        this.bucketSizes = new int[INITIAL_CAPACITY / 2];
+        this.bucketKeys = new long[INITIAL_CAPACITY / 2];
+    }
+
+    /**
+     * Svuota la griglia mantenendo tabella e bucket: costo O(oggetti inseriti), nessuna allocazione
+     */
+    public void clear() {
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            Arrays.fill(buckets[bucket], 0, bucketSizes[bucket], null);   // Niente riferimenti stantii per il GC
+            bucketSizes[bucket] = 0;
+        }
+        bucketCount = 0;
+        objectCount = 0;
+
+        // Invalida tutti gli slot in O(1); al raro overflow del contatore si azzerano davvero
+        if (++generation == 0) {
+            Arrays.fill(slotStamps, 0);
+            generation = 1;
+        }
+    }
+
+    public void addGameObject(T gameObject) {
+        if (!gameObject.isEnabled()) return;
+
+        long key = packCellKey(toCell(gameObject.getCenterX()), toCell(gameObject.getCenterY()));
+        int bucket = findOrCreateBucket(key);
+
+        Object[] items = buckets[bucket];
+        int size = bucketSizes[bucket];
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            buckets[bucket] = items;
+        }
+        items[size] = gameObject;
+        bucketSizes[bucket] = size + 1;
+        objectCount++;
+    }
+
+    public List<T> getAllObjects() {
+        List<T> allObjects = new ArrayList<>(objectCount);
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                T obj = getItem(bucket, i);
+                if (obj.isEnabled()) {
+                    allObjects.add(obj);
+                }
+            }
+        }
+        return allObjects;
+    }
+
+    public List<T> getGameObjectsNear(Coord position, double radius) {
+        List<T> nearbyGameObjects = new ArrayList<>();
+        getGameObjectsNear(position, radius, nearbyGameObjects);
+        return nearbyGameObjects;
+    }
+
+    /**
+     * Come getGameObjectsNear, ma riempie la lista passata (svuotata prima) invece di crearne una
+     */
+    public void getGameObjectsNear(Coord position, double radius, List<T> result) {
+        result.clear();
+
+        // Calcola quante celle dobbiamo controllare
+        int cellRadius = (int) Math.ceil(radius / CELL_SIZE);
+
+        int centerX = toCell(position.x);
+        int centerY = toCell(position.y);
+
+        // Controlla tutte le celle nel raggio
+        for (int dx = -cellRadius; dx <= cellRadius; dx++) {
+            for (int dy = -cellRadius; dy <= cellRadius; dy++) {
+                int bucket = findBucket(packCellKey(centerX + dx, centerY + dy));
+                if (bucket < 0) continue;
+
+                for (int i = 0; i < bucketSizes[bucket]; i++) {
+                    result.add(getItem(bucket, i));
+                }
+            }
+        }
+    }
+
+    public List<T> getGameObjectsNear(Coord position) {
+        return getGameObjectsNear(position, CELL_SIZE); // Equivale alle 8 celle adiacenti
+    }
+
+    public Coord getNearestGameObjectDirection(Coord pos, double maxDistance) {
+        double minDistance = maxDistance * maxDistance; // Confronto con distanza al quadrato
+        double nearestX = 0;
+        double nearestY = 0;
+        boolean found = false;
+
+        int cellRadius = (int) Math.ceil(maxDistance / CELL_SIZE);
+        int centerX = toCell(pos.x);
+        int centerY = toCell(pos.y);
+
+        for (int dx = -cellRadius; dx <= cellRadius; dx++) {
+            for (int dy = -cellRadius; dy <= cellRadius; dy++) {
+                int bucket = findBucket(packCellKey(centerX + dx, centerY + dy));
+                if (bucket < 0) continue;
+
+                for (int i = 0; i < bucketSizes[bucket]; i++) {
+                    T obj = getItem(bucket, i);
+                    if (!obj.isEnabled()) continue;
+
+                    double offsetX = obj.getCenterX() - pos.x;
+                    double offsetY = obj.getCenterY() - pos.y;
+                    double distanceSquared = offsetX * offsetX + offsetY * offsetY;
+                    if (distanceSquared < minDistance) {
+                        minDistance = distanceSquared;
+                        nearestX = offsetX;
+                        nearestY = offsetY;
+                        found = true;
+                    }
+                }
+            }
+        }
+
+        if (!found) return null;
+
+        Coord direction = new Coord(nearestX, nearestY);
+        direction.normalize();
+
+        return direction;
+    }
+
+    @Override
+    public void forEachWithin(double x, double y, double radius, SpatialVisitor<? super T> visitor) {
+        double radiusSquared = radius * radius;
+        int cellRadius = (int) Math.ceil(radius / CELL_SIZE);
+        int centerX = toCell(x);
+        int centerY = toCell(y);
+
+        for (int dx = -cellRadius; dx <= cellRadius; dx++) {
+            for (int dy = -cellRadius; dy <= cellRadius; dy++) {
+                int bucket = findBucket(packCellKey(centerX + dx, centerY + dy));
+                if (bucket < 0) continue;
+
+                for (int i = 0; i < bucketSizes[bucket]; i++) {
+                    T obj = getItem(bucket, i);
+                    if (!obj.isEnabled()) continue;
+
+                    double offsetX = obj.getCenterX() - x;
+                    double offsetY = obj.getCenterY() - y;
+                    double distanceSquared = offsetX * offsetX + offsetY * offsetY;
+                    if (distanceSquared <= radiusSquared && !visitor.visit(obj, -1, distanceSquared)) return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean anyWithin(double x, double y, double radius, Predicate<? super T> filter) {
+        double radiusSquared = radius * radius;
+        int cellRadius = (int) Math.ceil(radius / CELL_SIZE);
+        int centerX = toCell(x);
+        int centerY = toCell(y);
+
+        for (int dx = -cellRadius; dx <= cellRadius; dx++) {
+            for (int dy = -cellRadius; dy <= cellRadius; dy++) {
+                int bucket = findBucket(packCellKey(centerX + dx, centerY + dy));
+                if (bucket < 0) continue;
+
+                for (int i = 0; i < bucketSizes[bucket]; i++) {
+                    T obj = getItem(bucket, i);
+                    if (!obj.isEnabled()) continue;
+
+                    double offsetX = obj.getCenterX() - x;
+                    double offsetY = obj.getCenterY() - y;
+                    if (offsetX * offsetX + offsetY * offsetY <= radiusSquared && (filter == null || filter.test(obj))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Numero di celle occupate
+     */
+    public int getCellCount() {
+        return bucketCount;
+    }
+
+    public int size() {
+        return objectCount;
+    }
+
+    /**
+     * Chiave di cella: cellX nei 32 bit alti, cellY nei 32 bit bassi
+     */
+    static long packCellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private int toCell(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getItem(int bucket, int index) {
+        return (T) buckets[bucket][index];
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+
+    /**
+     * Bucket della cella, -1 se la cella è vuota
+     */
+    private int findBucket(long key) {
+        for (int slot = slotOf(key); slotStamps[slot] == generation; slot = (slot + 1) & mask) {
+            if (slotKeys[slot] == key) return slotBuckets[slot];
+        }
+        return -1;
+    }
+
+    private int findOrCreateBucket(long key) {
+        int slot = slotOf(key);
+        for (; slotStamps[slot] == generation; slot = (slot + 1) & mask) {
+            if (slotKeys[slot] == key) return slotBuckets[slot];
+        }
+
+        // Fattore di carico massimo 1/2: oltre si raddoppia la tabella e si ricerca lo slot
+        if ((bucketCount + 1) * 2 > slotKeys.length) {
+            growTable();
+            slot = slotOf(key);
+            while (slotStamps[slot] == generation) slot = (slot + 1) & mask;
+        }
+
+        int bucket = bucketCount++;
+        if (bucket == buckets.length) {
+            buckets = Arrays.copyOf(buckets, bucket * 2);
+            bucketSizes = Arrays.copyOf(bucketSizes, bucket * 2);
+            bucketKeys = Arrays.copyOf(bucketKeys, bucket * 2);
+        }
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new Object[INITIAL_BUCKET_SIZE];
+        }
+        bucketKeys[bucket] = key;
+
+        slotKeys[slot] = key;
+        slotBuckets[slot] = bucket;
+        slotStamps[slot] = generation;
+        return bucket;
+    }
+
+    private void allocateTable(int capacity) {
+        this.slotKeys = new long[capacity];
+        this.slotBuckets = new int[capacity];
+        this.slotStamps = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private void growTable() {
+        allocateTable(slotKeys.length * 2);
+        generation = 1;
+
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            long key = bucketKeys[bucket];
+            int slot = slotOf(key);
+            while (slotStamps[slot] == generation) slot = (slot + 1) & mask;
+            slotKeys[slot] = key;
+            slotBuckets[slot] = bucket;
+            slotStamps[slot] = generation;
+        }
+    }
+}
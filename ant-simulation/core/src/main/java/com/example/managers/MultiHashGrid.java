@@ -0,0 +1,99 @@
+package com.example.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.graphics.Coord;
+import com.example.model.Ant;
+import com.example.model.Food;
+
+/**
+ * Indici spaziali di formiche e cibo. Le formiche sono in una griglia uniforme ricostruita
+ * ad ogni frame con un counting sort (vedi UniformGrid); il cibo, che non si muove, sta
+ * nell'indice persistente della simulazione (vedi FoodIndex)
+ */
+public class MultiHashGrid {
+    
+    UniformGrid<Ant> antGrid;
+    FoodIndex foodIndex;
+
+    public MultiHashGrid() {
+        this.antGrid = new UniformGrid<>();
+    }
+
+    /**
+     * Ricostruisce la griglia delle formiche in O(n) senza allocare
+     */
+    public void rebuildAnts(List<Ant> ants) {
+        antGrid.rebuild(ants);
+    }
+
+    /**
+     * Indice del cibo da interrogare (quello della simulazione corrente)
+     */
+    public void setFoodIndex(FoodIndex foodIndex) {
+        this.foodIndex = foodIndex;
+    }
+
+    public Coord getNearestFoodDirection(Coord pos, double maxDistance) {
+        if (foodIndex == null) return null;
+        return foodIndex.getNearestFoodDirection(pos, maxDistance + Food.FOOD_DIM);
+    }
+
+    /**
+     * Il cibo più vicino (o i result.capacity() più vicini) entro maxDistance + FOOD_DIM da (x, y),
+     * senza allocazioni. Ritorna quanti pezzi sono stati trovati
+     */
+    public int findNearestFood(double x, double y, double maxDistance, NeighborBuffer<Food> result) {
+        return findFoodWithin(x, y, maxDistance + Food.FOOD_DIM, result);
+    }
+
+    /**
+     * Come findNearestFood ma con il raggio esatto (distanza dai centri del cibo)
+     */
+    public int findFoodWithin(double x, double y, double radius, NeighborBuffer<Food> result) {
+        if (foodIndex == null) {
+            result.clear();
+            return 0;
+        }
+        return foodIndex.findNearest(x, y, radius, result);
+    }
+
+    public boolean anyFoodWithin(double x, double y, double radius) {
+        return foodIndex != null && foodIndex.anyWithin(x, y, radius, null);
+    }
+
+    public Coord getNearestAntDirection(Coord pos, double maxDistance) {
+        return antGrid.getNearestGameObjectDirection(pos, maxDistance + Ant.ANT_SIZE);
+    }
+
+    public void clear() {
+        antGrid.clear();
+        foodIndex = null;
+    }
+
+    public List<Ant> getNearAnts(Coord position) {
+        List<Ant> result = new ArrayList<>();
+        antGrid.getGameObjectsNear(position, antGrid.CELL_SIZE, result);
+        return result;
+    }
+
+    public List<Food> getNearFood(Coord position) {
+        List<Food> result = new ArrayList<>();
+        getNearFood(position, result);
+        return result;
+    }
+
+    /**
+     * Variante senza allocazioni: riempie result con il cibo delle celle adiacenti
+     */
+    public void getNearFood(Coord position, List<Food> result) {
+        if (foodIndex == null) {
+            result.clear();
+            return;
+        }
+        foodIndex.getFoodNear(position, foodIndex.CELL_SIZE, result);
+    }
+    
+
+}
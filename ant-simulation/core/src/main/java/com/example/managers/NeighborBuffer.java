@@ -0,0 +1,64 @@
+package com.example.managers;
+
+import java.util.Arrays;
+
+/**
+ * Buffer dei k vicini più prossimi, posseduto dal chiamante e riusato tra le query:
+ * tiene gli elementi ordinati per distanza con un inserimento per spostamento, senza allocare
+ */
+public class NeighborBuffer<T> implements SpatialVisitor<T> {
+
+    private final Object[] items;
+    private final int[] indices;
+    private final double[] distancesSquared;
+    private int size;
+
+    public NeighborBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacità deve essere almeno 1: " + capacity);
+        }
+        this.items = new Object[capacity];
+        this.indices = new int[capacity];
+        this.distancesSquared = new double[capacity];
+    }
+
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Inserisce l'elemento se è tra i k più vicini visti finora; non interrompe mai la query
+     */
+    @Override
+    public boolean visit(T object, int index, double distanceSquared) {
+        int capacity = items.length;
+        if (size == capacity && distanceSquared >= distancesSquared[capacity - 1]) return true;
+
+        // Sposta a destra gli elementi più lontani (l'ultimo esce se il buffer è pieno)
+        int position = Math.min(size, capacity - 1);
+        while (position > 0 && distancesSquared[position - 1] > distanceSquared) {
+            items[position] = items[position - 1];
+            indices[position] = indices[position - 1];
+            distancesSquared[position] = distancesSquared[position - 1];
+            position--;
+        }
+
+        items[position] = object;
+        indices[position] = index;
+        distancesSquared[position] = distanceSquared;
+        if (size < capacity) size++;
+        return true;
+    }
+
+    public int size() { return size; }
+
+    public int capacity() { return items.length; }
+
+    @SuppressWarnings("unchecked")
+    public T get(int i) { return (T) items[i]; }
+
+    public int getIndex(int i) { return indices[i]; }
+
+    public double getDistanceSquared(int i) { return distancesSquared[i]; }
+}
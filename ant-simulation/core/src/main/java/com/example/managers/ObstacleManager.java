@@ -49,6 +49,28 @@ public class ObstacleManager {
         return false;
     }
 
+    /**
+     * Come isCollidingWithObstacle ma su un punto e un raggio, senza oggetti né allocazioni
+     * (usato dallo sciame struttura-di-array)
+     */
+    public boolean isCollidingWithObstacle(double x, double y, double radius) {
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle obstacle = obstacles.get(i);
+            Coord obstaclePos = obstacle.getPos();
+
+            // Bounding box rapido: se il punto è troppo lontano, skip
+            if (Math.abs(x - obstaclePos.x) > obstacle.getHalfWidth() + radius ||
+                Math.abs(y - obstaclePos.y) > obstacle.getHalfHeight() + radius) {
+                continue;
+            }
+
+            if (obstacle.intersects(x, y, radius)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Coord findNearestFreePosition(GameObject gameObject, int margin) {
         Coord currentPos = gameObject.getPos();
         double radius = gameObject.getSize() / 2.0;
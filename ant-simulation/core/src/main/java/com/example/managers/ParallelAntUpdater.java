@@ -0,0 +1,273 @@
+package com.example.managers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.example.metrics.EventBuffer;
+import com.example.metrics.MetricsCollector;
+import com.example.model.Ant;
+import com.example.model.Food;
+import com.example.model.Pheromone;
+
+/**
+ * Aggiornamento delle formiche su più core. Le formiche sono divise in blocchi contigui
+ * eseguiti in parallelo (stream paralleli sul ForkJoinPool comune, come le passate del
+ * campo di densità): durante la fase parallela il campo, la griglia e l'indice del cibo
+ * vengono solo letti, mentre i depositi di feromone, le richieste di raccolta e gli eventi
+ * di MetricsCollector finiscono nei buffer del blocco.
+ *
+ * Alla fine i buffer (depositi, richieste ed eventi) vengono uniti dal thread chiamante
+ * nell'ordine dei blocchi, cioè nell'ordine delle formiche nella lista, indipendentemente da
+ * quanti thread hanno lavorato: il CSV delle metriche è lo stesso con qualsiasi numero di core.
+ * Un pezzo di cibo conteso da più formiche va a quella con il numero di serie più basso;
+ * le altre riprovano al frame successivo.
+ *
+ * Differenza rispetto al ciclo seriale: i depositi del frame diventano visibili solo dopo
+ * l'unione, quindi ogni formica legge il campo com'era all'inizio del frame.
+ */
+public class ParallelAntUpdater {
+
+    private static final int MIN_ANTS_PER_CHUNK = 256;     // Sotto questa soglia il costo del fork supera il guadagno
+    private static final int CHUNKS_PER_THREAD = 4;        // Blocchi in più per bilanciare formiche con costi diversi
+
+    private final int maxChunks;                            // 0 = dal parallelismo del ForkJoinPool comune
+
+    // Blocchi riusati tra i frame, ognuno con i propri buffer
+    private Chunk[] chunks = new Chunk[0];
+    private int chunkCount;
+    private int antsPerChunk;
+
+    // Parametri del frame corrente, letti dai worker
+    private List<Ant> ants;
+    private double deltaTime;
+    private MultiHashGrid grid;
+    private ObstacleManager obstacleManager;
+    private DensityFieldManager densityManager;
+    private Ant selectedAnt;
+    private double selectedAntSize;
+
+    // Raccolte vincenti del frame, nell'ordine delle formiche
+    private Ant[] pickupAnts = new Ant[16];
+    private Food[] pickupFoods = new Food[16];
+    private long[] claimKeys = new long[16];
+    private long[] winnerKeys = new long[16];
+    private int pickupCount;
+
+    public ParallelAntUpdater() {
+        this(0);
+    }
+
+    /**
+     * Numero massimo di blocchi fissato, indipendente dai core (per i test)
+     */
+    ParallelAntUpdater(int maxChunks) {
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * Aggiorna le formiche (comportamento, movimento e feromoni) e risolve le richieste
+     * di raccolta; le raccolte da applicare si leggono poi con getPickupCount/getPickupAnt/getPickupFood.
+     * densityManager null = feromoni disattivati; obstacleManager null = nessun ostacolo
+     */
+    public void update(List<Ant> ants, double deltaTime, MultiHashGrid grid, ObstacleManager obstacleManager,
+                       DensityFieldManager densityManager, Ant selectedAnt, double selectedAntSize) {
+        this.ants = ants;
+        this.deltaTime = deltaTime;
+        this.grid = grid;
+        this.obstacleManager = obstacleManager;
+        this.densityManager = densityManager;
+        this.selectedAnt = selectedAnt;
+        this.selectedAntSize = selectedAntSize;
+
+        prepareChunks(ants.size());
+
+        // Fase parallela: ogni blocco scrive solo nei propri buffer
+        if (chunkCount == 1) {
+            updateChunk(0);
+        } else {
+            IntStream.range(0, chunkCount).parallel().forEach(this::updateChunk);
+        }
+
+        // Unione deterministica nell'ordine dei blocchi
+        if (densityManager != null) {
+            for (int c = 0; c < chunkCount; c++) {
+                densityManager.applyDeposits(chunks[c].deposits);
+                chunks[c].deposits.clear();
+            }
+        }
+        MetricsCollector metrics = MetricsCollector.getInstance();
+        for (int c = 0; c < chunkCount; c++) {
+            metrics.append(chunks[c].events);
+        }
+        resolveClaims();
+
+        this.ants = null;
+        this.selectedAnt = null;
+    }
+
+    public int getPickupCount() { return pickupCount; }
+
+    public Ant getPickupAnt(int i) { return pickupAnts[i]; }
+
+    public Food getPickupFood(int i) { return pickupFoods[i]; }
+
+    /**
+     * Numero di blocchi usati nell'ultimo update
+     */
+    public int getChunkCount() { return chunkCount; }
+
+    private void prepareChunks(int antCount) {
+        int limit = maxChunks > 0 ? maxChunks : ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        chunkCount = Math.max(1, Math.min(limit, antCount / MIN_ANTS_PER_CHUNK));
+        antsPerChunk = (antCount + chunkCount - 1) / chunkCount;
+
+        if (chunks.length < chunkCount) {
+            int previous = chunks.length;
+            chunks = Arrays.copyOf(chunks, chunkCount);
+            for (int c = previous; c < chunkCount; c++) {
+                chunks[c] = new Chunk();
+            }
+        }
+    }
+
+    private void updateChunk(int chunkIndex) {
+        Chunk chunk = chunks[chunkIndex];
+
+        int from = chunkIndex * antsPerChunk;
+        int to = Math.min(ants.size(), from + antsPerChunk);
+
+        // Gli eventi del blocco (campionamenti, consegne) vanno nel suo buffer, unito poi in ordine
+        MetricsCollector metrics = MetricsCollector.getInstance();
+        metrics.beginBuffering(chunk.events);
+        try {
+            updateAnts(chunk, from, to);
+        } finally {
+            metrics.endBuffering();
+        }
+    }
+
+    private void updateAnts(Chunk chunk, int from, int to) {
+        double halfFood = Food.FOOD_DIM / 2.0;
+
+        for (int i = from; i < to; i++) {
+            Ant ant = ants.get(i);
+
+            ant.attachMultiHashGrid(grid);
+            if (obstacleManager != null) {
+                ant.attachObstacleManager(obstacleManager);
+            }
+            ant.setSize(ant.equals(selectedAnt) ? selectedAntSize : Ant.ANT_SIZE);
+            ant.update(deltaTime);
+
+            if (!ant.isEnabled()) continue;
+
+            if (densityManager != null) {
+                Pheromone.PheromoneType type = ant.hasFoodLoad() ? Pheromone.PheromoneType.FOOD_TRAIL : Pheromone.PheromoneType.HOME_TRAIL;
+                densityManager.addPheromone(ant, type, chunk.deposits);
+            }
+
+            // Stessa query di SimulationManager.handleFoodInteraction, ma solo come richiesta
+            if (ant.hasFoodLoad()) continue;
+            int found = grid.findFoodWithin(
+                ant.getPosX() + halfFood, ant.getPosY() + halfFood, ant.getSize() + halfFood, chunk.pickupCandidate);
+            if (found > 0) {
+                chunk.addClaim(ant, chunk.pickupCandidate.get(0));
+            }
+        }
+        chunk.pickupCandidate.clear();
+    }
+
+    /**
+     * Per ogni pezzo conteso vince la formica con numero di serie più basso. Le chiavi
+     * (cibo nei 32 bit alti, formica in quelli bassi) ordinate raggruppano le richieste per
+     * cibo con la vincitrice in testa; le vincitrici vengono poi raccolte nell'ordine dei blocchi
+     */
+    private void resolveClaims() {
+        // Svuota i riferimenti del frame precedente
+        Arrays.fill(pickupAnts, 0, pickupCount, null);
+        Arrays.fill(pickupFoods, 0, pickupCount, null);
+        pickupCount = 0;
+
+        int claimCount = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            claimCount += chunks[c].claimCount;
+        }
+        if (claimCount == 0) return;
+
+        ensureClaimCapacity(claimCount);
+
+        int k = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            for (int i = 0; i < chunk.claimCount; i++) {
+                claimKeys[k++] = claimKey(chunk.claimFoods[i], chunk.claimAnts[i]);
+            }
+        }
+        Arrays.sort(claimKeys, 0, claimCount);
+
+        int winners = 0;
+        for (int i = 0; i < claimCount; i++) {
+            if (i == 0 || (claimKeys[i] >>> 32) != (claimKeys[i - 1] >>> 32)) {
+                winnerKeys[winners++] = claimKeys[i];
+            }
+        }
+
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            for (int i = 0; i < chunk.claimCount; i++) {
+                Food food = chunk.claimFoods[i];
+                Ant ant = chunk.claimAnts[i];
+                if (Arrays.binarySearch(winnerKeys, 0, winners, claimKey(food, ant)) >= 0) {
+                    pickupAnts[pickupCount] = ant;
+                    pickupFoods[pickupCount] = food;
+                    pickupCount++;
+                }
+            }
+            chunk.clearClaims();
+        }
+    }
+
+    private static long claimKey(Food food, Ant ant) {
+        return ((long) food.getSerialNumber() << 32) | (ant.getSerialNumber() & 0xFFFFFFFFL);
+    }
+
+    private void ensureClaimCapacity(int claimCount) {
+        if (claimKeys.length >= claimCount) return;
+
+        int capacity = Math.max(claimCount, claimKeys.length * 2);
+        pickupAnts = new Ant[capacity];
+        pickupFoods = new Food[capacity];
+        claimKeys = new long[capacity];
+        winnerKeys = new long[capacity];
+    }
+
+    /**
+     * Blocco di formiche contigue con i buffer scritti solo dal worker che lo esegue
+     */
+    private static class Chunk {
+        final PheromoneDepositBuffer deposits = new PheromoneDepositBuffer();
+        final EventBuffer events = new EventBuffer();
+        final NeighborBuffer<Food> pickupCandidate = new NeighborBuffer<>(1);
+        Ant[] claimAnts = new Ant[16];
+        Food[] claimFoods = new Food[16];
+        int claimCount;
+
+        void addClaim(Ant ant, Food food) {
+            if (claimCount == claimAnts.length) {
+                claimAnts = Arrays.copyOf(claimAnts, claimCount * 2);
+                claimFoods = Arrays.copyOf(claimFoods, claimCount * 2);
+            }
+            claimAnts[claimCount] = ant;
+            claimFoods[claimCount] = food;
+            claimCount++;
+        }
+
+        void clearClaims() {
+            Arrays.fill(claimAnts, 0, claimCount, null);
+            Arrays.fill(claimFoods, 0, claimCount, null);
+            claimCount = 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.managers;
+
+import java.util.Arrays;
+
+import com.example.model.Pheromone;
+
+/**
+ * Depositi di feromone rimandati: posizione, tipo e intensità vengono accodati in array
+ * paralleli (riusati tra i frame) e scritti nel campo più tardi, nell'ordine di inserimento,
+ * con DensityFieldManager.applyDeposits. Serve all'aggiornamento parallelo delle formiche,
+ * dove i worker leggono il campo ma non possono scriverlo
+ */
+public class PheromoneDepositBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final Pheromone.PheromoneType[] TYPES = Pheromone.PheromoneType.values();
+
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] intensity = new double[INITIAL_CAPACITY];
+    private byte[] type = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    public void add(double posX, double posY, Pheromone.PheromoneType pheromoneType, double pheromoneIntensity) {
+        if (size == x.length) grow();
+
+        x[size] = posX;
+        y[size] = posY;
+        type[size] = (byte) pheromoneType.ordinal();
+        intensity[size] = pheromoneIntensity;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    public double getX(int i) { return x[i]; }
+
+    public double getY(int i) { return y[i]; }
+
+    public Pheromone.PheromoneType getType(int i) { return TYPES[type[i]]; }
+
+    public double getIntensity(int i) { return intensity[i]; }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        intensity = Arrays.copyOf(intensity, capacity);
+        type = Arrays.copyOf(type, capacity);
+    }
+}
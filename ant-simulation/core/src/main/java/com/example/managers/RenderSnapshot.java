@@ -0,0 +1,292 @@
+package com.example.managers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.example.graphics.Coord;
+import com.example.model.Ant;
+import com.example.model.AntSwarm;
+import com.example.model.Food;
+import com.example.model.Nest;
+import com.example.model.Obstacle;
+import com.example.model.Pheromone;
+import com.example.simulation.Simulation;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Fotografia di quello che serve per disegnare un frame: formiche (centro, angolo, dimensione,
+ * carico), cibo, nidi, ostacoli, campi di feromone e contatori. La riempie il thread della
+ * simulazione tra un tick e l'altro; il thread JavaFX la legge tramite SnapshotExchange senza
+ * mai toccare gli oggetti del modello.
+ *
+ * Gli array vengono riusati tra una cattura e l'altra (crescono solo se serve). I campi di
+ * feromone sono copiati e non referenziati: front e back di DensityChannel vengono scambiati
+ * e riscritti a ogni update, quindi un riferimento si vedrebbe cambiare durante il disegno.
+ * A risoluzione piena ogni fotografia riscrive solo i tile attivi e quelli che si sono
+ * addormentati dalla sua cattura precedente, non l'intera griglia.
+ */
+public class RenderSnapshot {
+
+    // Contatori
+    private long tick;
+    private double simulatedSeconds;
+    private double stepsPerSecond;
+    private long activeAnts;
+    private long activeFood;
+
+    // Formiche abilitate (oggetti Ant e sciame)
+    private int antCount;
+    private double[] antCenterX = new double[0];
+    private double[] antCenterY = new double[0];
+    private double[] antAngle = new double[0];
+    private double[] antSize = new double[0];
+    private boolean[] antCarrying = new boolean[0];
+
+    // Formica selezionata: indice tra le formiche, raggio di percezione, sensori e statistiche
+    private int selectedIndex = -1;
+    private double[] selectedSensors = new double[6];      // x, y dei sensori sinistro, frontale, destro
+    private double[] selectedStats = new double[6];        // Come SimulationManager.getSelectedAntStats
+
+    // Cibo abilitato (posizione in alto a sinistra)
+    private int foodCount;
+    private double[] foodX = new double[0];
+    private double[] foodY = new double[0];
+
+    // Nidi abilitati (centro)
+    private int nestCount;
+    private double[] nestX = new double[0];
+    private double[] nestY = new double[0];
+    private double[] nestSize = new double[0];
+    private int[] nestFoodCount = new int[0];
+
+    private List<Obstacle> obstacles = List.of();          // Creati all'avvio e poi invariati
+
+    // Campi di feromone al livello di dettaglio richiesto (0 = celle piene)
+    private boolean hasField;
+    private int fieldLevel;
+    private int fieldWidth;
+    private int fieldHeight;
+    private double fieldCellSize;
+    private double[] foodField = new double[0];
+    private double[] homeField = new double[0];
+    private DensityFieldManager fieldSource;               // Campo copiato a livello 0 (null = array da riazzerare)
+    private final BitSet foodTiles = new BitSet();          // Tile non nulli in foodField
+    private final BitSet homeTiles = new BitSet();
+
+    /**
+     * Copia lo stato corrente della simulazione. Da chiamare dal thread che la aggiorna, tra due tick
+     */
+    public void capture(Simulation simulation, boolean pheromonesEnabled, int requestedFieldLevel, double stepsPerSecond) {
+        this.tick = SimulationClock.getInstance().getTick();
+        this.simulatedSeconds = SimulationClock.getInstance().getSeconds();
+        this.stepsPerSecond = stepsPerSecond;
+
+        captureAnts(simulation);
+        captureFood(simulation);
+        captureNests(simulation);
+
+        obstacles = simulation.hasObstacles() ? simulation.getObstacleManager().getObstacles() : List.of();
+
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        hasField = pheromonesEnabled && densityManager != null;
+        if (hasField) captureField(densityManager, requestedFieldLevel);
+    }
+
+    private void captureAnts(Simulation simulation) {
+        List<Ant> ants = simulation.getAnts();
+        AntSwarm swarm = simulation.getAntSwarm();
+        Ant selectedAnt = simulation.getSelectedAnt();
+
+        ensureAntCapacity(ants.size() + (swarm != null ? swarm.size() : 0));
+        antCount = 0;
+        selectedIndex = -1;
+
+        for (int i = 0; i < ants.size(); i++) {
+            Ant ant = ants.get(i);
+            if (!ant.isEnabled()) continue;
+            if (ant == selectedAnt) selectedIndex = antCount;
+            addAnt(ant.getCenterX(), ant.getCenterY(), ant.getAngle(), ant.getSize(), ant.hasFoodLoad());
+        }
+        activeAnts = antCount;
+
+        if (swarm != null) {
+            int swarmSelected = swarm.getSelectedIndex();
+            for (int i = 0; i < swarm.size(); i++) {
+                if (i == swarmSelected) continue;       // Disegnata tramite la sua vista, come nelle altre simulazioni
+                addAnt(swarm.getCenterX(i), swarm.getCenterY(i),
+                    Math.atan2(swarm.getDirectionY(i), swarm.getDirectionX(i)), Ant.ANT_SIZE, swarm.hasFoodLoad(i));
+            }
+            if (selectedAnt != null) {
+                selectedIndex = antCount;
+                addAnt(selectedAnt.getCenterX(), selectedAnt.getCenterY(), selectedAnt.getAngle(), selectedAnt.getSize(), selectedAnt.hasFoodLoad());
+            }
+            activeAnts += swarm.size();
+        }
+
+        if (selectedIndex >= 0) captureSelected(selectedAnt);
+    }
+
+    private void captureSelected(Ant ant) {
+        Ant.Sensor[] sensors = ant.getSensors();
+        for (int s = 0; s < sensors.length; s++) {
+            Coord position = sensors[s].getSensorPosition();
+            selectedSensors[2 * s] = position.x;
+            selectedSensors[2 * s + 1] = position.y;
+        }
+
+        selectedStats[0] = ant.getSerialNumber();
+        selectedStats[1] = Math.round((ant.getStartTrackTime() / 1_000_000_000.0) * 100.0) / 100.0;
+        selectedStats[2] = Math.round((ant.getLastFoodDiscoveryTime() / 1_000_000_000.0) * 100.0) / 100.0;
+        selectedStats[3] = Math.round((ant.getLastNestDiscoveryTime() / 1_000_000_000.0) * 100.0) / 100.0;
+        selectedStats[4] = Math.round((ant.getLastTripTime() / 1_000_000_000.0) * 100.0) / 100.0;
+        selectedStats[5] = Math.round((ant.getMeanTripTime() / 1_000_000_000.0) * 100.0) / 100.0;
+    }
+
+    private void addAnt(double centerX, double centerY, double angle, double size, boolean carrying) {
+        antCenterX[antCount] = centerX;
+        antCenterY[antCount] = centerY;
+        antAngle[antCount] = angle;
+        antSize[antCount] = size;
+        antCarrying[antCount] = carrying;
+        antCount++;
+    }
+
+    private void captureFood(Simulation simulation) {
+        List<Food> foods = simulation.getFoods();
+        if (foodX.length < foods.size()) {
+            foodX = new double[foods.size()];
+            foodY = new double[foods.size()];
+        }
+
+        foodCount = 0;
+        for (int i = 0; i < foods.size(); i++) {
+            Food food = foods.get(i);
+            if (!food.isEnabled()) continue;
+            foodX[foodCount] = food.getPosX();
+            foodY[foodCount] = food.getPosY();
+            foodCount++;
+        }
+        activeFood = foodCount;
+    }
+
+    private void captureNests(Simulation simulation) {
+        List<Nest> nests = simulation.getNests();
+        if (nestX.length < nests.size()) {
+            nestX = new double[nests.size()];
+            nestY = new double[nests.size()];
+            nestSize = new double[nests.size()];
+            nestFoodCount = new int[nests.size()];
+        }
+
+        nestCount = 0;
+        for (Nest nest : nests) {
+            if (!nest.isEnabled()) continue;
+            nestX[nestCount] = nest.getPosX();
+            nestY[nestCount] = nest.getPosY();
+            nestSize[nestCount] = nest.getSize();
+            nestFoodCount[nestCount] = nest.getFoodCount();
+            nestCount++;
+        }
+    }
+
+    private void captureField(DensityFieldManager densityManager, int requestedLevel) {
+        // La piramide viene costruita dal prossimo update: fino ad allora si copia a risoluzione piena
+        if (requestedLevel > 0) densityManager.setPyramidEnabled(true);
+        fieldLevel = Math.max(0, Math.min(requestedLevel, densityManager.getPyramidLevels() - 1));
+
+        fieldWidth = densityManager.getLevelWidth(fieldLevel);
+        fieldHeight = densityManager.getLevelHeight(fieldLevel);
+        fieldCellSize = densityManager.getCellSize() * (1 << fieldLevel);
+
+        int cells = fieldWidth * fieldHeight;
+        if (foodField.length < cells) {
+            foodField = new double[cells];
+            homeField = new double[cells];
+        }
+
+        // Livelli grossolani: copia in blocco degli array della piramide (pochi blocchi)
+        if (fieldLevel > 0) {
+            densityManager.copyLevel(Pheromone.PheromoneType.FOOD_TRAIL, fieldLevel, foodField);
+            densityManager.copyLevel(Pheromone.PheromoneType.HOME_TRAIL, fieldLevel, homeField);
+            fieldSource = null;
+            return;
+        }
+
+        // Livello 0: si parte da array a zero, poi ogni cattura riscrive solo i tile cambiabili
+        if (fieldSource != densityManager) {
+            Arrays.fill(foodField, 0, cells, 0);
+            Arrays.fill(homeField, 0, cells, 0);
+            foodTiles.clear();
+            homeTiles.clear();
+            fieldSource = densityManager;
+        }
+        densityManager.copyActiveTiles(Pheromone.PheromoneType.FOOD_TRAIL, foodField, foodTiles);
+        densityManager.copyActiveTiles(Pheromone.PheromoneType.HOME_TRAIL, homeField, homeTiles);
+    }
+
+    private void ensureAntCapacity(int capacity) {
+        if (antCenterX.length >= capacity) return;
+
+        antCenterX = Arrays.copyOf(antCenterX, capacity);
+        antCenterY = Arrays.copyOf(antCenterY, capacity);
+        antAngle = Arrays.copyOf(antAngle, capacity);
+        antSize = Arrays.copyOf(antSize, capacity);
+        antCarrying = Arrays.copyOf(antCarrying, capacity);
+    }
+
+    // Getters per il renderer (indici validi: [0, count))
+    public long getTick() { return tick; }
+    public double getSimulatedSeconds() { return simulatedSeconds; }
+    public double getStepsPerSecond() { return stepsPerSecond; }
+    public long getActiveAnts() { return activeAnts; }
+    public long getActiveFood() { return activeFood; }
+
+    public int getAntCount() { return antCount; }
+    public double getAntCenterX(int i) { return antCenterX[i]; }
+    public double getAntCenterY(int i) { return antCenterY[i]; }
+    public double getAntAngle(int i) { return antAngle[i]; }
+    public double getAntSize(int i) { return antSize[i]; }
+    public boolean isAntCarrying(int i) { return antCarrying[i]; }
+
+    /**
+     * Indice della formica selezionata tra getAntCount, -1 se nessuna
+     */
+    public int getSelectedIndex() { return selectedIndex; }
+    public double getSelectedSensorX(int sensor) { return selectedSensors[2 * sensor]; }
+    public double getSelectedSensorY(int sensor) { return selectedSensors[2 * sensor + 1]; }
+    public int getSensorCount() { return selectedSensors.length / 2; }
+
+    /**
+     * Statistiche della formica selezionata (copia), null se nessuna
+     */
+    public double[] getSelectedStats() {
+        return selectedIndex >= 0 ? selectedStats.clone() : null;
+    }
+
+    public int getFoodCount() { return foodCount; }
+    public double getFoodX(int i) { return foodX[i]; }
+    public double getFoodY(int i) { return foodY[i]; }
+
+    public int getNestCount() { return nestCount; }
+    public double getNestX(int i) { return nestX[i]; }
+    public double getNestY(int i) { return nestY[i]; }
+    public double getNestSize(int i) { return nestSize[i]; }
+    public int getNestFoodCount(int i) { return nestFoodCount[i]; }
+
+    public List<Obstacle> getObstacles() { return obstacles; }
+
+    public boolean hasField() { return hasField; }
+    public int getFieldLevel() { return fieldLevel; }
+    public int getFieldWidth() { return fieldWidth; }
+    public int getFieldHeight() { return fieldHeight; }
+    public double getFieldCellSize() { return fieldCellSize; }
+
+    /**
+     * Intensità della cella (x, y) al livello getFieldLevel, già al netto del decay lazy
+     */
+    public double getFieldIntensity(Pheromone.PheromoneType type, int x, int y) {
+        int i = y * fieldWidth + x;
+        return type == Pheromone.PheromoneType.FOOD_TRAIL ? foodField[i] : homeField[i];
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.managers;
+
+/**
+ * Kernel scalare: un ciclo senza branch che il JIT può srotolare
+ */
+final class ScalarDensityKernel implements DensityKernel {
+
+    @Override
+    public int updateInteriorRow(double[] field, double[] target, int rowStart, int stride, int fromX, int toX,
+                                 double centerWeight, double edgeWeight, double cornerWeight,
+                                 double minIntensity, double maxIntensity) {
+        return updateRange(field, target, rowStart, stride, fromX, toX,
+            centerWeight, edgeWeight, cornerWeight, minIntensity, maxIntensity);
+    }
+
+    /**
+     * Usato anche dal kernel vettoriale per la coda della riga
+     */
+    static int updateRange(double[] field, double[] target, int rowStart, int stride, int fromX, int toX,
+                           double centerWeight, double edgeWeight, double cornerWeight,
+                           double minIntensity, double maxIntensity) {
+        int up = rowStart - stride;
+        int down = rowStart + stride;
+
+        int activeCells = 0;
+
+        for (int x = fromX; x < toX; x++) {
+            double value = centerWeight * field[rowStart + x]
+                + edgeWeight * (field[rowStart + x - 1] + field[rowStart + x + 1] + field[up + x] + field[down + x])
+                + cornerWeight * (field[up + x - 1] + field[up + x + 1] + field[down + x - 1] + field[down + x + 1]);
+
+            // Clamp e pulizia sotto soglia (compilati come select, non come salti)
+            value = Math.min(value, maxIntensity);
+            value = value < minIntensity ? 0 : value;
+            target[rowStart + x] = value;
+            activeCells += value > 0 ? 1 : 0;
+        }
+
+        return activeCells;
+    }
+}
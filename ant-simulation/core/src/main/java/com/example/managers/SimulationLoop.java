@@ -0,0 +1,162 @@
+package com.example.managers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.simulation.Simulation;
+
+/**
+ * Thread della simulazione a passo fisso: prepara la simulazione (Simulation.start), poi
+ * esegue SimulationStepper con deltaTime costante al ritmo del tempo reale, indipendentemente
+ * da quanto costa disegnare. Dopo i tick pubblica una RenderSnapshot nel triplo buffer; la
+ * cattura si salta finché il lettore non ha preso la precedente, così a simulazione veloce
+ * non si copia lo stato più spesso di quanto venga disegnato.
+ *
+ * Tutte le modifiche allo stato (selezione, opzioni dello stepper) passano da post e vengono
+ * eseguite da questo thread tra due tick: il modello ha un solo scrittore.
+ */
+public class SimulationLoop {
+
+    public static final double FIXED_TIMESTEP = 1 / 60.0;           // Secondi simulati per tick
+    private static final long STEP_NANOS = Math.round(FIXED_TIMESTEP * 1_000_000_000.0);
+    private static final int MAX_CATCH_UP_STEPS = 5;                // Oltre, il ritardo viene lasciato andare
+    private static final long PAUSED_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(Simulation.REFRESH_RATE);
+
+    private final Simulation simulation;
+    private final SimulationStepper stepper;
+    private final SnapshotExchange<RenderSnapshot> snapshots = new SnapshotExchange<>(RenderSnapshot::new);
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    private Thread thread;
+    private volatile boolean running;
+    private volatile boolean paused;
+    private volatile int snapshotFieldLevel;                       // Livello della piramide da copiare per il renderer
+    private volatile double stepsPerSecond;
+
+    public SimulationLoop(Simulation simulation, SimulationStepper stepper) {
+        this.simulation = simulation;
+        this.stepper = stepper;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Ferma il thread e ne attende la fine: dopo il ritorno la simulazione non viene più toccata
+     */
+    public void stop() {
+        running = false;
+        if (thread == null) return;
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        if (!paused && thread != null) LockSupport.unpark(thread);
+    }
+
+    public boolean isPaused() { return paused; }
+
+    /**
+     * Esegue command sul thread della simulazione prima del prossimo tick
+     */
+    public void post(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Ultima fotografia pubblicata (null finché non ne è stata pubblicata una).
+     * Da chiamare da un solo thread: resta valida fino alla chiamata successiva
+     */
+    public RenderSnapshot takeSnapshot() {
+        return snapshots.front();
+    }
+
+    /**
+     * Fotografia presa dall'ultimo takeSnapshot
+     */
+    public RenderSnapshot currentSnapshot() {
+        return snapshots.current();
+    }
+
+    public void setSnapshotFieldLevel(int level) {
+        this.snapshotFieldLevel = Math.max(0, level);
+    }
+
+    /**
+     * Tick al secondo misurati nell'ultimo secondo di tempo reale
+     */
+    public double getStepsPerSecond() { return stepsPerSecond; }
+
+    private void run() {
+        try {
+            simulation.start();
+        } catch (InterruptedException e) {
+            return;
+        }
+        publishSnapshot();
+
+        long nextStep = System.nanoTime();
+        long rateWindowStart = nextStep;
+        int rateWindowSteps = 0;
+
+        while (running) {
+            runCommands();
+
+            if (paused) {
+                LockSupport.parkNanos(PAUSED_PARK_NANOS);
+                nextStep = System.nanoTime();           // Alla ripresa niente recupero del tempo in pausa
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (now < nextStep) {
+                LockSupport.parkNanos(nextStep - now);
+                continue;
+            }
+
+            // Recupera i tick in ritardo, ma non più di MAX_CATCH_UP_STEPS per giro
+            int steps = 0;
+            while (nextStep <= now && steps < MAX_CATCH_UP_STEPS) {
+                stepper.step(simulation, FIXED_TIMESTEP);
+                nextStep += STEP_NANOS;
+                steps++;
+            }
+            if (nextStep <= now) nextStep = now + STEP_NANOS;
+
+            rateWindowSteps += steps;
+            if (now - rateWindowStart >= 1_000_000_000L) {
+                stepsPerSecond = rateWindowSteps * 1e9 / (now - rateWindowStart);
+                rateWindowStart = now;
+                rateWindowSteps = 0;
+            }
+
+            if (!snapshots.hasPending()) publishSnapshot();
+        }
+    }
+
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    private void publishSnapshot() {
+        snapshots.back().capture(simulation, stepper.isPheromonesEnabled(), snapshotFieldLevel, stepsPerSecond);
+        snapshots.publish();
+    }
+}
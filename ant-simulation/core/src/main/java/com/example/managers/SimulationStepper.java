@@ -0,0 +1,342 @@
+package com.example.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.metrics.MetricsCollector;
+import com.example.model.Ant;
+import com.example.model.AntSwarm;
+import com.example.model.Food;
+import com.example.model.FoodClump;
+import com.example.model.Nest;
+import com.example.model.Pheromone;
+import com.example.simulation.Simulation;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Un tick della logica di simulazione (nidi, formiche, sciame, raccolta del cibo, ammassi,
+ * campo di densità), senza rendering né JavaFX. Lo usano sia SimulationLoop, sul thread
+ * della simulazione, sia HeadlessRunner, in un ciclo a passo fisso. Le cadenze (campo ogni
+ * quanti tick, sotto-passi delle formiche) le decide FrameBudgetScheduler.
+ */
+public class SimulationStepper {
+
+    private static final double SELECTED_ANT_SIZE_MULTIPLIER = 1.25; // Moltiplicatore della dimensione della formica selezionata
+
+    private final MultiHashGrid gameObjectGrid = new MultiHashGrid();
+    private final NeighborBuffer<Food> pickupCandidate = new NeighborBuffer<>(1); // Buffer riusato dalla raccolta del cibo
+    private final List<Food> swarmPickedFood = new ArrayList<>();                 // Cibo raccolto dallo sciame nel frame
+    private ParallelAntUpdater parallelAntUpdater;                          // null = ciclo formiche seriale
+    private final FrameBudgetScheduler scheduler = new FrameBudgetScheduler();   // Cadenza del campo e sotto-passi
+
+    private Simulation simulation;                                          // Simulazione del tick in corso
+    private long frameCount;
+    private int densityCountdown;                                           // Tick prima del prossimo update del campo
+    private boolean pheromonesEnabled = true;
+    private boolean pipelinedDensity = false;                               // Update del campo sovrapposto al tick successivo
+    private boolean debugOutput = true;                                     // Stampe periodiche di densità e tempi
+
+    /**
+     * Esegue un tick di deltaTime secondi sulla simulazione
+     */
+    public void step(Simulation simulation, double deltaTime) {
+        this.simulation = simulation;
+        try {
+            update(deltaTime, frameCount++);
+        } finally {
+            this.simulation = null;
+        }
+    }
+
+    private void update(double deltaTime, long frameCount) {
+        long updateStart = System.nanoTime();
+
+        // Le formiche possono avanzare in più sotto-passi; il tick conta una volta sola
+        int substeps = scheduler.getAntSubsteps();
+        double antDeltaTime = deltaTime / substeps;
+
+        // Il tempo del modello avanza solo con i tick (in pausa si ferma)
+        SimulationClock.getInstance().advance(antDeltaTime);
+
+        // Ottieni liste
+        var ants = simulation.getAnts();
+        var nests = simulation.getNests();
+        var foodClumps = simulation.getFoodClumps();
+
+        // Ricostruisce la griglia delle formiche (counting sort in array preallocati);
+        // il cibo sta nell'indice persistente della simulazione, aggiornato su spawn e raccolta
+        gameObjectGrid.rebuildAnts(ants);
+        gameObjectGrid.setFoodIndex(simulation.getFoodIndex());
+
+        // Aggiorna nidi
+        for (Nest nest : nests) {
+            nest.update(deltaTime);
+        }
+
+        long antStart = System.nanoTime();
+
+        for (int substep = 0; substep < substeps; substep++) {
+            if (substep > 0) {
+                SimulationClock.getInstance().advanceTime(antDeltaTime);
+                gameObjectGrid.rebuildAnts(ants);
+            }
+            updateAnts(ants, antDeltaTime);
+        }
+
+        long foodStart = System.nanoTime();
+        scheduler.recordAnts(foodStart - antStart, substeps);
+
+        // Aggiorna food clumps
+        for (FoodClump foodClump : foodClumps) {
+            foodClump.update(deltaTime);
+        }
+
+        long pheromoneStart = System.nanoTime();
+        scheduler.recordFood(pheromoneStart - foodStart);
+
+        // Aggiorna density field
+        if (updateDensity(deltaTime, frameCount)) {
+            scheduler.recordDensity(System.nanoTime() - pheromoneStart);
+        }
+
+        long pheromoneTime = System.nanoTime() - pheromoneStart;
+        long totalTime = System.nanoTime() - updateStart;
+
+        scheduler.endTick();
+
+        // Debug performance ogni 60 frame
+        if (debugOutput && frameCount % 60 == 0) {
+            System.out.printf("UPDATE - Total: %.2fms | Density: %.2fms | Density every %d | Ant substeps: %d\n",
+                totalTime / 1_000_000.0, pheromoneTime / 1_000_000.0, scheduler.getDensityInterval(), substeps);
+        }
+    }
+
+    /**
+     * Un sotto-passo delle formiche: movimento, feromoni, sciame e raccolta del cibo
+     */
+    private void updateAnts(List<Ant> ants, double deltaTime) {
+        if (parallelAntUpdater != null) {
+            parallelAntUpdater.update(ants, deltaTime, gameObjectGrid,
+                simulation.hasObstacles() ? simulation.getObstacleManager() : null,
+                this.pheromonesEnabled ? simulation.getDensityManager() : null,
+                simulation.getSelectedAnt(), Ant.ANT_SIZE * SELECTED_ANT_SIZE_MULTIPLIER);
+        } else {
+            Ant selectedAnt = simulation.getSelectedAnt();
+
+            for (Ant ant : ants) {
+
+                ant.attachMultiHashGrid(gameObjectGrid);
+
+                if (simulation.hasObstacles()) {
+                    ant.attachObstacleManager(simulation.getObstacleManager());
+                }
+
+                if (ant == selectedAnt) {
+                    ant.setSize(Ant.ANT_SIZE * SELECTED_ANT_SIZE_MULTIPLIER); // Aumenta la dimensione della formica selezionata
+                } else {
+                    ant.setSize(Ant.ANT_SIZE); // Reimposta la dimensione normale
+                }
+                ant.update(deltaTime);
+
+                // Rilascia feromoni nel density field
+
+                if (this.pheromonesEnabled) releasePheromone(ant);
+            }
+        }
+
+        // Sciame struttura-di-array: stessi passi (comportamento, feromoni, raccolta) sugli indici
+        AntSwarm swarm = simulation.getAntSwarm();
+        if (swarm != null) {
+            updateSwarm(swarm, deltaTime);
+        }
+
+        // Gestisci interazioni cibo (in parallelo le richieste sono già state risolte)
+        if (parallelAntUpdater != null) {
+            for (int i = 0; i < parallelAntUpdater.getPickupCount(); i++) {
+                Food food = parallelAntUpdater.getPickupFood(i);
+                if (food.isEnabled()) pickUpFood(parallelAntUpdater.getPickupAnt(i), food);   // Lo sciame può averlo preso prima
+            }
+        } else {
+            handleFoodInteraction(ants);
+        }
+    }
+
+    /**
+     * Aggiorna il campo all'inizio di ogni finestra di getDensityInterval tick, con la durata
+     * della finestra; ritorna true se in questo tick è partito un update
+     */
+    private boolean updateDensity(double deltaTime, long frameCount) {
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        if (densityManager == null) return false;
+
+        // Conclude l'update avviato al tick precedente (in pipeline le formiche di questo tick
+        // hanno letto il campo precedente e i loro depositi vengono scritti adesso)
+        densityManager.finishUpdate();
+
+        if (!this.pheromonesEnabled) return false;
+
+        if (densityCountdown > 0) {
+            densityCountdown--;
+            return false;
+        }
+
+        int interval = scheduler.getDensityInterval();
+        densityCountdown = interval - 1;
+
+        if (pipelinedDensity) {
+            densityManager.beginUpdate(deltaTime * interval);
+        } else {
+            densityManager.update(deltaTime * interval);
+        }
+
+        if (debugOutput && frameCount % 120 == 0) { // Debug ogni 2 secondi
+            System.out.printf("Active density cells: %d | Avg Food: %.2f | Avg Home: %.2f\n",
+                densityManager.getTotalActiveCells(),
+                densityManager.getAverageIntensity(Pheromone.PheromoneType.FOOD_TRAIL),
+                densityManager.getAverageIntensity(Pheromone.PheromoneType.HOME_TRAIL));
+        }
+        return true;
+    }
+
+    private void updateSwarm(AntSwarm swarm, double deltaTime) {
+        swarm.attachMultiHashGrid(gameObjectGrid);
+        swarm.attachDensityManager(simulation.getDensityManager());
+        if (simulation.hasObstacles()) {
+            swarm.attachObstacleManager(simulation.getObstacleManager());
+        }
+
+        swarm.update(deltaTime, this.pheromonesEnabled);
+
+        swarm.collectFood(swarmPickedFood);
+        for (int i = 0; i < swarmPickedFood.size(); i++) {
+            updateFoodClump(swarmPickedFood.get(i));
+        }
+        swarmPickedFood.clear();
+
+        Ant selectedAnt = swarm.getSelectedAnt();
+        if (selectedAnt != null) selectedAnt.setSize(Ant.ANT_SIZE * SELECTED_ANT_SIZE_MULTIPLIER);
+    }
+
+    /**
+     * Rilascio feromoni
+     */
+    private void releasePheromone(Ant ant) {
+        if (!ant.isEnabled()) return;
+
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        if (densityManager == null) return;
+
+        Pheromone.PheromoneType type;
+
+        if (ant.hasFoodLoad()) {
+            // Rilascia FOOD_TRAIL quando torna a casa con cibo
+            type = Pheromone.PheromoneType.FOOD_TRAIL;
+        } else {
+            // Rilascia HOME_TRAIL quando cerca cibo
+            type = Pheromone.PheromoneType.HOME_TRAIL;
+        }
+
+        densityManager.addPheromone(ant, type);
+    }
+
+    private void handleFoodInteraction(List<Ant> ants) {
+        double halfFood = Food.FOOD_DIM / 2.0;
+
+        for (Ant ant : ants) {
+            if (!ant.isEnabled() || ant.hasFoodLoad()) continue;
+
+            // Raccoglie il pezzo più vicino con distanza tra le posizioni < size + FOOD_DIM/2:
+            // spostando il punto di mezzo pezzo la distanza dai centri del cibo è la stessa
+            int found = gameObjectGrid.findFoodWithin(
+                ant.getPosX() + halfFood, ant.getPosY() + halfFood, ant.getSize() + halfFood, pickupCandidate);
+            if (found == 0) continue;
+
+            pickUpFood(ant, pickupCandidate.get(0));
+        }
+        pickupCandidate.clear();
+    }
+
+    private void pickUpFood(Ant ant, Food food) {
+        ant.pickupFood(food);
+
+        MetricsCollector.getInstance().logEvent(
+            "FOOD_PICKUP",
+            "Ant " + ant.getSerialNumber() + " picked up food",
+            food.getCenter(),
+            null
+        );
+        food.onPickedUp(ant);
+        food.disable();
+        updateFoodClump(food);
+    }
+
+    private void updateFoodClump(Food takenFood) {
+        List<FoodClump> foodClumps = simulation.getFoodClumps();
+
+        for (FoodClump clump : foodClumps) {
+            if (!clump.isEnabled()) continue;
+
+            for (Food clumpFood : clump.getFoodPieces()) {
+                if (clumpFood.getSerialNumber() == takenFood.getSerialNumber()) {
+                    clump.removeFood(takenFood);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Aggiornamento delle formiche su più core (vedi ParallelAntUpdater)
+     */
+    public void setParallelUpdateEnabled(boolean enabled) {
+        this.parallelAntUpdater = enabled ? new ParallelAntUpdater() : null;
+    }
+
+    public boolean isParallelUpdateEnabled() {
+        return parallelAntUpdater != null;
+    }
+
+    /**
+     * Pipeline del campo di densità: la passata dell'update parte su un worker e viene conclusa
+     * al tick successivo, dopo le formiche, che intanto leggono il campo già completo e accodano
+     * i depositi. Deterministico come il percorso seriale, ma con un tick di ritardo nei sensori,
+     * quindi a parità di seme dà un'esecuzione diversa da quella senza pipeline
+     */
+    public void setPipelinedDensityEnabled(boolean enabled) {
+        this.pipelinedDensity = enabled;
+    }
+
+    public boolean isPipelinedDensityEnabled() {
+        return pipelinedDensity;
+    }
+
+    public void setPheromonesEnabled(boolean pheromonesEnabled) {
+        this.pheromonesEnabled = pheromonesEnabled;
+    }
+
+    public boolean isPheromonesEnabled() {
+        return pheromonesEnabled;
+    }
+
+    /**
+     * Scheduler delle cadenze (fisso di default); il thread che disegna vi registra
+     * il costo dei frame e ne legge la cadenza di rendering
+     */
+    public FrameBudgetScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Stampe di debug periodiche (attive di default, come nella finestra)
+     */
+    public void setDebugOutput(boolean debugOutput) {
+        this.debugOutput = debugOutput;
+    }
+
+    /**
+     * Tick eseguiti da questo stepper
+     */
+    public long getStepCount() {
+        return frameCount;
+    }
+}
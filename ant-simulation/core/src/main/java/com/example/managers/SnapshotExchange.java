@@ -0,0 +1,75 @@
+package com.example.managers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Scambio senza lock tra un solo scrittore e un solo lettore (triplo buffer): lo scrittore
+ * riempie il proprio buffer e lo pubblica, il lettore prende l'ultimo pubblicato. I due non
+ * toccano mai lo stesso buffer, quindi quello in mano al lettore resta immutabile finché non
+ * ne chiede uno nuovo; nessuno dei due aspetta l'altro.
+ *
+ * Il buffer di mezzo è codificato in un intero atomico (indice + bit "nuovo"): pubblicare e
+ * prendere sono un getAndSet ciascuno.
+ */
+public class SnapshotExchange<T> {
+
+    private static final int FRESH = 4;             // Il buffer di mezzo non è ancora stato letto
+    private static final int INDEX_MASK = 3;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+    private int back = 0;                           // Solo scrittore
+    private int front = 1;                          // Solo lettore
+    private boolean hasFront;                       // Solo lettore: ha già ricevuto una pubblicazione
+
+    public SnapshotExchange(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Buffer dello scrittore, da riempire prima di publish
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Pubblica il buffer dello scrittore; lo scrittore riceve quello di mezzo (già letto o scartato)
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * true se l'ultima pubblicazione non è ancora stata presa dal lettore
+     * (lo scrittore può saltare il riempimento finché il lettore non la consuma)
+     */
+    public boolean hasPending() {
+        return (middle.get() & FRESH) != 0;
+    }
+
+    /**
+     * Ultimo buffer pubblicato (null prima della prima pubblicazione). Resta valido
+     * e invariato fino alla chiamata successiva
+     */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+            hasFront = true;
+        }
+        return hasFront ? (T) buffers[front] : null;
+    }
+
+    /**
+     * Buffer in mano al lettore senza prenderne uno nuovo (null prima della prima pubblicazione)
+     */
+    @SuppressWarnings("unchecked")
+    public T current() {
+        return hasFront ? (T) buffers[front] : null;
+    }
+}
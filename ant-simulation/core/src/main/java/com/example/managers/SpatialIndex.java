@@ -0,0 +1,31 @@
+package com.example.managers;
+
+import java.util.function.Predicate;
+
+/**
+ * Query in un raggio senza collezioni intermedie, comuni alle griglie spaziali.
+ * Le distanze sono misurate dal centro degli oggetti e vengono considerati solo
+ * gli oggetti abilitati entro il raggio (distanza al quadrato <= raggio^2)
+ */
+public interface SpatialIndex<T> {
+
+    /**
+     * Visita gli oggetti entro radius da (x, y) finché il visitor ritorna true
+     */
+    void forEachWithin(double x, double y, double radius, SpatialVisitor<? super T> visitor);
+
+    /**
+     * true se almeno un oggetto entro radius soddisfa filter (null = qualsiasi oggetto)
+     */
+    boolean anyWithin(double x, double y, double radius, Predicate<? super T> filter);
+
+    /**
+     * I result.capacity() oggetti più vicini entro radius, in ordine di distanza;
+     * con capacità 1 è la query "più vicino". Ritorna quanti ne ha trovati
+     */
+    default int findNearest(double x, double y, double radius, NeighborBuffer<T> result) {
+        result.clear();
+        forEachWithin(x, y, radius, result);
+        return result.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.managers;
+
+/**
+ * Callback delle query in un raggio: riceve l'oggetto, il suo indice nella griglia
+ * (ordine di inserimento per UniformGrid, -1 dove non ha senso) e la distanza al quadrato.
+ * Ritorna false per interrompere la query
+ */
+@FunctionalInterface
+public interface SpatialVisitor<T> {
+    boolean visit(T object, int index, double distanceSquared);
+}
@@ -0,0 +1,341 @@
+package com.example.managers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.graphics.Coord;
+import com.example.model.GameObject;
+
+/**
+ * Griglia uniforme densa ricostruita da zero ad ogni frame con un counting sort.
+ * Gli indici degli oggetti vengono ordinati per cella (row-major) in array preallocati: la cella c
+ * occupa l'intervallo [cellStart[c], cellStart[c] + cellCount[c]) degli array ordinati,
+ * e le celle consecutive di una riga sono contigue, quindi una query in un raggio legge
+ * un solo intervallo per riga. La ricostruzione è O(oggetti + celle) e non alloca nulla
+ * a regime (gli array crescono solo se aumentano oggetti o area occupata).
+ */
+public class UniformGrid<T extends GameObject> implements SpatialIndex<T> {
+    public final double CELL_SIZE; // Dimensione celle in pixel
+
+    // Estensione della griglia, ricavata dagli oggetti ad ogni ricostruzione
+    private double originX;
+    private double originY;
+    private int columns;
+    private int rows;
+
+    private int[] cellStart = new int[0];
+    private int[] cellCount = new int[0];
+    private int[] cellCursor = new int[0];          // Posizione di scrittura per cella durante lo scatter
+
+    // Oggetti abilitati in ordine di inserimento e relativa cella
+    private Object[] objects = new Object[0];
+    private double[] centerX = new double[0];
+    private double[] centerY = new double[0];
+    private int[] objectCell = new int[0];
+    private int size;
+
+    // Indici (nell'ordine di inserimento) e coordinate ordinati per cella
+    private int[] sortedIndex = new int[0];
+    private double[] sortedX = new double[0];
+    private double[] sortedY = new double[0];
+
+    public UniformGrid() {
+        this(10); // Valore di default
+    }
+
+    public UniformGrid(double cellSize) {
+        this.CELL_SIZE = cellSize;
+    }
+
+    /**
+     * Ricostruisce la griglia con gli oggetti abilitati della lista
+     */
+    public void rebuild(List<? extends T> source) {
+        int count = source.size();
+        ensureObjectCapacity(count);
+
+        // Centri degli oggetti abilitati (accesso per indice: niente iteratori)
+        size = 0;
+        for (int i = 0; i < count; i++) {
+            T object = source.get(i);
+            if (!object.isEnabled()) continue;
+
+            objects[size] = object;
+            centerX[size] = object.getCenterX();
+            centerY[size] = object.getCenterY();
+            size++;
+        }
+
+        // Svuota i riferimenti rimasti da frame precedenti più affollati
+        Arrays.fill(objects, size, objects.length, null);
+
+        sortByCell(centerX, centerY, size);
+    }
+
+    /**
+     * Ricostruisce la griglia da coordinate già in array (per esempio le posizioni di uno
+     * sciame struttura-di-array): vengono ordinati solo gli indici 0..count-1, senza oggetti.
+     * Le query che restituiscono oggetti non sono disponibili in questa modalità
+     */
+    public void rebuild(double[] x, double[] y, int count) {
+        ensureObjectCapacity(count);
+        Arrays.fill(objects, null);
+        size = count;
+        sortByCell(x, y, count);
+    }
+
+    /**
+     * Counting sort per cella: conteggio, somme prefisse, scatter stabile
+     */
+    private void sortByCell(double[] x, double[] y, int count) {
+        if (count == 0) {
+            columns = 0;
+            rows = 0;
+            return;
+        }
+
+        // 1. Estensione
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            // Confronti semplici: Math.min/max su double gestiscono NaN e -0.0 e costano di più
+            double px = x[i];
+            double py = y[i];
+            if (px < minX) minX = px;
+            if (px > maxX) maxX = px;
+            if (py < minY) minY = py;
+            if (py > maxY) maxY = py;
+        }
+
+        originX = Math.floor(minX / CELL_SIZE) * CELL_SIZE;
+        originY = Math.floor(minY / CELL_SIZE) * CELL_SIZE;
+        columns = (int) ((maxX - originX) / CELL_SIZE) + 1;
+        rows = (int) ((maxY - originY) / CELL_SIZE) + 1;
+
+        int cells = columns * rows;
+        ensureCellCapacity(cells);
+        Arrays.fill(cellCount, 0, cells, 0);
+
+        // 2. Conteggio per cella (coordinate relative all'origine non negative: il cast basta come floor)
+        double inverseCellSize = 1.0 / CELL_SIZE;
+        for (int i = 0; i < count; i++) {
+            int column = Math.min(columns - 1, (int) ((x[i] - originX) * inverseCellSize));
+            int row = Math.min(rows - 1, (int) ((y[i] - originY) * inverseCellSize));
+            int cell = row * columns + column;
+            objectCell[i] = cell;
+            cellCount[cell]++;
+        }
+
+        // 3. Somme prefisse: inizio di ogni cella negli array ordinati
+        int start = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell] = start;
+            cellCursor[cell] = start;
+            start += cellCount[cell];
+        }
+
+        // 4. Scatter stabile degli indici e delle coordinate
+        for (int i = 0; i < count; i++) {
+            int target = cellCursor[objectCell[i]]++;
+            sortedIndex[target] = i;
+            sortedX[target] = x[i];
+            sortedY[target] = y[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        columns = 0;
+        rows = 0;
+    }
+
+    /**
+     * Riempie result (svuotata prima) con gli oggetti delle celle entro radius dalla posizione
+     */
+    public void getGameObjectsNear(Coord position, double radius, List<T> result) {
+        result.clear();
+        if (size == 0) return;
+
+        int fromColumn = Math.max(0, toColumn(position.x - radius));
+        int toColumn = Math.min(columns - 1, toColumn(position.x + radius));
+        int fromRow = Math.max(0, toRow(position.y - radius));
+        int toRow = Math.min(rows - 1, toRow(position.y + radius));
+        if (fromColumn > toColumn || fromRow > toRow) return;
+
+        for (int row = fromRow; row <= toRow; row++) {
+            int from = cellStart[cellIndex(fromColumn, row)];
+            int to = rangeEnd(toColumn, row);
+            for (int i = from; i < to; i++) {
+                result.add(getSorted(i));
+            }
+        }
+    }
+
+    public Coord getNearestGameObjectDirection(Coord pos, double maxDistance) {
+        int nearest = getNearestSlot(pos.x, pos.y, maxDistance);
+        if (nearest < 0) return null;
+
+        Coord direction = new Coord(sortedX[nearest] - pos.x, sortedY[nearest] - pos.y);
+        direction.normalize();
+        return direction;
+    }
+
+    /**
+     * Indice (nell'ordine di inserimento) dell'elemento più vicino entro maxDistance, -1 se nessuno
+     */
+    public int getNearestIndex(double x, double y, double maxDistance) {
+        int nearest = getNearestSlot(x, y, maxDistance);
+        return nearest < 0 ? -1 : sortedIndex[nearest];
+    }
+
+    /**
+     * Posizione negli array ordinati dell'elemento abilitato più vicino, -1 se nessuno
+     */
+    private int getNearestSlot(double x, double y, double maxDistance) {
+        if (size == 0) return -1;
+
+        double minDistance = maxDistance * maxDistance; // Confronto con distanza al quadrato
+        int nearest = -1;
+
+        int fromColumn = Math.max(0, toColumn(x - maxDistance));
+        int toColumn = Math.min(columns - 1, toColumn(x + maxDistance));
+        int fromRow = Math.max(0, toRow(y - maxDistance));
+        int toRow = Math.min(rows - 1, toRow(y + maxDistance));
+        if (fromColumn > toColumn || fromRow > toRow) return -1;
+
+        for (int row = fromRow; row <= toRow; row++) {
+            int from = cellStart[cellIndex(fromColumn, row)];
+            int to = rangeEnd(toColumn, row);
+            for (int i = from; i < to; i++) {
+                double dx = sortedX[i] - x;
+                double dy = sortedY[i] - y;
+                double distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared < minDistance && isSlotEnabled(i)) {
+                    minDistance = distanceSquared;
+                    nearest = i;
+                }
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * In modalità solo indici il visitor riceve null come oggetto e l'indice dell'elemento
+     */
+    @Override
+    public void forEachWithin(double x, double y, double radius, SpatialVisitor<? super T> visitor) {
+        if (size == 0) return;
+
+        double radiusSquared = radius * radius;
+        int fromColumn = Math.max(0, toColumn(x - radius));
+        int toColumn = Math.min(columns - 1, toColumn(x + radius));
+        int fromRow = Math.max(0, toRow(y - radius));
+        int toRow = Math.min(rows - 1, toRow(y + radius));
+        if (fromColumn > toColumn || fromRow > toRow) return;
+
+        for (int row = fromRow; row <= toRow; row++) {
+            int from = cellStart[cellIndex(fromColumn, row)];
+            int to = rangeEnd(toColumn, row);
+            for (int i = from; i < to; i++) {
+                double dx = sortedX[i] - x;
+                double dy = sortedY[i] - y;
+                double distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared <= radiusSquared && isSlotEnabled(i)
+                        && !visitor.visit(getSorted(i), sortedIndex[i], distanceSquared)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean anyWithin(double x, double y, double radius, Predicate<? super T> filter) {
+        if (size == 0) return false;
+
+        double radiusSquared = radius * radius;
+        int fromColumn = Math.max(0, toColumn(x - radius));
+        int toColumn = Math.min(columns - 1, toColumn(x + radius));
+        int fromRow = Math.max(0, toRow(y - radius));
+        int toRow = Math.min(rows - 1, toRow(y + radius));
+        if (fromColumn > toColumn || fromRow > toRow) return false;
+
+        for (int row = fromRow; row <= toRow; row++) {
+            int from = cellStart[cellIndex(fromColumn, row)];
+            int to = rangeEnd(toColumn, row);
+            for (int i = from; i < to; i++) {
+                double dx = sortedX[i] - x;
+                double dy = sortedY[i] - y;
+                if (dx * dx + dy * dy <= radiusSquared && isSlotEnabled(i)
+                        && (filter == null || filter.test(getSorted(i)))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // In modalità solo indici non ci sono oggetti da controllare
+    private boolean isSlotEnabled(int slot) {
+        T object = getSorted(slot);
+        return object == null || object.isEnabled();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return columns * rows;
+    }
+
+    /**
+     * Fine (esclusa) dell'intervallo contiguo che termina con la cella (column, row)
+     */
+    private int rangeEnd(int column, int row) {
+        int cell = cellIndex(column, row);
+        return cellStart[cell] + cellCount[cell];
+    }
+
+    private int cellIndex(int column, int row) {
+        return row * columns + column;
+    }
+
+    // Colonna/riga della coordinata; può cadere fuori griglia, le query la limitano
+    private int toColumn(double x) {
+        return (int) Math.floor((x - originX) / CELL_SIZE);
+    }
+
+    private int toRow(double y) {
+        return (int) Math.floor((y - originY) / CELL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getSorted(int index) {
+        return (T) objects[sortedIndex[index]];
+    }
+
+    private void ensureObjectCapacity(int capacity) {
+        if (objects.length >= capacity) return;
+
+        int newCapacity = Math.max(capacity, objects.length * 2);
+        objects = new Object[newCapacity];
+        centerX = new double[newCapacity];
+        centerY = new double[newCapacity];
+        objectCell = new int[newCapacity];
+        sortedIndex = new int[newCapacity];
+        sortedX = new double[newCapacity];
+        sortedY = new double[newCapacity];
+    }
+
+    private void ensureCellCapacity(int cells) {
+        if (cellStart.length >= cells) return;
+
+        int newCapacity = Math.max(cells, cellStart.length * 2);
+        cellStart = new int[newCapacity];
+        cellCount = new int[newCapacity];
+        cellCursor = new int[newCapacity];
+    }
+}
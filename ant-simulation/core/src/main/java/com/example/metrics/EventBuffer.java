@@ -0,0 +1,145 @@
+package com.example.metrics;
+
+import java.util.Arrays;
+
+import com.example.graphics.Coord;
+
+/**
+ * Eventi in forma colonnare: timestamp, posizione e campi numerici stanno in array paralleli
+ * (riusati, come PheromoneDepositBuffer), i testi sono solo riferimenti. I campionamenti per
+ * formica (ANT_POSITION, ANT_DECISION) salvano i valori grezzi e diventano stringhe solo in
+ * toLogEntry, quindi registrarli non alloca; gli eventi generici tengono i propri oggetti.
+ *
+ * Alloca solo quando deve crescere (raddoppiando); ensureCapacity permette di prenotare lo spazio
+ */
+public class EventBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final byte GENERIC = 0;
+    private static final byte ANT_POSITION = 1;
+    private static final byte ANT_DECISION = 2;
+
+    private long[] timestamp = new long[INITIAL_CAPACITY];
+    private byte[] kind = new byte[INITIAL_CAPACITY];
+    private String[] label = new String[INITIAL_CAPACITY];         // Tipo dell'evento generico, decisione per ANT_DECISION
+    private String[] description = new String[INITIAL_CAPACITY];
+    private Object[] data = new Object[INITIAL_CAPACITY];          // Dato dell'evento generico, comportamento per ANT_DECISION
+    private double[] x = new double[INITIAL_CAPACITY];             // NaN = nessuna posizione
+    private double[] y = new double[INITIAL_CAPACITY];
+    private int[] serialNumber = new int[INITIAL_CAPACITY];
+    private double[] value = new double[INITIAL_CAPACITY];         // Intensità dei feromoni per ANT_DECISION
+    private boolean[] flag = new boolean[INITIAL_CAPACITY];        // Carica di cibo / uso dei feromoni
+    private int size;
+
+    public void add(long time, String eventType, String eventDescription, Coord position, Object eventData) {
+        int i = next(time, GENERIC);
+        label[i] = eventType;
+        description[i] = eventDescription;
+        data[i] = eventData;
+        x[i] = position != null ? position.x : Double.NaN;
+        y[i] = position != null ? position.y : Double.NaN;
+    }
+
+    /**
+     * Posizione (angolo in alto a sinistra) e stato di una formica
+     */
+    public void addAntPosition(long time, int ant, double posX, double posY, boolean returning) {
+        int i = next(time, ANT_POSITION);
+        serialNumber[i] = ant;
+        x[i] = posX;
+        y[i] = posY;
+        flag[i] = returning;
+    }
+
+    /**
+     * Decisione di una formica: decisionType e behaviour devono essere costanti (non vengono copiati)
+     */
+    public void addAntDecision(long time, int ant, String decisionType, double centerX, double centerY,
+                               double pheromoneIntensity, boolean usingPheromones, Enum<?> behaviour) {
+        int i = next(time, ANT_DECISION);
+        serialNumber[i] = ant;
+        label[i] = decisionType;
+        data[i] = behaviour;
+        x[i] = centerX;
+        y[i] = centerY;
+        value[i] = pheromoneIntensity;
+        flag[i] = usingPheromones;
+    }
+
+    /**
+     * Accoda tutti gli eventi di other, nel loro ordine
+     */
+    public void addAll(EventBuffer other) {
+        ensureCapacity(size + other.size);
+
+        System.arraycopy(other.timestamp, 0, timestamp, size, other.size);
+        System.arraycopy(other.kind, 0, kind, size, other.size);
+        System.arraycopy(other.label, 0, label, size, other.size);
+        System.arraycopy(other.description, 0, description, size, other.size);
+        System.arraycopy(other.data, 0, data, size, other.size);
+        System.arraycopy(other.x, 0, x, size, other.size);
+        System.arraycopy(other.y, 0, y, size, other.size);
+        System.arraycopy(other.serialNumber, 0, serialNumber, size, other.size);
+        System.arraycopy(other.value, 0, value, size, other.size);
+        System.arraycopy(other.flag, 0, flag, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Svuota il buffer rilasciando i riferimenti (la capacità resta)
+     */
+    public void clear() {
+        Arrays.fill(label, 0, size, null);
+        Arrays.fill(description, 0, size, null);
+        Arrays.fill(data, 0, size, null);
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * L'evento i come LogEntry, con le stringhe dei campionamenti costruite adesso
+     */
+    public MetricsCollector.LogEntry toLogEntry(int i) {
+        Coord position = Double.isNaN(x[i]) ? null : new Coord(x[i], y[i]);
+
+        switch (kind[i]) {
+            case ANT_POSITION:
+                return new MetricsCollector.LogEntry(timestamp[i], "ANT_POSITION",
+                    "Ant " + serialNumber[i], position, flag[i] ? "RETURNING" : "SEARCHING");
+            case ANT_DECISION:
+                return new MetricsCollector.LogEntry(timestamp[i], "ANT_DECISION",
+                    String.format("Ant %d - %s", serialNumber[i], label[i]), position,
+                    String.format("pheromone_intensity=%.4f,using_pheromones=%s,behavior=%s",
+                        value[i], flag[i], data[i]));
+            default:
+                return new MetricsCollector.LogEntry(timestamp[i], label[i], description[i], position, data[i]);
+        }
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= timestamp.length) return;
+
+        int newCapacity = Math.max(capacity, timestamp.length * 2);
+        timestamp = Arrays.copyOf(timestamp, newCapacity);
+        kind = Arrays.copyOf(kind, newCapacity);
+        label = Arrays.copyOf(label, newCapacity);
+        description = Arrays.copyOf(description, newCapacity);
+        data = Arrays.copyOf(data, newCapacity);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        serialNumber = Arrays.copyOf(serialNumber, newCapacity);
+        value = Arrays.copyOf(value, newCapacity);
+        flag = Arrays.copyOf(flag, newCapacity);
+    }
+
+    private int next(long time, byte eventKind) {
+        if (size == timestamp.length) ensureCapacity(size + 1);
+
+        int i = size++;
+        timestamp[i] = time;
+        kind[i] = eventKind;
+        return i;
+    }
+}
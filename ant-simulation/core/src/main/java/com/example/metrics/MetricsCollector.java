@@ -0,0 +1,175 @@
+package com.example.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.graphics.Coord;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Registro degli eventi della simulazione. I metodi che toccano il registro sono synchronized;
+ * con l'aggiornamento parallelo ogni worker registra invece nel buffer del proprio blocco
+ * (beginBuffering/endBuffering) e ParallelAntUpdater unisce i buffer con append nell'ordine
+ * delle formiche, quindi l'ordine delle entry non dipende dal numero di core.
+ *
+ * Gli eventi stanno in un EventBuffer: i campionamenti per formica (logAntPosition,
+ * logAntDecision) vengono salvati come valori grezzi e trasformati in stringhe solo
+ * all'esportazione o in getEntries, quindi a regime non allocano
+ */
+public class MetricsCollector {
+    
+    private static final MetricsCollector instance = new MetricsCollector();
+    private final EventBuffer events = new EventBuffer();
+    private final ThreadLocal<EventBuffer> threadBuffer = new ThreadLocal<>();     // Buffer del blocco in corso sul thread, null = registro
+    private volatile long simulationStartTime;
+    private String currentExperimentName;
+    private boolean antTracingEnabled = true;       // Campionamenti periodici per formica (ANT_POSITION, ANT_DECISION)
+    public static final String LOGS_PATH = "logs" + File.separator; // Directory per i file di log
+    
+    private MetricsCollector() {
+        simulationStartTime = SimulationClock.getInstance().nanoTime();
+    }
+    
+    public static MetricsCollector getInstance() {
+        return instance;
+    }
+    
+    public synchronized void startExperiment(String experimentName) {
+        this.currentExperimentName = experimentName;
+        events.clear();
+        simulationStartTime = SimulationClock.getInstance().nanoTime();
+        logEvent("EXPERIMENT_START", experimentName, null, null);
+    }
+    
+    public void logEvent(String eventType, String description, Coord position, Object data) {
+        EventBuffer buffer = threadBuffer.get();
+        if (buffer != null) {
+            buffer.add(timestamp(), eventType, description, position, data);
+            return;
+        }
+        synchronized (this) {
+            events.add(timestamp(), eventType, description, position, data);
+        }
+    }
+
+    /**
+     * Campionamento ANT_POSITION (posizione = angolo in alto a sinistra della formica)
+     */
+    public void logAntPosition(int serialNumber, double x, double y, boolean returning) {
+        EventBuffer buffer = threadBuffer.get();
+        if (buffer != null) {
+            buffer.addAntPosition(timestamp(), serialNumber, x, y, returning);
+            return;
+        }
+        synchronized (this) {
+            events.addAntPosition(timestamp(), serialNumber, x, y, returning);
+        }
+    }
+
+    /**
+     * Campionamento ANT_DECISION (posizione = centro della formica); decisionType deve essere una costante
+     */
+    public void logAntDecision(int serialNumber, String decisionType, double x, double y,
+                               double pheromoneIntensity, boolean usingPheromones, Enum<?> behaviour) {
+        EventBuffer buffer = threadBuffer.get();
+        if (buffer != null) {
+            buffer.addAntDecision(timestamp(), serialNumber, decisionType, x, y, pheromoneIntensity, usingPheromones, behaviour);
+            return;
+        }
+        synchronized (this) {
+            events.addAntDecision(timestamp(), serialNumber, decisionType, x, y, pheromoneIntensity, usingPheromones, behaviour);
+        }
+    }
+
+    /**
+     * Da qui a endBuffering gli eventi registrati dal thread corrente vanno in buffer, senza
+     * lock; il chiamante li porta nel registro con append
+     */
+    public void beginBuffering(EventBuffer buffer) {
+        threadBuffer.set(buffer);
+    }
+
+    public void endBuffering() {
+        threadBuffer.set(null);         // set invece di remove: la voce del thread resta e non viene riallocata
+    }
+
+    /**
+     * Aggiunge al registro gli eventi di buffer, nel loro ordine, e lo svuota
+     */
+    public synchronized void append(EventBuffer buffer) {
+        events.addAll(buffer);
+        buffer.clear();
+    }
+
+    private long timestamp() {
+        return SimulationClock.getInstance().nanoTime() - simulationStartTime;
+    }
+    
+    public boolean isAntTracingEnabled() { return antTracingEnabled; }
+
+    /**
+     * Disattiva i campionamenti periodici per formica (ANT_POSITION, ANT_DECISION), che sono
+     * la gran parte degli eventi di una simulazione lunga
+     */
+    public void setAntTracingEnabled(boolean antTracingEnabled) {
+        this.antTracingEnabled = antTracingEnabled;
+    }
+
+    /**
+     * Prenota lo spazio per altri count eventi: il registro cresce raddoppiando, e solo
+     * la crescita alloca
+     */
+    public synchronized void reserve(int count) {
+        events.ensureCapacity(events.size() + count);
+    }
+    
+    public synchronized void exportToCSV(String filename) throws IOException {
+        try (FileWriter writer = new FileWriter(LOGS_PATH + filename)) {
+            writer.write("timestamp_ns,event_type,description,x,y,data\n");
+            for (int i = 0; i < events.size(); i++) {
+                writer.write(events.toLogEntry(i).toCSV() + "\n");
+            }
+        }
+    }
+
+    public synchronized int getEventCount() { return events.size(); }
+    
+    public synchronized List<LogEntry> getEntries() {
+        List<LogEntry> entries = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            entries.add(events.toLogEntry(i));
+        }
+        return entries;
+    }
+    
+    public static class LogEntry {
+        public final long timestamp;
+        public final String eventType;
+        public final String description;
+        public final Coord position;
+        public final Object data;
+        
+        public LogEntry(long timestamp, String eventType, String description, Coord position, Object data) {
+            this.timestamp = timestamp;
+            this.eventType = eventType;
+            this.description = description;
+            this.position = position;
+            this.data = data;
+        }
+        
+        public String toCSV() {
+
+            String dataString = (data != null) ? data.toString().replace(",", ";") : "";
+
+
+            return String.format("%d,%s,%s,%s,%s,%s", 
+                timestamp, eventType, description,
+                position != null ? position.x : "",
+                position != null ? position.y : "",
+                dataString);
+        }
+    }
+}
\ No newline at end of file
@@ -2,39 +2,38 @@ package com.example.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import com.example.config.ParameterAdapter;
 import com.example.config.SimulationParameters;
 import com.example.graphics.Coord;
-import com.example.graphics.GameCanvas;
 import com.example.managers.DensityFieldManager;
 import com.example.managers.MultiHashGrid;
+import com.example.managers.NeighborBuffer;
 import com.example.managers.ObstacleManager;
 import com.example.metrics.MetricsCollector;
-
-import javafx.scene.paint.Color;
+import com.example.simulation.CounterRandom;
+import com.example.simulation.RandomService;
+import com.example.simulation.SimulationClock;
 
 public class Ant extends GameObject {
 
     public enum ANT_BEHAVIOUR {
         RANDOM,
         FOOD_PHEROMONE,
-        ALL_PHEROMONES              // FOOD + HOME PHEROMONES
+        ALL_PHEROMONES,             // FOOD + HOME PHEROMONES
+        GRADIENT                    // FOOD + HOME PHEROMONES letti dal campo gradiente precalcolato
     }
 
     // Costanti
     public static final int ANT_SIZE = 20;
 
     public static final double TURN_AROUND_ANGLE_OFFSET = Math.PI / 4;  // Offset di 45 gradi nel turn around della formica
-    public static final Color ANT_FEEL_COLOR = Color.rgb(255, 255, 0, 0.2); // Colore per il raggio di percezione
-    public static final Color ANT_SENSOR_COLOR = Color.rgb(255, 0, 255, 0.2); // Colore per il raggio di sensori
-    public static final Color ANT_COLOR = Color.RED;
     public static final int WINDOW_BOUND_MARGIN = -ANT_SIZE / 2;              // Margine per il rimbalzo sui bordi della finestra
     public static final int MAX_FOOD_SEARCH_TIME = 10000;                   // tempo massimo di ricerca del cibo in millisecondi
 
-    private static final Random RANDOM = new Random();
+    private static final GameObject NO_FOOD = new VoidObj();             // Carico vuoto condiviso (VoidObj non ha stato)
     private static final double SMOOTH_MOVEMENT_FACTOR = 0.2;
+    private static final double MIN_GRADIENT_MAGNITUDE = 1e-4;         // Sotto questa pendenza (per cella) il gradiente è rumore
 
     // Stato della formica
     protected Coord direction;
@@ -48,9 +47,22 @@ public class Ant extends GameObject {
     protected ANT_BEHAVIOUR behaviour;
     protected DensityFieldManager densityFieldManager;          // Gestore del campo di densità per i feromoni
     protected MultiHashGrid multiHashGrid;                      // Gestiore dei gameObject
+    private final NeighborBuffer<Food> nearestFood = new NeighborBuffer<>(1);   // Buffer riusato dalla ricerca del cibo
+    private final Coord foodDirection = new Coord(0, 0);
+    private int listIndex = -1;                                 // Posizione nella lista delle formiche della simulazione
+
+    // Estrazioni casuali senza stato (vedi CounterRandom), indicizzate da (seme, numero di serie, tick, estrazione)
+    private final long randomSeed;
+    private long randomTick;                                    // Update eseguiti dalla formica
+    private int randomDraw;                                     // Estrazioni fatte nel tick corrente
+
+    // Vettori di lavoro riusati ad ogni tick: i metodi di sterzata scrivono qui invece di allocare
+    private final Coord steering = new Coord(0, 0);
+    private final Coord gradientScratch = new Coord(0, 0);
     
     // Tracking temporale per feromoni
-    private Coord lastPheromonePosition;
+    private final Coord lastPheromonePosition = new Coord(0, 0);
+    private boolean hasLastPheromone = false;
     private double lastPheromoneTime = -1;
 
     // Tracking temporale per scoperta cibo
@@ -72,8 +84,12 @@ public class Ant extends GameObject {
     // Memoria della formica
     private double pheromoneMovingAverage = 0;
 
-    // Sistema di Logging
-    private List<Coord> pathHistory = new ArrayList<>();
+    // Sistema di Logging (storico delle posizioni circolare, a dimensione fissa)
+    private static final int PATH_HISTORY_SIZE = 256;
+    private final double[] pathHistoryX = new double[PATH_HISTORY_SIZE];
+    private final double[] pathHistoryY = new double[PATH_HISTORY_SIZE];
+    private int pathHistoryNext = 0;
+    private int pathHistorySize = 0;
     private long lastPathLogTime = 0;
     private long lastDecisionLogTime = 0;
     private static final long LOG_INTERVAL = 500_000_000; // 0.5 secondi in nanosecondi
@@ -84,18 +100,26 @@ public class Ant extends GameObject {
 
 
     public Ant(double mapWidth, double mapHeight, Nest nest) {
-        super(GameObjType.ANT, GameObject.getNewSerialNumber(), ANT_SIZE, GameObject.generateRandomPosition(mapWidth, mapHeight, ANT_SIZE));
+        this(GameObject.getNewSerialNumber(), GameObject.generateRandomPosition(mapWidth, mapHeight, ANT_SIZE), mapWidth, mapHeight, nest);
+    }
+
+    /**
+     * Formica con numero di serie e posizione già assegnati (usato dalle viste di AntSwarm)
+     */
+    protected Ant(int serialNumber, Coord position, double mapWidth, double mapHeight, Nest nest) {
+        super(position, GameObjType.ANT, serialNumber, ANT_SIZE);
+        this.randomSeed = RandomService.getInstance().getSeed();
         this.direction = generateRandomVector();
-        this.foodLoad = new VoidObj();          // new Food(pos);
+        this.foodLoad = NO_FOOD;                // new Food(pos);
         this.mapWidth = mapWidth;
         this.mapHeight = mapHeight;
         this.nest = nest;
         this.angle = 0;
         this.enabled = true;
-        this.setSprite(GameCanvas.loadImageCached("antSprite.png"));
+        this.setSprite("antSprite.png");
         
         // INIZIALIZZA tracking temporale
-        this.lastPheromonePosition = null;
+        this.hasLastPheromone = false;
         
         // Inizializza i sensori
         this.leftSensor = new Sensor(SimulationParameters.getInstance().getAntSensorAngle());   // 30 gradi a sinistra
@@ -106,9 +130,9 @@ public class Ant extends GameObject {
     public Ant(Coord position, double mapWidth, double mapHeight, Nest nest) {
         this(mapWidth, mapHeight, nest);
         this.pos = position;
-        this.startTrackTime = System.nanoTime(); // Inizializza il tempo di tracking
+        this.startTrackTime = SimulationClock.getInstance().nanoTime(); // Inizializza il tempo di tracking
         this.lastMilestonePosition = position.copy(); // Inizializza la posizione dell'ultima milestone
-        this.lastMilestoneTime = System.nanoTime(); // Inizializza il tempo dell'ultima milestone
+        this.lastMilestoneTime = SimulationClock.getInstance().nanoTime(); // Inizializza il tempo dell'ultima milestone
         this.behaviour = this.nest.getBehaviour();                                      // Comportamento iniziale della formica
     }
 
@@ -116,6 +140,9 @@ public class Ant extends GameObject {
     public void update(double deltaTime) {
         if (!isEnabled()) return;
 
+        randomTick++;
+        randomDraw = 0;
+
         // Aggiorna direzione (movimento casuale)
         updateDirection(deltaTime);
         
@@ -142,6 +169,9 @@ public class Ant extends GameObject {
             case ALL_PHEROMONES:
                 allPheromonesBehaviour();
                 break;
+            case GRADIENT:
+                gradientBehaviour();
+                break;
         }
     }
     
@@ -160,6 +190,84 @@ public class Ant extends GameObject {
         followFoodPheromoneGradient();
     }
 
+    /**
+     * Come ALL_PHEROMONES, ma la direzione dei feromoni arriva da una sola lettura
+     * del campo gradiente invece che dai tre sensori
+     */
+    private void gradientBehaviour() {
+        if (this.densityFieldManager == null) {
+            allPheromonesBehaviour();
+            return;
+        }
+
+        if (this.hasFoodLoad()) {
+            dropFoodIfOnNest();
+            if (!this.hasFoodLoad()) return;
+
+            // Se il Nest è nel raggio di visione della formica, vai diretto al Nest
+            if (isNestInSight()) {
+                setDirection(calcDirectionToNest());
+                logBehavioralDecision("FOLLOW_NEST", 0, false);
+                return;
+            }
+
+            followPheromoneGradientField(Pheromone.PheromoneType.HOME_TRAIL, 0);
+            return;
+        }
+
+        // Se il cibo è nel raggio di visione della formica, vai diretto al cibo
+        Coord foodDirection = getNearestFoodDirection();
+        if (foodDirection != null) {
+            setDirection(foodDirection);
+            logBehavioralDecision("FOLLOW_FOOD", 0, false);
+            return;
+        }
+
+        followPheromoneGradientField(Pheromone.PheromoneType.FOOD_TRAIL, ParameterAdapter.getExplorationRate());
+    }
+
+    /**
+     * Direzione verso il cibo più vicino entro il raggio di percezione, null se non ce n'è.
+     * Non alloca: il risultato è scritto in un Coord riusato (setDirection ne fa una copia)
+     */
+    private Coord getNearestFoodDirection() {
+        if (this.multiHashGrid.findNearestFood(pos.x, pos.y, getAntFeelRadius(), nearestFood) == 0) return null;
+
+        Food food = nearestFood.get(0);
+        foodDirection.x = food.getCenterX() - pos.x;
+        foodDirection.y = food.getCenterY() - pos.y;
+        nearestFood.clear();
+
+        foodDirection.normalize();
+        return foodDirection;
+    }
+
+    private void followPheromoneGradientField(Pheromone.PheromoneType pheromoneType, double explorationRate) {
+        Coord gradient = this.densityFieldManager.getPheromoneGradient(getCenterX(), getCenterY(), pheromoneType, gradientScratch);
+        double magnitude = gradient.length();
+
+        // Gradiente troppo debole: movimento casuale
+        if (magnitude <= MIN_GRADIENT_MAGNITUDE) {
+            logBehavioralDecision("GRADIENT_RANDOM", 0, false);
+            applyDirectionChange(handleRandomSteering());
+            return;
+        }
+
+        logBehavioralDecision(pheromoneType == Pheromone.PheromoneType.FOOD_TRAIL ? "GRADIENT_FOOD" : "GRADIENT_NEST", magnitude, true);
+        gradient.normalize();
+
+        // Esplorazione: perturba la direzione con una componente casuale (come il termine explorationRate/3 dei sensori)
+        if (explorationRate > 0) {
+            Coord noise = handleRandomSteering();
+            noise.normalize();
+            noise.multiply(explorationRate / 3);
+            gradient.sum(noise);
+            gradient.normalize();
+        }
+
+        applyDirectionChange(gradient);
+    }
+
     private void foodPheromonesBehaviour() {
         // Gestisci prima il caso di ritorno con cibo
         if (handleFoodReturn()) return;
@@ -192,7 +300,7 @@ public class Ant extends GameObject {
 
         if (!this.hasFoodLoad()) {
             // Se non ha il cibo, ma sta vagando da troppo tempo, torna al nido
-            if (this.getStartTrackTime() - System.nanoTime() > Ant.MAX_FOOD_SEARCH_TIME) {
+            if (this.getStartTrackTime() - SimulationClock.getInstance().nanoTime() > Ant.MAX_FOOD_SEARCH_TIME) {
                 System.out.printf("Sono la formica: %d e sto tornando al nido perchè non trovo niente", this.serialNumber);
                 followNestPheromoneGradient();
             }
@@ -209,12 +317,20 @@ public class Ant extends GameObject {
         return true;
     }
 
-    private void followNestPheromoneGradient() {
-        
+    /**
+     * Il nido è entro antSightRadius + dimensione del nido dal centro della formica
+     */
+    private boolean isNestInSight() {
         double threshold = getAntSightRadius() + this.nest.getSize();
+        double offsetX = this.nest.getPosX() - getCenterX();
+        double offsetY = this.nest.getPosY() - getCenterY();
+        return offsetX * offsetX + offsetY * offsetY <= threshold * threshold;
+    }
 
+    private void followNestPheromoneGradient() {
+        
         // Se il Nest è nel raggio di visione della formica, vai diretto al Nest
-        if (nest.getPos().distanceSquared(this.getCenter()) <= threshold * threshold) {
+        if (isNestInSight()) {
             setDirection(calcDirectionToNest());
             logBehavioralDecision("FOLLOW_NEST", 0, false);
             return;
@@ -225,19 +341,6 @@ public class Ant extends GameObject {
         // Vecchio codice con il gradiente
         //Coord pheromoneDirection = this.densityFieldManager.getPheromoneGradient(this.getCenter(), Pheromone.PheromoneType.HOME_TRAIL);
         
-        /*
-        double localIntensity = this.densityFieldManager.getTotalIntensity(
-            this.getCenter(), Pheromone.PheromoneType.HOME_TRAIL);
-        
-        // Debug periodico per alcune formiche
-        if (this.serialNumber == 100) {
-            System.out.printf("Ant %d: Gradient=%.3f, LocalIntensity=%.3f, UsingPheromones=%s\n", 
-                serialNumber, pheromoneDirection.length(), localIntensity, 
-                (pheromoneDirection.length() > 0.001) ? "YES" : "NO");
-        }
-                
-        */
-        
         // Se i feromoni sono troppo deboli, usa movimento casuale
         if (pheromoneDirection.length() <= ParameterAdapter.getPheromoneMinIntensity()) {
             pheromoneDirection = handleRandomSteering();
@@ -246,9 +349,6 @@ public class Ant extends GameObject {
             logBehavioralDecision("FOLLOW_NEST_PHEROMONE", pheromoneDirection.length(), true);
             pheromoneDirection.normalize();
         }
-        
-        
-
 
         applyDirectionChange(pheromoneDirection);
     }
@@ -259,12 +359,16 @@ public class Ant extends GameObject {
         applyDirectionChange(randomDirection);
     }
 
+    /**
+     * La direzione diventa quella proposta (copiata nel Coord della formica, che non viene sostituito)
+     */
     private void setDirection(Coord newDirection) {
         if (newDirection == null || newDirection.length() <= 0) return;
 
         newDirection.multiply(SMOOTH_MOVEMENT_FACTOR);
 
-        this.direction = newDirection.copy();
+        this.direction.x = newDirection.x;
+        this.direction.y = newDirection.y;
 
         this.direction.normalize();
 
@@ -284,7 +388,7 @@ public class Ant extends GameObject {
     private void followFoodPheromoneGradient() {
 
         // Se il cibo è nel raggio di visione della formica, vai diretto al cibo
-        Coord foodDirection = this.multiHashGrid.getNearestFoodDirection(pos, getAntFeelRadius());
+        Coord foodDirection = getNearestFoodDirection();
         if (foodDirection != null) {
             setDirection(foodDirection);
             logBehavioralDecision("FOLLOW_FOOD", 0, false);
@@ -305,13 +409,16 @@ public class Ant extends GameObject {
         applyDirectionChange(pheromoneDirection);
     }
 
+    /**
+     * Vettore casuale con componente positiva lungo la direzione corrente (scritto in steering)
+     */
     private Coord handleRandomSteering() {
-        Coord randomDirection;
         do {
-            randomDirection = generateRandomVector();
-        } while (randomDirection.dot(this.direction) <= 0);
+            steering.x = (nextRandom() * 2.0) - 1.0;
+            steering.y = (nextRandom() * 2.0) - 1.0;
+        } while (steering.dot(this.direction) <= 0);
         
-        return randomDirection;
+        return steering;
     }
 
     private boolean handleFoodReturn() {
@@ -329,22 +436,19 @@ public class Ant extends GameObject {
 
     private void dropFoodIfOnNest() {
 
-        Coord nestCenter = this.nest.getPos();
-        Coord antCenter = this.getCenter();
-
         double threshold = this.nest.getSize() / 2.0;
-        
-        double distanceToNest = antCenter.distance(nestCenter);
+        double offsetX = getCenterX() - this.nest.getPosX();
+        double offsetY = getCenterY() - this.nest.getPosY();
 
         // Controlla se è abbastanza vicina al nido per consegnare il cibo
-        if (distanceToNest < threshold) {
+        if (offsetX * offsetX + offsetY * offsetY < threshold * threshold) {
 
             // Consegna il cibo al nido
             this.dropFood();            // il cibo viene buttato
             nest.incrementFoodCount();
             
             // Aggiorna il tempo di viaggio
-            this.lastNestDiscoveryTime = System.nanoTime() - this.startTrackTime;                       // tempo impiegato dal cibo al nido
+            this.lastNestDiscoveryTime = SimulationClock.getInstance().nanoTime() - this.startTrackTime;                       // tempo impiegato dal cibo al nido
             
             this.lastTripTime = this.lastNestDiscoveryTime;                                             // tempo totale di viaggio (prima metà)
             if (this.lastFoodDiscoveryTime > 0) this.lastTripTime += this.lastFoodDiscoveryTime;        // tempo totale di viaggio (seconda metà)
@@ -352,124 +456,105 @@ public class Ant extends GameObject {
             this.meanTripTime = (this.meanTripTime * this.tripNumber + this.lastTripTime) / (this.tripNumber + 1); // aggiorna il tempo medio di viaggio
             this.tripNumber++;
             
-            this.startTrackTime = System.nanoTime();                                                    // Reset per il prossimo viaggio
+            this.startTrackTime = SimulationClock.getInstance().nanoTime();                                                    // Reset per il prossimo viaggio
 
             this.updateMilestoneTracking(); // Aggiorna le coordinate dell'ultima milestone
 
             MetricsCollector.getInstance().logEvent(
                 "FOOD_DROP", 
                 "Ant " + this.getSerialNumber() + " dropped food", 
-                nestCenter,
+                this.nest.getPos(),
                 null
             );
 
             this.turnAround();
 
-            this.lastPheromonePosition = null; // Reset per nuovo percorso
+            this.hasLastPheromone = false; // Reset per nuovo percorso
             
         }
     }
 
+    /**
+     * Direzione verso il nido (normalizzata), scritta in steering
+     */
     protected Coord calcDirectionToNest() {
 
-        Coord directionToNest = this.nest.getCenter().copy();
-        directionToNest.subtract(this.getCenter());
-        directionToNest.subtract(new Coord(this.nest.getSize() / 2.0, this.getSize() / 2.0));
+        double nestSize = this.nest.getSize();
 
-        directionToNest.normalize();
+        steering.x = this.nest.getCenterX() - getCenterX() - nestSize / 2.0;
+        steering.y = this.nest.getCenterY() - getCenterY() - this.getSize() / 2.0;
+
+        steering.normalize();
         
-        return directionToNest;
+        return steering;
     }
 
     protected Coord generateRandomVector() {
         return new Coord(
-                    (RANDOM.nextDouble() * 2.0) - 1.0,
-                    (RANDOM.nextDouble() * 2.0) - 1.0
+                    (nextRandom() * 2.0) - 1.0,
+                    (nextRandom() * 2.0) - 1.0
                 );
     }
 
     private void move(double deltaTime) {
         if (direction == null) return;
 
-        Coord movement = new Coord(
-            direction.x * deltaTime * getAntSpeed(),
-            direction.y * deltaTime * getAntSpeed()
-        );
-        
-        Coord futureCenter = this.getCenter().copy();
-        futureCenter.sum(movement);
+        double step = deltaTime * getAntSpeed();
+        double centerX = getCenterX();
+        double centerY = getCenterY();
+        double futureX = centerX + direction.x * step;
+        double futureY = centerY + direction.y * step;
         
         // Controlla se la posizione futura causerebbe collisioni
-        if (wouldCollideWithBounds(futureCenter) || wouldCollideWithObstacles(futureCenter)) {
+        if (wouldCollideWithBounds(centerX, centerY, futureX, futureY) || wouldCollideWithObstacles(futureX, futureY)) {
 
-            // Invece di muoversi, cambia direzione
-            this.direction = getDirectionAwayFromBounds(futureCenter);
-            
-            Coord escapeMovement = new Coord(
-                        this.direction.x * deltaTime * getAntSpeed(),
-                        this.direction.y * deltaTime * getAntSpeed()
-                    );
-            
-            this.movePos(escapeMovement);
-            
-            return; // Non muovere se causerebbe collisione
+            // Invece di muoversi, cambia direzione (e si muove lungo quella nuova)
+            setDirectionAwayFromBounds(futureX, futureY);
         }
         
-        // Solo se sicuro, effettua il movimento
-        this.movePos(movement);
+        this.pos.x += direction.x * step;
+        this.pos.y += direction.y * step;
     }
 
-    private Coord getDirectionAwayFromBounds(Coord futureCenter) {
+    private void setDirectionAwayFromBounds(double futureX, double futureY) {
         double halfSize = this.getSize() / 2.0;
         double halfFoodSize = this.getFoodLoad().getSize() / 2.0;
         
         // Controlla quale bordo sta collidendo e punta nella direzione opposta
-        if (futureCenter.y + halfSize + halfFoodSize >= mapHeight - WINDOW_BOUND_MARGIN) {
-            return new Coord(0, -1); // Bordo inferiore → vai su
-        }
-        if (futureCenter.y - halfSize - halfFoodSize <= WINDOW_BOUND_MARGIN) {
-            return new Coord(0, 1);  // Bordo superiore → vai giù  
-        }
-        if (futureCenter.x + halfSize + halfFoodSize >= mapWidth - WINDOW_BOUND_MARGIN) {
-            return new Coord(-1, 0); // Bordo destro → vai sinistra
-        }
-        if (futureCenter.x - halfSize - halfFoodSize <= WINDOW_BOUND_MARGIN) {
-            return new Coord(1, 0);  // Bordo sinistro → vai destra
+        if (futureY + halfSize + halfFoodSize >= mapHeight - WINDOW_BOUND_MARGIN) {
+            direction.x = 0; direction.y = -1;      // Bordo inferiore → vai su
+        } else if (futureY - halfSize - halfFoodSize <= WINDOW_BOUND_MARGIN) {
+            direction.x = 0; direction.y = 1;       // Bordo superiore → vai giù
+        } else if (futureX + halfSize + halfFoodSize >= mapWidth - WINDOW_BOUND_MARGIN) {
+            direction.x = -1; direction.y = 0;      // Bordo destro → vai sinistra
+        } else if (futureX - halfSize - halfFoodSize <= WINDOW_BOUND_MARGIN) {
+            direction.x = 1; direction.y = 0;       // Bordo sinistro → vai destra
+        } else {
+            turnAround();                           // Fallback
         }
-        
-        return getTurnAroundAngle(); // Fallback
     }
 
-    private boolean wouldCollideWithBounds(Coord futureCenter) {
+    private boolean wouldCollideWithBounds(double centerX, double centerY, double futureX, double futureY) {
         double halfSize = this.getSize() / 2.0;
         double halfFoodSize = this.getFoodLoad().getSize() / 2.0;
         
-        Coord currentCenter = this.getCenter();
-        
         // Calcola margini futuri
-        double leftMargin = futureCenter.x - halfSize - halfFoodSize;
-        double rightMargin = futureCenter.x + halfSize + halfFoodSize;
-        double topMargin = futureCenter.y - halfSize - halfFoodSize;
-        double bottomMargin = futureCenter.y + halfSize + halfFoodSize;
+        double leftMargin = futureX - halfSize - halfFoodSize;
+        double rightMargin = futureX + halfSize + halfFoodSize;
+        double topMargin = futureY - halfSize - halfFoodSize;
+        double bottomMargin = futureY + halfSize + halfFoodSize;
 
-        return (leftMargin <= WINDOW_BOUND_MARGIN && futureCenter.x < currentCenter.x) ||     // Vai a sinistra verso il bordo
-            (rightMargin >= mapWidth - WINDOW_BOUND_MARGIN && futureCenter.x > currentCenter.x) || // Vai a destra verso il bordo
-            (topMargin <= WINDOW_BOUND_MARGIN && futureCenter.y < currentCenter.y) ||      // Vai su verso il bordo
-            (bottomMargin >= mapHeight - WINDOW_BOUND_MARGIN && futureCenter.y > currentCenter.y); // Vai giù verso il bordo
+        return (leftMargin <= WINDOW_BOUND_MARGIN && futureX < centerX) ||     // Vai a sinistra verso il bordo
+            (rightMargin >= mapWidth - WINDOW_BOUND_MARGIN && futureX > centerX) || // Vai a destra verso il bordo
+            (topMargin <= WINDOW_BOUND_MARGIN && futureY < centerY) ||      // Vai su verso il bordo
+            (bottomMargin >= mapHeight - WINDOW_BOUND_MARGIN && futureY > centerY); // Vai giù verso il bordo
     }
 
-    private boolean wouldCollideWithObstacles(Coord futurePos) {
+    private boolean wouldCollideWithObstacles(double futureX, double futureY) {
         if (obstacleManager == null) return false;
         
-        // Crea un oggetto temporaneo per testare la posizione futura
-        Coord originalPos = pos;
-        pos = futurePos; // Temporaneamente sposta alla posizione futura
-        
-        boolean collision = obstacleManager.isCollidingWithObstacle(this, WINDOW_BOUND_MARGIN);
-        
-        pos = originalPos; // Ripristina posizione originale
-        
-        return collision;
+        // Stesso test di isCollidingWithObstacle(this, WINDOW_BOUND_MARGIN) con la formica nella posizione futura
+        return obstacleManager.isCollidingWithObstacle(futureX, futureY, (this.getSize() / 2.0) + WINDOW_BOUND_MARGIN);
     }
 
     private void updateAngle() {
@@ -478,22 +563,29 @@ public class Ant extends GameObject {
         }
     }
 
+    /**
+     * Direzione opposta a quella corrente con un offset casuale, scritta in steering
+     */
     private Coord getTurnAroundAngle() {
         // Calcola l'angolo di base (180 gradi) per invertire la direzione
         double baseAngle = Math.PI;
 
         // Aggiungi un offset di 30 gradi
-        double randomOffset = (RANDOM.nextDouble() - 0.5) * Ant.TURN_AROUND_ANGLE_OFFSET;
+        double randomOffset = (nextRandom() - 0.5) * Ant.TURN_AROUND_ANGLE_OFFSET;
 
         double newAngle = Math.atan2(direction.y, direction.x) + baseAngle + randomOffset;
 
-        return new Coord(Math.cos(newAngle), Math.sin(newAngle));
+        steering.x = Math.cos(newAngle);
+        steering.y = Math.sin(newAngle);
+        return steering;
 
     }
 
     private void turnAround() {
         // Applica nuova direzione
-        this.direction = getTurnAroundAngle();
+        Coord turned = getTurnAroundAngle();
+        this.direction.x = turned.x;
+        this.direction.y = turned.y;
     }
 
     // Metodi per il cibo
@@ -511,8 +603,8 @@ public class Ant extends GameObject {
             food.disable();
 
             // Aggiorna il tempo di scoperta del cibo
-            this.lastFoodDiscoveryTime = System.nanoTime() - this.startTrackTime;           // tempo impiegato per trovare il cibo  
-            this.startTrackTime = System.nanoTime();                                        // Reset per il prossimo viaggio  
+            this.lastFoodDiscoveryTime = SimulationClock.getInstance().nanoTime() - this.startTrackTime;           // tempo impiegato per trovare il cibo  
+            this.startTrackTime = SimulationClock.getInstance().nanoTime();                                        // Reset per il prossimo viaggio  
             
             // Aggiorna le milestone per i feromoni
             this.updateMilestoneTracking();
@@ -525,9 +617,11 @@ public class Ant extends GameObject {
         
         if (this.densityFieldManager == null) return handleRandomSteering();
 
-        double leftIntensity = this.leftSensor.getPheromoneSensorValue(pheromoneType);
-        double frontIntensity = this.frontSensor.getPheromoneSensorValue(pheromoneType);
-        double rightIntensity = this.rightSensor.getPheromoneSensorValue(pheromoneType);
+        double heading = Math.atan2(direction.y, direction.x);
+
+        double leftIntensity = this.leftSensor.getPheromoneSensorValue(pheromoneType, heading);
+        double frontIntensity = this.frontSensor.getPheromoneSensorValue(pheromoneType, heading);
+        double rightIntensity = this.rightSensor.getPheromoneSensorValue(pheromoneType, heading);
 
         double maxIntensity = Math.max(leftIntensity, Math.max(frontIntensity, rightIntensity));
 
@@ -548,11 +642,11 @@ public class Ant extends GameObject {
 
         if (pheromoneType == Pheromone.PheromoneType.HOME_TRAIL) explorationRate = 0;
 
-        return selectDirection(leftIntensity, frontIntensity, rightIntensity, explorationRate);
+        return selectDirection(heading, leftIntensity, frontIntensity, rightIntensity, explorationRate);
 
     }
 
-    private Coord selectDirection(double leftIntensity, double frontIntensity, double rightIntensity, double explorationRate) {
+    private Coord selectDirection(double heading, double leftIntensity, double frontIntensity, double rightIntensity, double explorationRate) {
 
         double totalIntensity = leftIntensity + frontIntensity + rightIntensity;
 
@@ -572,59 +666,69 @@ public class Ant extends GameObject {
         //rightProbability /= totalIntensity;
 
         // numero random per selezione probabilistica
-        double rand = RANDOM.nextDouble();
+        double rand = nextRandom();
 
         if (rand < frontProbability) {
             // si è scelto il sensore frontale
-            return this.frontSensor.getPointingDirection();
+            return this.frontSensor.getPointingDirection(heading, steering);
         } else if (rand < leftProbability + frontProbability) {
             // si è scelto il sensore sinistro
-            return this.leftSensor.getPointingDirection();
+            return this.leftSensor.getPointingDirection(heading, steering);
         } else {
             // si è scelto il sensore destro
-            return this.rightSensor.getPointingDirection();
+            return this.rightSensor.getPointingDirection(heading, steering);
         }
     }
 
+    /**
+     * Campiona la posizione ogni LOG_INTERVAL in uno storico circolare di dimensione fissa.
+     * Come logBehavioralDecision non alloca: MetricsCollector salva i valori grezzi
+     */
     private void logPath() {
-        long currentTime = System.nanoTime();
+        if (!MetricsCollector.getInstance().isAntTracingEnabled()) return;
+
+        long currentTime = SimulationClock.getInstance().nanoTime();
         if (currentTime - lastPathLogTime > LOG_INTERVAL) {
-            pathHistory.add(pos.copy());
-            MetricsCollector.getInstance().logEvent("ANT_POSITION", 
-                "Ant " + serialNumber, pos, getCurrentState());
+            pathHistoryX[pathHistoryNext] = pos.x;
+            pathHistoryY[pathHistoryNext] = pos.y;
+            pathHistoryNext = (pathHistoryNext + 1) % PATH_HISTORY_SIZE;
+            if (pathHistorySize < PATH_HISTORY_SIZE) pathHistorySize++;
+
+            MetricsCollector.getInstance().logAntPosition(serialNumber, pos.x, pos.y, hasFoodLoad());
             lastPathLogTime = currentTime;
         }
     }
 
+    /**
+     * decisionType deve essere una costante: viene salvato per riferimento
+     */
     private void logBehavioralDecision(String decisionType, double pheromoneIntensity, boolean usingPheromones) {
-        if (System.nanoTime() - lastDecisionLogTime > LOG_INTERVAL) {
-            MetricsCollector.getInstance().logEvent(
-                "ANT_DECISION", 
-                String.format("Ant %d - %s", serialNumber, decisionType),
-                getCenter(),
-                String.format("pheromone_intensity=%.4f,using_pheromones=%s,behavior=%s", 
-                            pheromoneIntensity, usingPheromones, behaviour.toString())
-            );
-            lastDecisionLogTime = System.nanoTime();
-        }
-    }
+        if (!MetricsCollector.getInstance().isAntTracingEnabled()) return;
 
-    private String getCurrentState() {
-        return hasFoodLoad() ? "RETURNING" : "SEARCHING";
+        if (SimulationClock.getInstance().nanoTime() - lastDecisionLogTime > LOG_INTERVAL) {
+            MetricsCollector.getInstance().logAntDecision(
+                serialNumber, decisionType, getCenterX(), getCenterY(),
+                pheromoneIntensity, usingPheromones, behaviour);
+            lastDecisionLogTime = SimulationClock.getInstance().nanoTime();
+        }
     }
 
     private void updateMilestoneTracking() {
         // Aggiorna le coordinate dell'ultima milestone
         this.lastMilestonePosition = this.getCenter().copy();
-        this.lastMilestoneTime = System.nanoTime();
+        this.lastMilestoneTime = SimulationClock.getInstance().nanoTime();
     }
 
     public GameObject dropFood() {
         GameObject droppedFood = this.foodLoad;
-        this.foodLoad = new VoidObj();
+        this.foodLoad = NO_FOOD;
         return droppedFood;
     }
 
+    // Usati da Simulation (scritta prima di pubblicare la formica nella lista)
+    public int getListIndex() { return listIndex; }
+    public void setListIndex(int listIndex) { this.listIndex = listIndex; }
+
     public void attachMultiHashGrid(MultiHashGrid multiHashGrid) {
         if (this.multiHashGrid != null || multiHashGrid == null) return;
         this.multiHashGrid = multiHashGrid;
@@ -633,6 +737,9 @@ public class Ant extends GameObject {
     public void attachDensityManager(DensityFieldManager densityFieldManager) {
         if (this.densityFieldManager != null || densityFieldManager == null) return;
         this.densityFieldManager = densityFieldManager;
+
+        // Il campo gradiente viene calcolato solo se almeno una formica lo usa
+        if (this.behaviour == ANT_BEHAVIOUR.GRADIENT) densityFieldManager.setGradientEnabled(true);
     }
 
     public void attachObstacleManager(ObstacleManager obstacleManager) {
@@ -641,12 +748,34 @@ public class Ant extends GameObject {
         System.out.println("ObstacleManager ASSEGNATO alla formica " + getSerialNumber());
     }
 
+    /**
+     * Prossimo double in [0, 1) della formica: dipende solo da seme, numero di serie, tick
+     * ed estrazioni già fatte nel tick, non dal thread che la aggiorna
+     */
+    public double nextRandom() {
+        return CounterRandom.nextDouble(randomSeed, serialNumber, randomTick, randomDraw++);
+    }
+
+    /**
+     * Posizione dell'ultimo feromone rilasciato nel percorso corrente, null se nessuno.
+     * Il Coord è riusato dalla formica: va letto subito, non conservato
+     */
     public Coord getLastPheromonePosition() { 
-        return lastPheromonePosition; 
+        return hasLastPheromone ? lastPheromonePosition : null; 
     }
     
     public void setLastPheromonePosition(Coord pos) { 
-        this.lastPheromonePosition = pos != null ? pos.copy() : null; 
+        if (pos == null) {
+            this.hasLastPheromone = false;
+            return;
+        }
+        setLastPheromonePosition(pos.x, pos.y);
+    }
+
+    public void setLastPheromonePosition(double x, double y) {
+        this.lastPheromonePosition.x = x;
+        this.lastPheromonePosition.y = y;
+        this.hasLastPheromone = true;
     }
     
     public double getLastPheromoneTime() { 
@@ -690,6 +819,19 @@ public class Ant extends GameObject {
     }
 
 
+    /**
+     * Posizioni campionate più recenti (al massimo PATH_HISTORY_SIZE), dalla più vecchia
+     */
+    public List<Coord> getPathHistory() {
+        List<Coord> history = new ArrayList<>(pathHistorySize);
+        int first = (pathHistoryNext - pathHistorySize + PATH_HISTORY_SIZE) % PATH_HISTORY_SIZE;
+        for (int i = 0; i < pathHistorySize; i++) {
+            int slot = (first + i) % PATH_HISTORY_SIZE;
+            history.add(new Coord(pathHistoryX[slot], pathHistoryY[slot]));
+        }
+        return history;
+    }
+
     /*
      * Ritorna i sensori nell'ordine: sinistro, frontale, destro
      */
@@ -699,7 +841,6 @@ public class Ant extends GameObject {
 
     // Getters per la visualizzazione
     public double getAngle() { return angle; }
-    public Color getColor() { return ANT_COLOR; }
     public Coord getDirection() { return new Coord(direction.x, direction.y); }
 
     public static int getAntSightRadius() {
@@ -743,11 +884,22 @@ public class Ant extends GameObject {
         }
 
         public double getPheromoneSensorValue(Pheromone.PheromoneType type) {
+            return getPheromoneSensorValue(type, Math.atan2(direction.y, direction.x));
+        }
+
+        /**
+         * Lettura del sensore con la direzione della formica già calcolata (heading in radianti),
+         * senza Coord temporanei
+         */
+        public double getPheromoneSensorValue(Pheromone.PheromoneType type, double heading) {
             if (densityFieldManager == null) return 0.0;
             
             // Calcola posizione del sensore relativa alla direzione corrente
-            
-            return densityFieldManager.getMeanIntensity(getSensorPosition(), type, ParameterAdapter.getAntSensorRadius());
+            double sensorAngle = heading + angleOffset;
+            double sensorX = getCenterX() + getAntFeelRadius() * Math.cos(sensorAngle);
+            double sensorY = getCenterY() + getAntFeelRadius() * Math.sin(sensorAngle);
+
+            return densityFieldManager.getMeanIntensity(sensorX, sensorY, type, ParameterAdapter.getAntSensorRadius());
         }
 
         public Coord getSensorPosition() {
@@ -756,20 +908,24 @@ public class Ant extends GameObject {
             double sensorAngle = antAngle + angleOffset;
 
             return new Coord(
-                getCenter().x + getAntFeelRadius() * Math.cos(sensorAngle),
-                getCenter().y + getAntFeelRadius() * Math.sin(sensorAngle)
+                getCenterX() + getAntFeelRadius() * Math.cos(sensorAngle),
+                getCenterY() + getAntFeelRadius() * Math.sin(sensorAngle)
             );
         }
 
         public Coord getPointingDirection() {
-            // Ritorna la direzione verso cui punta il sensore
-            double antAngle = Math.atan2(direction.y, direction.x);
-            double sensorAngle = antAngle + angleOffset;
-            
-            return new Coord(
-                Math.cos(sensorAngle),
-                Math.sin(sensorAngle)
-            );
+            return getPointingDirection(Math.atan2(direction.y, direction.x), new Coord(0, 0));
+        }
+
+        /**
+         * Direzione verso cui punta il sensore, scritta in result
+         */
+        public Coord getPointingDirection(double heading, Coord result) {
+            double sensorAngle = heading + angleOffset;
+
+            result.x = Math.cos(sensorAngle);
+            result.y = Math.sin(sensorAngle);
+            return result;
         }
     }
 
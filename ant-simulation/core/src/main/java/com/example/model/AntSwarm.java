@@ -0,0 +1,747 @@
+package com.example.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.config.ParameterAdapter;
+import com.example.config.SimulationParameters;
+import com.example.graphics.Coord;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.MultiHashGrid;
+import com.example.managers.NeighborBuffer;
+import com.example.managers.ObstacleManager;
+import com.example.metrics.MetricsCollector;
+import com.example.simulation.CounterRandom;
+import com.example.simulation.RandomService;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Colonia in forma struttura-di-array: lo stato di ogni formica sta in array primitivi paralleli
+ * (posizione, direzione, stato, nido, timer) e i comportamenti RANDOM, FOOD_PHEROMONE e
+ * ALL_PHEROMONES girano come cicli sugli indici, senza un oggetto per formica né chiamate virtuali.
+ * La logica è quella di Ant (stesse soglie, stessi sensori, stessi rimbalzi); GRADIENT usa
+ * ALL_PHEROMONES. Non vengono registrati i campionamenti periodici ANT_POSITION/ANT_DECISION,
+ * solo gli eventi di raccolta e consegna.
+ *
+ * Per la UI esiste una vista sottile (AntView, una Ant) della sola formica selezionata,
+ * risincronizzata dagli array ad ogni update.
+ */
+public class AntSwarm {
+
+    public static final byte SEARCHING = 0;
+    public static final byte RETURNING = 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double HALF_SIZE = Ant.ANT_SIZE / 2.0;
+    private static final double HALF_FOOD_SIZE = Food.FOOD_DIM / 2.0;
+    private static final double SMOOTH_MOVEMENT_FACTOR = 0.2;
+
+    private final double mapWidth;
+    private final double mapHeight;
+    private final long randomSeed = RandomService.getInstance().getSeed();   // Chiave delle estrazioni (vedi CounterRandom)
+    private long tick;                                                      // Tick eseguiti dallo sciame
+
+    // Stato per formica (indice 0..count-1)
+    private double[] x = new double[0];             // Angolo in alto a sinistra, come GameObject.pos
+    private double[] y = new double[0];
+    private double[] dirX = new double[0];
+    private double[] dirY = new double[0];
+    private double[] steerX = new double[0];        // Direzione proposta nel tick corrente
+    private double[] steerY = new double[0];
+    private byte[] state = new byte[0];
+    private int[] nestId = new int[0];
+    private int[] serialNumber = new int[0];
+    private double[] pheromoneAverage = new double[0];
+
+    // Timer (nanosecondi dell'orologio simulato, come in Ant)
+    private double[] startTrackTime = new double[0];
+    private double[] lastFoodDiscoveryTime = new double[0];
+    private double[] lastNestDiscoveryTime = new double[0];
+    private double[] lastTripTime = new double[0];
+    private double[] meanTripTime = new double[0];
+    private int[] tripNumber = new int[0];
+    private double[] lastPheromoneX = new double[0];   // NaN = nessun feromone nel percorso corrente
+    private double[] lastPheromoneY = new double[0];
+    private double[] lastPheromoneTime = new double[0];
+    private int[] randomDraw = new int[0];              // Estrazioni fatte dalla formica nel tick corrente
+    private int count;
+
+    // Nidi (indicizzati da nestId) con i valori letti nei cicli
+    private Nest[] nests = new Nest[0];
+    private double[] nestX = new double[0];
+    private double[] nestY = new double[0];
+    private double[] nestSize = new double[0];
+    private Ant.ANT_BEHAVIOUR[] nestBehaviour = new Ant.ANT_BEHAVIOUR[0];
+    private int nestCount;
+
+    private DensityFieldManager densityFieldManager;
+    private MultiHashGrid multiHashGrid;
+    private ObstacleManager obstacleManager;
+    private final NeighborBuffer<Food> nearestFood = new NeighborBuffer<>(1);
+
+    // Parametri letti una volta per tick
+    private double currentTime;
+    private double speed;
+    private double feelRadius;
+    private double sightRadius;
+    private double sensorAngle;
+    private int sensorRadius;
+    private double minIntensity;
+    private double explorationRate;
+    private double memoryAlpha;
+
+    // Selezione per la UI
+    private int selectedIndex = -1;
+    private AntView selectedView;
+
+    public AntSwarm(double mapWidth, double mapHeight) {
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        ensureCapacity(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Aggiunge antNumber formiche del nido nella posizione data (angolo in alto a sinistra),
+     * con direzioni casuali come il costruttore di Ant
+     */
+    public synchronized void spawn(Nest nest, int antNumber, Coord position) {
+        int nestIndex = registerNest(nest);
+        ensureCapacity(count + antNumber);
+
+        double now = SimulationClock.getInstance().nanoTime();
+        for (int n = 0; n < antNumber; n++) {
+            int i = count++;
+            x[i] = position.x;
+            y[i] = position.y;
+            serialNumber[i] = GameObject.getNewSerialNumber();
+            randomDraw[i] = 0;
+            dirX[i] = (nextRandom(i) * 2.0) - 1.0;
+            dirY[i] = (nextRandom(i) * 2.0) - 1.0;
+            state[i] = SEARCHING;
+            nestId[i] = nestIndex;
+            pheromoneAverage[i] = 0;
+            startTrackTime[i] = now;
+            lastFoodDiscoveryTime[i] = 0;
+            lastNestDiscoveryTime[i] = 0;
+            lastTripTime[i] = 0;
+            meanTripTime[i] = 0;
+            tripNumber[i] = 0;
+            lastPheromoneX[i] = Double.NaN;
+            lastPheromoneY[i] = Double.NaN;
+            lastPheromoneTime[i] = -1;
+        }
+    }
+
+    public synchronized void clear() {
+        count = 0;
+        Arrays.fill(nests, 0, nestCount, null);
+        nestCount = 0;
+        selectedIndex = -1;
+        selectedView = null;
+    }
+
+    /**
+     * Un tick della colonia: comportamento, movimento e (se richiesto) rilascio dei feromoni
+     * per ogni formica, nell'ordine degli indici
+     */
+    public synchronized void update(double deltaTime, boolean releasePheromones) {
+        beginTick();
+
+        for (int i = 0; i < count; i++) {
+            randomDraw[i] = 0;
+            updateDirection(i);
+            move(i, deltaTime);
+
+            if (releasePheromones && densityFieldManager != null) {
+                densityFieldManager.addPheromone(this, i,
+                    state[i] == RETURNING ? Pheromone.PheromoneType.FOOD_TRAIL : Pheromone.PheromoneType.HOME_TRAIL);
+            }
+        }
+
+        syncSelectedView();
+    }
+
+    /**
+     * Raccolta del cibo: ogni formica in cerca prende il pezzo più vicino a contatto
+     * (stesso raggio di SimulationManager.handleFoodInteraction). I pezzi raccolti vengono
+     * aggiunti a pickedUp; ritorna quanti sono
+     */
+    public synchronized int collectFood(List<Food> pickedUp) {
+        if (multiHashGrid == null) return 0;
+
+        int picked = 0;
+        for (int i = 0; i < count; i++) {
+            if (state[i] != SEARCHING) continue;
+
+            int found = multiHashGrid.findFoodWithin(
+                x[i] + HALF_FOOD_SIZE, y[i] + HALF_FOOD_SIZE, Ant.ANT_SIZE + HALF_FOOD_SIZE, nearestFood);
+            if (found == 0) continue;
+
+            Food food = nearestFood.get(0);
+            nearestFood.clear();
+            pickupFood(i, food);
+            pickedUp.add(food);
+            picked++;
+        }
+
+        syncSelectedView();
+        return picked;
+    }
+
+    private void beginTick() {
+        tick++;
+        currentTime = SimulationClock.getInstance().nanoTime();
+        speed = ParameterAdapter.getAntSpeed();
+        feelRadius = ParameterAdapter.getAntFeelRadius();
+        sightRadius = ParameterAdapter.getAntSightRadius();
+        sensorAngle = SimulationParameters.getInstance().getAntSensorAngle();
+        sensorRadius = ParameterAdapter.getAntSensorRadius();
+        minIntensity = ParameterAdapter.getPheromoneMinIntensity();
+        explorationRate = ParameterAdapter.getExplorationRate();
+        memoryAlpha = ParameterAdapter.getAntMemoryEMAAlpha();
+    }
+
+    // ==================== COMPORTAMENTI ====================
+
+    private void updateDirection(int i) {
+        switch (nestBehaviour[nestId[i]]) {
+            case RANDOM:
+                randomBehaviour(i);
+                break;
+            case FOOD_PHEROMONE:
+                foodPheromonesBehaviour(i);
+                break;
+            default:
+                allPheromonesBehaviour(i);
+                break;
+        }
+    }
+
+    private void randomBehaviour(int i) {
+        if (state[i] == RETURNING) {
+            dropFoodIfOnNest(i);
+            if (state[i] == RETURNING) {
+                directionToNest(i);
+                applyDirectionChange(i);
+                return;
+            }
+        }
+
+        // Movimento casuale quando non ha cibo
+        randomSteering(i);
+        applyDirectionChange(i);
+    }
+
+    private void foodPheromonesBehaviour(int i) {
+        if (state[i] == RETURNING) {
+            dropFoodIfOnNest(i);
+            if (state[i] == RETURNING) {
+                directionToNest(i);
+                applyDirectionChange(i);
+            }
+            return;
+        }
+
+        if (densityFieldManager == null) {
+            randomSteering(i);
+            applyDirectionChange(i);
+            return;
+        }
+
+        followFoodTrail(i);
+    }
+
+    private void allPheromonesBehaviour(int i) {
+        if (state[i] == RETURNING) {
+            dropFoodIfOnNest(i);
+            if (state[i] == RETURNING) followNestTrail(i);
+            return;
+        }
+
+        if (densityFieldManager == null) {
+            randomSteering(i);
+            applyDirectionChange(i);
+            return;
+        }
+
+        followFoodTrail(i);
+    }
+
+    private void followFoodTrail(int i) {
+        // Se il cibo è nel raggio di percezione, vai diretto al cibo
+        if (nearestFoodDirection(i)) {
+            setDirection(i);
+            return;
+        }
+
+        sensePheromoneDirection(i, Pheromone.PheromoneType.FOOD_TRAIL);
+        steerOrWander(i);
+    }
+
+    private void followNestTrail(int i) {
+        // Se il nido è nel raggio di visione, vai diretto al nido
+        double threshold = sightRadius + nestSize[nestId[i]];
+        double offsetX = nestX[nestId[i]] - (x[i] + HALF_SIZE);
+        double offsetY = nestY[nestId[i]] - (y[i] + HALF_SIZE);
+        if (offsetX * offsetX + offsetY * offsetY <= threshold * threshold) {
+            directionToNest(i);
+            setDirection(i);
+            return;
+        }
+
+        sensePheromoneDirection(i, Pheromone.PheromoneType.HOME_TRAIL);
+        steerOrWander(i);
+    }
+
+    /**
+     * Se la direzione proposta dai feromoni è troppo debole usa movimento casuale
+     */
+    private void steerOrWander(int i) {
+        double length = Math.sqrt(steerX[i] * steerX[i] + steerY[i] * steerY[i]);
+        if (length <= minIntensity) {
+            randomSteering(i);
+        } else {
+            steerX[i] /= length;
+            steerY[i] /= length;
+        }
+        applyDirectionChange(i);
+    }
+
+    // ==================== SENSORI ====================
+
+    /**
+     * Tre sensori (sinistro, frontale, destro) a distanza antFeelRadius: scrive la direzione
+     * scelta in steer, come Ant.getPheromoneDirectionSensed
+     */
+    private void sensePheromoneDirection(int i, Pheromone.PheromoneType type) {
+        double heading = Math.atan2(dirY[i], dirX[i]);
+        double centerX = x[i] + HALF_SIZE;
+        double centerY = y[i] + HALF_SIZE;
+
+        double leftIntensity = sense(centerX, centerY, heading + sensorAngle, type);
+        double frontIntensity = sense(centerX, centerY, heading, type);
+        double rightIntensity = sense(centerX, centerY, heading - sensorAngle, type);
+
+        double maxIntensity = Math.max(leftIntensity, Math.max(frontIntensity, rightIntensity));
+        pheromoneAverage[i] = (1 - memoryAlpha) * pheromoneAverage[i] + memoryAlpha * maxIntensity;
+
+        if (maxIntensity <= minIntensity) {
+            // Torna indietro se l'ultima intensità era alta, se no vai a caso
+            if (pheromoneAverage[i] > minIntensity) turnAroundSteering(i);
+            else randomSteering(i);
+            return;
+        }
+
+        // Se stiamo tornando a casa, non vogliamo esplorare
+        double exploration = type == Pheromone.PheromoneType.HOME_TRAIL ? 0 : explorationRate;
+        selectDirection(i, heading, leftIntensity, frontIntensity, rightIntensity, exploration);
+    }
+
+    private double sense(double centerX, double centerY, double sensorHeading, Pheromone.PheromoneType type) {
+        return densityFieldManager.getMeanIntensity(
+            centerX + feelRadius * Math.cos(sensorHeading),
+            centerY + feelRadius * Math.sin(sensorHeading),
+            type, sensorRadius);
+    }
+
+    private void selectDirection(int i, double heading, double leftIntensity, double frontIntensity, double rightIntensity, double exploration) {
+        double totalIntensity = leftIntensity + frontIntensity + rightIntensity;
+
+        double leftProbability = (leftIntensity / totalIntensity) + (exploration / 3);
+        double frontProbability = (frontIntensity / totalIntensity) + (exploration / 3);
+        double rightProbability = (rightIntensity / totalIntensity) + (exploration / 3);
+
+        totalIntensity = leftProbability + frontProbability + rightProbability;
+        leftProbability /= totalIntensity;
+        frontProbability /= totalIntensity;
+
+        double rand = nextRandom(i);
+
+        double sensorHeading;
+        if (rand < frontProbability) {
+            sensorHeading = heading;
+        } else if (rand < leftProbability + frontProbability) {
+            sensorHeading = heading + sensorAngle;
+        } else {
+            sensorHeading = heading - sensorAngle;
+        }
+
+        steerX[i] = Math.cos(sensorHeading);
+        steerY[i] = Math.sin(sensorHeading);
+    }
+
+    /**
+     * Direzione (normalizzata, in steer) verso il cibo più vicino entro il raggio di percezione
+     */
+    private boolean nearestFoodDirection(int i) {
+        if (multiHashGrid == null || multiHashGrid.findNearestFood(x[i], y[i], feelRadius, nearestFood) == 0) return false;
+
+        Food food = nearestFood.get(0);
+        nearestFood.clear();
+
+        double offsetX = food.getCenterX() - x[i];
+        double offsetY = food.getCenterY() - y[i];
+        double length = Math.sqrt(offsetX * offsetX + offsetY * offsetY);
+        if (length != 0) {
+            offsetX /= length;
+            offsetY /= length;
+        }
+        steerX[i] = offsetX;
+        steerY[i] = offsetY;
+        return true;
+    }
+
+    // ==================== DIREZIONE ====================
+
+    /**
+     * Stesso calcolo di Ant.calcDirectionToNest
+     */
+    private void directionToNest(int i) {
+        int nest = nestId[i];
+        double size = nestSize[nest];
+
+        double offsetX = (nestX[nest] + size / 2.0) - (x[i] + HALF_SIZE) - size / 2.0;
+        double offsetY = (nestY[nest] + size / 2.0) - (y[i] + HALF_SIZE) - HALF_SIZE;
+        double length = Math.sqrt(offsetX * offsetX + offsetY * offsetY);
+        if (length != 0) {
+            offsetX /= length;
+            offsetY /= length;
+        }
+        steerX[i] = offsetX;
+        steerY[i] = offsetY;
+    }
+
+    private void randomSteering(int i) {
+        double candidateX, candidateY;
+        do {
+            candidateX = (nextRandom(i) * 2.0) - 1.0;
+            candidateY = (nextRandom(i) * 2.0) - 1.0;
+        } while (candidateX * dirX[i] + candidateY * dirY[i] <= 0);
+
+        steerX[i] = candidateX;
+        steerY[i] = candidateY;
+    }
+
+    private void turnAroundSteering(int i) {
+        double randomOffset = (nextRandom(i) - 0.5) * Ant.TURN_AROUND_ANGLE_OFFSET;
+        double newAngle = Math.atan2(dirY[i], dirX[i]) + Math.PI + randomOffset;
+
+        steerX[i] = Math.cos(newAngle);
+        steerY[i] = Math.sin(newAngle);
+    }
+
+    private void turnAround(int i) {
+        turnAroundSteering(i);
+        dirX[i] = steerX[i];
+        dirY[i] = steerY[i];
+    }
+
+    /**
+     * La direzione diventa quella proposta
+     */
+    private void setDirection(int i) {
+        double length = Math.sqrt(steerX[i] * steerX[i] + steerY[i] * steerY[i]);
+        if (length <= 0) return;
+
+        dirX[i] = steerX[i] / length;
+        dirY[i] = steerY[i] / length;
+    }
+
+    /**
+     * La direzione proposta viene sommata (smorzata) a quella corrente
+     */
+    private void applyDirectionChange(int i) {
+        double length = Math.sqrt(steerX[i] * steerX[i] + steerY[i] * steerY[i]);
+        if (length <= 0) return;
+
+        double newX = dirX[i] + steerX[i] * SMOOTH_MOVEMENT_FACTOR;
+        double newY = dirY[i] + steerY[i] * SMOOTH_MOVEMENT_FACTOR;
+        double newLength = Math.sqrt(newX * newX + newY * newY);
+        if (newLength != 0) {
+            newX /= newLength;
+            newY /= newLength;
+        }
+        dirX[i] = newX;
+        dirY[i] = newY;
+    }
+
+    // ==================== MOVIMENTO ====================
+
+    private void move(int i, double deltaTime) {
+        double step = deltaTime * speed;
+        double centerX = x[i] + HALF_SIZE;
+        double centerY = y[i] + HALF_SIZE;
+        double futureX = centerX + dirX[i] * step;
+        double futureY = centerY + dirY[i] * step;
+
+        if (wouldCollideWithBounds(i, centerX, centerY, futureX, futureY) || wouldCollideWithObstacles(futureX, futureY)) {
+            // Invece di muoversi, cambia direzione e scappa
+            setDirectionAwayFromBounds(i, futureX, futureY);
+        }
+
+        x[i] += dirX[i] * step;
+        y[i] += dirY[i] * step;
+    }
+
+    private double extent(int i) {
+        return HALF_SIZE + (state[i] == RETURNING ? HALF_FOOD_SIZE : 0);
+    }
+
+    private boolean wouldCollideWithBounds(int i, double centerX, double centerY, double futureX, double futureY) {
+        double extent = extent(i);
+
+        return (futureX - extent <= Ant.WINDOW_BOUND_MARGIN && futureX < centerX) ||
+            (futureX + extent >= mapWidth - Ant.WINDOW_BOUND_MARGIN && futureX > centerX) ||
+            (futureY - extent <= Ant.WINDOW_BOUND_MARGIN && futureY < centerY) ||
+            (futureY + extent >= mapHeight - Ant.WINDOW_BOUND_MARGIN && futureY > centerY);
+    }
+
+    private boolean wouldCollideWithObstacles(double futureX, double futureY) {
+        if (obstacleManager == null) return false;
+        return obstacleManager.isCollidingWithObstacle(futureX, futureY, HALF_SIZE + Ant.WINDOW_BOUND_MARGIN);
+    }
+
+    private void setDirectionAwayFromBounds(int i, double futureX, double futureY) {
+        double extent = extent(i);
+
+        if (futureY + extent >= mapHeight - Ant.WINDOW_BOUND_MARGIN) {
+            dirX[i] = 0; dirY[i] = -1;      // Bordo inferiore → vai su
+        } else if (futureY - extent <= Ant.WINDOW_BOUND_MARGIN) {
+            dirX[i] = 0; dirY[i] = 1;       // Bordo superiore → vai giù
+        } else if (futureX + extent >= mapWidth - Ant.WINDOW_BOUND_MARGIN) {
+            dirX[i] = -1; dirY[i] = 0;      // Bordo destro → vai sinistra
+        } else if (futureX - extent <= Ant.WINDOW_BOUND_MARGIN) {
+            dirX[i] = 1; dirY[i] = 0;       // Bordo sinistro → vai destra
+        } else {
+            turnAround(i);                  // Fallback (ostacolo)
+        }
+    }
+
+    // ==================== CIBO ====================
+
+    private void pickupFood(int i, Food food) {
+        state[i] = RETURNING;
+        food.disable();
+        food.onPickedUp(serialNumber[i]);
+
+        lastFoodDiscoveryTime[i] = currentTime - startTrackTime[i];
+        startTrackTime[i] = currentTime;
+
+        turnAround(i);
+
+        MetricsCollector.getInstance().logEvent(
+            "FOOD_PICKUP",
+            "Ant " + serialNumber[i] + " picked up food",
+            food.getCenter(),
+            null
+        );
+    }
+
+    private void dropFoodIfOnNest(int i) {
+        int nest = nestId[i];
+        double offsetX = (x[i] + HALF_SIZE) - nestX[nest];
+        double offsetY = (y[i] + HALF_SIZE) - nestY[nest];
+        double threshold = nestSize[nest] / 2.0;
+
+        if (offsetX * offsetX + offsetY * offsetY >= threshold * threshold) return;
+
+        state[i] = SEARCHING;
+        nests[nest].incrementFoodCount();
+
+        lastNestDiscoveryTime[i] = currentTime - startTrackTime[i];
+        lastTripTime[i] = lastNestDiscoveryTime[i];
+        if (lastFoodDiscoveryTime[i] > 0) lastTripTime[i] += lastFoodDiscoveryTime[i];
+
+        meanTripTime[i] = (meanTripTime[i] * tripNumber[i] + lastTripTime[i]) / (tripNumber[i] + 1);
+        tripNumber[i]++;
+        startTrackTime[i] = currentTime;
+
+        MetricsCollector.getInstance().logEvent(
+            "FOOD_DROP",
+            "Ant " + serialNumber[i] + " dropped food",
+            nests[nest].getPos(),
+            null
+        );
+
+        turnAround(i);
+        lastPheromoneX[i] = Double.NaN;     // Reset per nuovo percorso
+    }
+
+    // ==================== SELEZIONE ====================
+
+    /**
+     * Seleziona la formica di indice index (fuori intervallo = nessuna) e ne ritorna la vista
+     */
+    public synchronized Ant select(int index) {
+        if (index < 0 || index >= count) {
+            selectedIndex = -1;
+            selectedView = null;
+            return null;
+        }
+
+        selectedIndex = index;
+        selectedView = new AntView(index);
+        return selectedView;
+    }
+
+    public synchronized Ant selectNext() {
+        if (count == 0) return null;
+        return select(selectedIndex < 0 ? 0 : (selectedIndex + 1) % count);
+    }
+
+    public synchronized Ant selectPrevious() {
+        if (count == 0) return null;
+        return select(selectedIndex < 0 ? count - 1 : (selectedIndex - 1 + count) % count);
+    }
+
+    public Ant getSelectedAnt() {
+        return selectedView;
+    }
+
+    public int getSelectedIndex() {
+        return selectedIndex;
+    }
+
+    private void syncSelectedView() {
+        if (selectedView != null) selectedView.sync();
+    }
+
+    /**
+     * Vista sottile di una formica dello sciame: una Ant che non si aggiorna da sola ma copia
+     * il suo stato dagli array (per selezione, statistiche e disegno dei sensori)
+     */
+    private class AntView extends Ant {
+        private final int index;
+        private final Food carriedFood = new Food(new Coord(0, 0));
+        private final GameObject noFood = new VoidObj();
+
+        AntView(int index) {
+            super(AntSwarm.this.serialNumber[index], new Coord(x[index], y[index]),
+                AntSwarm.this.mapWidth, AntSwarm.this.mapHeight, nests[nestId[index]]);
+            this.index = index;
+            this.densityFieldManager = AntSwarm.this.densityFieldManager;
+            sync();
+        }
+
+        void sync() {
+            this.pos.x = x[index];
+            this.pos.y = y[index];
+            this.direction.x = dirX[index];
+            this.direction.y = dirY[index];
+            this.angle = Math.atan2(dirY[index], dirX[index]);
+            this.foodLoad = state[index] == RETURNING ? carriedFood : noFood;
+        }
+
+        @Override
+        public void update(double deltaTime) {
+            // Aggiornata dallo sciame
+        }
+
+        @Override public double getStartTrackTime() { return startTrackTime[index]; }
+        @Override public double getLastFoodDiscoveryTime() { return lastFoodDiscoveryTime[index]; }
+        @Override public double getLastNestDiscoveryTime() { return lastNestDiscoveryTime[index]; }
+        @Override public double getLastTripTime() { return lastTripTime[index]; }
+        @Override public double getMeanTripTime() { return meanTripTime[index]; }
+        @Override public int getTripNumber() { return tripNumber[index]; }
+    }
+
+    // ==================== ACCESSO AGLI ARRAY ====================
+
+    public void attachDensityManager(DensityFieldManager densityFieldManager) {
+        this.densityFieldManager = densityFieldManager;
+    }
+
+    public void attachMultiHashGrid(MultiHashGrid multiHashGrid) {
+        this.multiHashGrid = multiHashGrid;
+    }
+
+    public void attachObstacleManager(ObstacleManager obstacleManager) {
+        this.obstacleManager = obstacleManager;
+    }
+
+    public int size() { return count; }
+
+    public double getPosX(int i) { return x[i]; }
+    public double getPosY(int i) { return y[i]; }
+    public double getCenterX(int i) { return x[i] + HALF_SIZE; }
+    public double getCenterY(int i) { return y[i] + HALF_SIZE; }
+    public double getDirectionX(int i) { return dirX[i]; }
+    public double getDirectionY(int i) { return dirY[i]; }
+    public byte getState(int i) { return state[i]; }
+    public boolean hasFoodLoad(int i) { return state[i] == RETURNING; }
+    public int getSerialNumber(int i) { return serialNumber[i]; }
+    public Nest getNest(int i) { return nests[nestId[i]]; }
+
+    public double getStartTrackTime(int i) { return startTrackTime[i]; }
+    public double getLastPheromoneX(int i) { return lastPheromoneX[i]; }
+    public double getLastPheromoneY(int i) { return lastPheromoneY[i]; }
+    public double getLastPheromoneTime(int i) { return lastPheromoneTime[i]; }
+
+    public void setLastPheromone(int i, double pheromoneX, double pheromoneY, double time) {
+        lastPheromoneX[i] = pheromoneX;
+        lastPheromoneY[i] = pheromoneY;
+        lastPheromoneTime[i] = time;
+    }
+
+    /**
+     * Prossimo double in [0, 1) della formica, come Ant.nextRandom: funzione di seme,
+     * numero di serie, tick dello sciame ed estrazioni già fatte nel tick
+     */
+    public double nextRandom(int i) {
+        return CounterRandom.nextDouble(randomSeed, serialNumber[i], tick, randomDraw[i]++);
+    }
+
+    /**
+     * Istante (nanosecondi) del tick in corso
+     */
+    public double getCurrentTime() { return currentTime; }
+
+    private int registerNest(Nest nest) {
+        for (int n = 0; n < nestCount; n++) {
+            if (nests[n] == nest) return n;
+        }
+
+        if (nestCount == nests.length) {
+            int capacity = Math.max(4, nestCount * 2);
+            nests = Arrays.copyOf(nests, capacity);
+            nestX = Arrays.copyOf(nestX, capacity);
+            nestY = Arrays.copyOf(nestY, capacity);
+            nestSize = Arrays.copyOf(nestSize, capacity);
+            nestBehaviour = Arrays.copyOf(nestBehaviour, capacity);
+        }
+
+        Coord position = nest.getPos();
+        nests[nestCount] = nest;
+        nestX[nestCount] = position.x;
+        nestY[nestCount] = position.y;
+        nestSize[nestCount] = nest.getSize();
+        nestBehaviour[nestCount] = nest.getBehaviour();
+        return nestCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (x.length >= capacity) return;
+
+        int newCapacity = Math.max(capacity, x.length * 2);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        dirX = Arrays.copyOf(dirX, newCapacity);
+        dirY = Arrays.copyOf(dirY, newCapacity);
+        steerX = Arrays.copyOf(steerX, newCapacity);
+        steerY = Arrays.copyOf(steerY, newCapacity);
+        state = Arrays.copyOf(state, newCapacity);
+        nestId = Arrays.copyOf(nestId, newCapacity);
+        serialNumber = Arrays.copyOf(serialNumber, newCapacity);
+        pheromoneAverage = Arrays.copyOf(pheromoneAverage, newCapacity);
+        startTrackTime = Arrays.copyOf(startTrackTime, newCapacity);
+        lastFoodDiscoveryTime = Arrays.copyOf(lastFoodDiscoveryTime, newCapacity);
+        lastNestDiscoveryTime = Arrays.copyOf(lastNestDiscoveryTime, newCapacity);
+        lastTripTime = Arrays.copyOf(lastTripTime, newCapacity);
+        meanTripTime = Arrays.copyOf(meanTripTime, newCapacity);
+        tripNumber = Arrays.copyOf(tripNumber, newCapacity);
+        lastPheromoneX = Arrays.copyOf(lastPheromoneX, newCapacity);
+        lastPheromoneY = Arrays.copyOf(lastPheromoneY, newCapacity);
+        lastPheromoneTime = Arrays.copyOf(lastPheromoneTime, newCapacity);
+        randomDraw = Arrays.copyOf(randomDraw, newCapacity);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.model;
+
+import com.example.graphics.Coord;
+import com.example.managers.FoodIndex;
+import com.example.metrics.MetricsCollector;
+
+public class Food extends GameObject {
+    
+    public static final int FOOD_DIM = 5;                 // Dimensione del cibo (20 :)
+
+    // Posizione nell'indice spaziale del cibo (per la rimozione in O(1))
+    private FoodIndex spatialIndex;
+    private int indexCell = -1;
+    private int indexSlot = -1;
+
+    public Food(double mapWidth, double mapHeight) {
+        super(
+        GameObject.generateRandomPosition(mapWidth, mapHeight, FOOD_DIM), 
+        GameObjType.FOOD, 
+        GameObject.getNewSerialNumber(), 
+        FOOD_DIM
+    );
+        //this.setSprite("foodSprite.png");
+    }
+
+    public Food(Coord pos) {
+        super(pos, GameObjType.FOOD, GameObject.getNewSerialNumber(), FOOD_DIM);
+        //this.setSprite("foodSprite.png");
+
+    }
+
+    public void onPickedUp(Ant ant) {
+        onPickedUp(ant.getSerialNumber());
+    }
+
+    public void onPickedUp(int antSerialNumber) {
+        MetricsCollector.getInstance().logEvent("FOOD_DISCOVERED", 
+            "Food picked up by Ant " + antSerialNumber, 
+            this.pos, "discovery_time");
+    }
+    
+    /**
+     * Disabilitato = raccolto o rimosso: esce anche dall'indice spaziale
+     */
+    @Override
+    public void disable() {
+        super.disable();
+        FoodIndex index = this.spatialIndex;
+        if (index != null) index.remove(this);
+    }
+
+    // Usati da FoodIndex
+    public FoodIndex getSpatialIndex() { return spatialIndex; }
+    public int getIndexCell() { return indexCell; }
+    public int getIndexSlot() { return indexSlot; }
+
+    public void setIndexPosition(FoodIndex spatialIndex, int cell, int slot) {
+        this.spatialIndex = spatialIndex;
+        this.indexCell = cell;
+        this.indexSlot = slot;
+    }
+    
+    public void update(double deltaTime) {
+        // Il cibo non ha logica di movimento, quindi non fa nulla
+        //if (!this.isEnabled()) return;
+    }
+
+
+
+}
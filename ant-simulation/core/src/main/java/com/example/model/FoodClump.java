@@ -2,9 +2,10 @@ package com.example.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.example.graphics.Coord;
+import com.example.simulation.RandomService;
 import com.example.simulation.Simulation;
 
 public class FoodClump extends GameObject {
@@ -15,7 +16,6 @@ public class FoodClump extends GameObject {
     private static final int CLUMP_SIZE = 70;  // Dimensione dell'ammasso di cibo in pixel
     private static final int MAX_ATTEMPTS = 500; // Numero massimo di tentativi per trovare una posizione valida
     private static final int MIN_DISTANCE = 200; // Distanza minima tra i clump
-    private static final Random RANDOM = new Random();
     private boolean hasSpawned = false;
 
     public FoodClump(Coord pos, int foodNumber, Simulation simulationParent) {
@@ -42,7 +42,7 @@ public class FoodClump extends GameObject {
             Coord candidate = GameObject.generateRandomPosition(mapWidth, mapHeight - minHeight, CLUMP_SIZE);
             
             boolean validPosition = true;
-            for (FoodClump existing : parent.getOriginalFoodClumps()) {
+            for (FoodClump existing : parent.getFoodClumps()) {
                 if (candidate.distance(existing.getCenter()) < MIN_DISTANCE + CLUMP_SIZE * 2) {
                     validPosition = false;
                     break;
@@ -60,11 +60,12 @@ public class FoodClump extends GameObject {
         
         // Genera i pezzi di cibo in un'area circolare attorno al centro del clump
         double clumpRadius = CLUMP_SIZE / 2.0;
+        SplittableRandom random = RandomService.getInstance().get(RandomService.Stream.FOOD_CLUMPS);
         
         for (int i = 0; i < initialFoodCount; i++) {
             // Genera posizione casuale nel raggio del clump
-            double angle = RANDOM.nextDouble() * 2 * Math.PI;
-            double distance = RANDOM.nextDouble() * clumpRadius;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double distance = random.nextDouble() * clumpRadius;
             
             Coord spawnPos = new Coord(
                 this.pos.x + Math.cos(angle) * distance,
@@ -1,10 +1,9 @@
 package com.example.model;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.example.graphics.Coord;
-
-import javafx.scene.image.Image;
+import com.example.simulation.RandomService;
 
 public abstract class GameObject {
 
@@ -18,7 +17,6 @@ public abstract class GameObject {
         OBSTACLE
     }
 
-    private static Random RANDOM = new Random();
     private static int SNCounter = 0;
     
     
@@ -27,7 +25,7 @@ public abstract class GameObject {
     protected int serialNumber;
     protected boolean enabled;
     protected double size;
-    protected Image sprite;
+    protected String sprite;                       // Nome dell'immagine in /com/example/images, caricata da GameCanvas
 
     public GameObject(Coord pos, GameObjType type, int serialNumber, int size) {
         this.pos = pos;
@@ -79,6 +77,12 @@ public abstract class GameObject {
         return new Coord(this.pos.x + (this.size / 2.0), this.pos.y + (this.size / 2.0));
     }
 
+    // Componenti di posizione e centro senza allocare un Coord (percorsi caldi delle griglie spaziali)
+    public double getPosX() { return this.pos.x; }
+    public double getPosY() { return this.pos.y; }
+    public double getCenterX() { return this.pos.x + (this.size / 2.0); }
+    public double getCenterY() { return this.pos.y + (this.size / 2.0); }
+
     public boolean isType(GameObjType type) {
         return this.getType().equals(type);
     }
@@ -91,11 +95,11 @@ public abstract class GameObject {
         return this.sprite != null;
     }
 
-    public void setSprite(Image sprite) {
+    public void setSprite(String sprite) {
         this.sprite = sprite;
     }
 
-    public Image getSprite() {
+    public String getSprite() {
         return this.sprite;
     }
 
@@ -110,8 +114,9 @@ public abstract class GameObject {
         if (availableWidth <= 0) availableWidth = mapWidth * 0.8;
         if (availableHeight <= 0) availableHeight = mapHeight * 0.8;
         
-        double x = margin + RANDOM.nextDouble() * availableWidth;
-        double y = margin + RANDOM.nextDouble() * availableHeight;
+        SplittableRandom random = RandomService.getInstance().get(RandomService.Stream.SPAWN);
+        double x = margin + random.nextDouble() * availableWidth;
+        double y = margin + random.nextDouble() * availableHeight;
 
         return new Coord(x, y);
     }
@@ -32,6 +32,14 @@ public class Nest extends GameObject {
 
 
     public void spawnAnts() {
+
+        // Con lo sciame struttura-di-array le formiche sono indici negli array, non oggetti
+        AntSwarm swarm = simulationParent.getAntSwarm();
+        if (swarm != null) {
+            swarm.spawn(this, antNumber, new Coord(this.pos.x - Ant.ANT_SIZE / 2.0, this.pos.y - Ant.ANT_SIZE / 2.0));
+            return;
+        }
+
         for (int i = 0; i < antNumber; i++) {
             
         Coord spawnPos = new Coord(
@@ -44,11 +52,12 @@ public class Nest extends GameObject {
     }
 
 
-    public void incrementFoodCount() {
+    // synchronized: con l'aggiornamento parallelo più formiche possono consegnare nello stesso frame
+    public synchronized void incrementFoodCount() {
         this.foodCount++;
     }
 
-    public int getFoodCount() {
+    public synchronized int getFoodCount() {
         return this.foodCount;
     }
 
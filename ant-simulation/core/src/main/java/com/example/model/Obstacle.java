@@ -37,14 +37,20 @@ public class Obstacle extends GameObject {
     }
     
     public boolean intersects(Coord point, double radius) {
+        return intersects(point.x, point.y, radius);
+    }
+
+    public boolean intersects(double pointX, double pointY, double radius) {
         if (type == ObstacleType.CIRCLE) {
             // Per ostacoli circolari
-            double distance = point.distance(pos);
+            double offsetX = pointX - pos.x;
+            double offsetY = pointY - pos.y;
+            double distance = Math.sqrt(offsetX * offsetX + offsetY * offsetY);
             return distance < (halfWidth + radius);
         } else {
             // Per ostacoli rettangolari
-            double dx = Math.abs(point.x - pos.x) - halfWidth;
-            double dy = Math.abs(point.y - pos.y) - halfHeight;
+            double dx = Math.abs(pointX - pos.x) - halfWidth;
+            double dy = Math.abs(pointY - pos.y) - halfHeight;
             
             if (dx <= 0 && dy <= 0) return true;
             if (dx > radius || dy > radius) return false;
@@ -66,6 +72,9 @@ public class Obstacle extends GameObject {
         return pos;
     }
 
+    public double getHalfWidth() { return halfWidth; }
+    public double getHalfHeight() { return halfHeight; }
+
     public Coord getSizeCoord() {
         return new Coord(width, height);
     }
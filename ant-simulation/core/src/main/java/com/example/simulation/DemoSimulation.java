@@ -13,7 +13,7 @@ public class DemoSimulation extends Simulation {
 
     public DemoSimulation(double mapWidth, double mapHeight) {
         super(NESTS_NUMBER, ANTS_NUMBER, FOODS_NUMBER, mapWidth, mapHeight);
-        this.selectedAntIndex = -1;                    // Inizializza l'indice della formica selezionata
+        this.selectFirstAnt = false;                   // Nessuna formica selezionata all'avvio
         this.ANTS_BEHAVIOUR = Ant.ANT_BEHAVIOUR.RANDOM; // Comportamento predefinito per la simulazione
         this.hasObstacles = false;
     }
@@ -22,10 +22,6 @@ public class DemoSimulation extends Simulation {
     public void start() throws InterruptedException {
 
         startupSimulation();
-        
-        Thread.sleep(100);
-
-        initialForm();
     }
 
     @Override
@@ -37,16 +33,7 @@ public class DemoSimulation extends Simulation {
             nests.add(new Nest(ANTS_NUMBER, new Coord(mapWidth/2, mapHeight/2), this));
         }
         for(int i = 0; i < FOODS_NUMBER; i++){
-            foods.add(new Food(mapWidth, mapHeight));
-        }
-    }
-
-    private void initialForm() throws InterruptedException {
-        exit = false;
-
-        while (!exit) {
-            try { Thread.sleep(REFRESH_RATE); } catch (InterruptedException e) { }
+            addFood(new Food(mapWidth, mapHeight));
         }
-
     }
 }
\ No newline at end of file
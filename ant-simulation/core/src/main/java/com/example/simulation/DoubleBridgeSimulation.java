@@ -57,9 +57,5 @@ public class DoubleBridgeSimulation extends Simulation {
     @Override
     public void start() throws InterruptedException {
         startupSimulation();
-        
-        while (!exit) {
-            try { Thread.sleep(REFRESH_RATE); } catch (InterruptedException e) { }
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.example.simulation;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista di entità con un solo scrittore: le entità vengono solo aggiunte (quelle finite
+ * vengono disabilitate, non rimosse) e tolte tutte insieme da clear. Ogni modifica pubblica
+ * una nuova epoca; view ritorna la vista immutabile dell'ultima epoca senza lock né copie.
+ *
+ * Una vista è l'array corrente più la dimensione al momento della pubblicazione: le celle
+ * sotto quella dimensione non vengono più riscritte (le aggiunte vanno oltre, la crescita
+ * e clear allocano un array nuovo), quindi resta valida e invariata anche mentre lo scrittore
+ * continua ad aggiungere. Chi la tiene per un tick intero vede le entità di inizio tick.
+ */
+public class EntityList<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] items = new Object[INITIAL_CAPACITY];     // Solo scrittore
+    private int size;
+    private long epoch;
+    private volatile View<T> view = new View<>(items, 0, 0);
+
+    /**
+     * Aggiunge in coda e pubblica una nuova epoca (solo scrittore)
+     */
+    public void add(T item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);             // Le viste precedenti tengono l'array vecchio
+        }
+        items[size++] = item;
+        view = new View<>(items, size, ++epoch);
+    }
+
+    /**
+     * Svuota la lista e pubblica una nuova epoca (solo scrittore)
+     */
+    public void clear() {
+        items = new Object[INITIAL_CAPACITY];
+        size = 0;
+        view = new View<>(items, 0, ++epoch);
+    }
+
+    /**
+     * Vista immutabile dell'ultima epoca pubblicata, da qualunque thread
+     */
+    public List<T> view() {
+        return view;
+    }
+
+    /**
+     * Epoca dell'ultima vista pubblicata: cambia a ogni add e clear
+     */
+    public long getEpoch() {
+        return view.epoch;
+    }
+
+    public int size() {
+        return view.size;
+    }
+
+    private static final class View<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] items;
+        private final int size;
+        private final long epoch;
+
+        View(Object[] items, int size, long epoch) {
+            this.items = items;
+            this.size = size;
+            this.epoch = epoch;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return (T) items[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -24,23 +24,5 @@ public class FullSimulation extends Simulation {
 
         // Inizializzazione dell'arraylist di formiche e di cibo
         startupSimulation();
-        
-        // selectedItemIndex = 0;
-        // zoom = false;
-
-        // simulationGraphicsSetup rimossa - sarà gestita dal controller JavaFX
-
-        while (!exit) {
-            try { Thread.sleep(REFRESH_RATE); } catch (InterruptedException e) { } 
-            /*
-                if(zoom) {
-                    if(selectedItemObj!=null && selectedItemObj.checkAlive()){
-                        centerOnPoint(selectedItemObj.getCircle().getCenter());
-                        lbl_stats_title.setText(selectedItemObj.getObjType().toUpperCase());
-                        lbl_stats_text.setText(selectedItemObj.toHTML());
-                    }
-                }
-            */
-        }   
     }
 }
\ No newline at end of file
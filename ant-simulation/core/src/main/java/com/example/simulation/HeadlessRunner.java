@@ -0,0 +1,99 @@
+package com.example.simulation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.example.config.SimulationParameters;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.SimulationStepper;
+import com.example.metrics.MetricsCollector;
+import com.example.model.Nest;
+
+/**
+ * Esecuzione senza finestra: crea la simulazione scelta, la fa avanzare con SimulationStepper
+ * (lo stesso tick della finestra) a passo fisso e alla massima velocità, poi esporta le
+ * metriche in LOGS_PATH. Seme e orologio vengono azzerati all'avvio, quindi stessi argomenti
+ * = stessa esecuzione. Niente JavaFX: nessun AnimationTimer, canvas o immagine.
+ *
+ * Uso: HeadlessRunner [tipo] [passi] [timestep] [seme] [larghezza] [altezza] [pipeline] [sciame] [parallelo] [precisione] [evaporazione]
+ *      (default: FULL_SIMULATION 10000 1/60 42 1200 800 false false false DOUBLE EAGER)
+ *
+ * Con sciame = true le formiche girano in AntSwarm: GRADIENT ricade su ALL_PHEROMONES e il CSV
+ * non contiene ANT_POSITION/ANT_DECISION, quindi non è confrontabile con un'esecuzione a oggetti Ant.
+ * Con parallelo = true le formiche vengono aggiornate su tutti i core (ParallelAntUpdater): il
+ * risultato non dipende dal numero di core, ma differisce da quello del ciclo seriale.
+ * La precisione (DOUBLE, FLOAT, FIXED16) è la memoria per cella dei campi di densità;
+ * l'evaporazione (EAGER, LAZY) sceglie se il decay viene applicato a ogni update o alla lettura.
+ */
+public class HeadlessRunner {
+
+    private static final double DEFAULT_TIMESTEP = 1 / 60.0;
+    private static final int PROGRESS_STEPS = 10_000;      // Una riga di avanzamento ogni 10000 passi
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        SimulationType type = args.length > 0 ? SimulationType.valueOf(args[0]) : SimulationType.FULL_SIMULATION;
+        long steps = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        double timestep = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TIMESTEP;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        double mapWidth = args.length > 4 ? Double.parseDouble(args[4]) : 1200;
+        double mapHeight = args.length > 5 ? Double.parseDouble(args[5]) : 800;
+        boolean pipelined = args.length > 6 && Boolean.parseBoolean(args[6]);
+        boolean swarm = args.length > 7 && Boolean.parseBoolean(args[7]);
+        boolean parallel = args.length > 8 && Boolean.parseBoolean(args[8]);
+        DensityFieldManager.FieldPrecision precision = args.length > 9
+            ? DensityFieldManager.FieldPrecision.valueOf(args[9]) : SimulationParameters.DEFAULT_FIELD_PRECISION;
+        DensityFieldManager.EvaporationMode evaporation = args.length > 10
+            ? DensityFieldManager.EvaporationMode.valueOf(args[10]) : SimulationParameters.DEFAULT_EVAPORATION_MODE;
+
+        if (steps <= 0 || timestep <= 0) {
+            throw new IllegalArgumentException("Passi e timestep devono essere positivi");
+        }
+
+        RandomService.getInstance().reseed(seed);
+        SimulationClock.getInstance().reset();
+
+        // Gli esperimenti con un nome proprio lo reimpostano in startupSimulation
+        String experimentName = type.name().toLowerCase() + "_seed" + seed;
+        MetricsCollector.getInstance().startExperiment(experimentName);
+
+        SimulationParameters.getInstance().setAntSwarmEnabled(swarm);
+        SimulationParameters.getInstance().setParallelUpdateEnabled(parallel);
+        SimulationParameters.getInstance().setFieldPrecision(precision);
+        SimulationParameters.getInstance().setEvaporationMode(evaporation);
+        Simulation simulation = type.create(mapWidth, mapHeight);
+        simulation.start();
+
+        SimulationStepper stepper = new SimulationStepper();
+        stepper.setDebugOutput(false);
+        stepper.setPipelinedDensityEnabled(pipelined);
+        stepper.setParallelUpdateEnabled(SimulationParameters.getInstance().isParallelUpdateEnabled());
+
+        System.out.printf("Headless %s: %d steps, dt=%.5fs, seed=%d, map %.0fx%.0f, %s field, %s evaporation%s%s%s%n",
+            type.getDisplayName(), steps, timestep, seed, mapWidth, mapHeight, precision, evaporation,
+            pipelined ? ", pipelined density" : "", swarm ? ", ant swarm" : "", parallel ? ", parallel ants" : "");
+
+        long start = System.nanoTime();
+        for (long step = 1; step <= steps; step++) {
+            stepper.step(simulation, timestep);
+
+            if (step % PROGRESS_STEPS == 0) {
+                System.out.printf("  step %d / %d (%.1f s simulated)%n", step, steps, SimulationClock.getInstance().getSeconds());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int delivered = 0;
+        for (Nest nest : simulation.getNests()) {
+            delivered += nest.getFoodCount();
+        }
+
+        System.out.printf("Done: %.1f s simulated in %.2f s (%.0f steps/s), food delivered: %d%n",
+            SimulationClock.getInstance().getSeconds(), elapsed / 1e9, steps / (elapsed / 1e9), delivered);
+
+        Files.createDirectories(Path.of(MetricsCollector.LOGS_PATH));
+        String filename = experimentName + ".csv";
+        MetricsCollector.getInstance().exportToCSV(filename);
+        System.out.println("Metrics exported to: " + MetricsCollector.LOGS_PATH + filename);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sorgente unica della casualità della simulazione. Da un seme master derivano un flusso
+ * SplittableRandom per ogni sottosistema (spawn, ammassi di cibo, rendering); le formiche
+ * usano lo stesso seme come chiave di CounterRandom. Niente Random statici condivisi,
+ * quindi nessuna contesa tra thread e, a parità di seme e di ordine di creazione degli
+ * oggetti, le stesse sequenze ad ogni esecuzione.
+ *
+ * Il seme va impostato con reseed prima di creare la simulazione; i flussi dei sottosistemi
+ * non sono thread-safe e vanno usati da un solo thread (spawn e ammassi dal thread della
+ * simulazione, il rendering da quello JavaFX).
+ */
+public class RandomService {
+
+    public enum Stream {
+        SPAWN,          // Posizioni casuali degli oggetti generati
+        FOOD_CLUMPS,    // Distribuzione del cibo negli ammassi
+        RENDER          // Jitter grafico (non influisce sulla simulazione)
+    }
+
+    private static final RandomService instance = new RandomService();
+
+    private long seed;
+    private final SplittableRandom[] streams = new SplittableRandom[Stream.values().length];
+
+    private RandomService() {
+        reseed(System.nanoTime());     // Senza seme esplicito ogni esecuzione è diversa, come prima
+    }
+
+    public static RandomService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Riparte da un nuovo seme master: i flussi dei sottosistemi vengono ricreati
+     * (nell'ordine dell'enum, quindi sempre uguali per lo stesso seme)
+     */
+    public synchronized void reseed(long seed) {
+        this.seed = seed;
+
+        SplittableRandom master = new SplittableRandom(seed);
+        for (Stream stream : Stream.values()) {
+            streams[stream.ordinal()] = master.split();
+        }
+    }
+
+    public synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Flusso condiviso del sottosistema (da richiedere ogni volta: reseed lo sostituisce)
+     */
+    public synchronized SplittableRandom get(Stream stream) {
+        return streams[stream.ordinal()];
+    }
+}
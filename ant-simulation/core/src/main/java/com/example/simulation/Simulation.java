@@ -0,0 +1,290 @@
+package com.example.simulation;
+
+import java.util.List;
+
+import com.example.config.SimulationParameters;
+import com.example.graphics.Coord;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.FoodIndex;
+import com.example.managers.ObstacleManager;
+import com.example.model.Ant;
+import com.example.model.AntSwarm;
+import com.example.model.Food;
+import com.example.model.FoodClump;
+import com.example.model.Nest;
+
+
+/**
+ * Stato di una simulazione. Le entità stanno in EntityList: le modifica solo il thread che
+ * esegue i tick, i getter ritornano viste immutabili dell'ultima epoca, senza lock né copie.
+ */
+public class Simulation {
+
+    public static final int REFRESH_RATE = 50;
+    public static final int NO_SELECTION = -1;
+
+    public final int ANTS_NUMBER;
+    public final int FOODS_NUMBER;
+    public final int NESTS_NUMBER;
+    public final int FOOD_CLUMP_NUMBER;
+    public final int FOOD_CLUMP_SIZE;          // Numero di pezzi di cibo in un ammasso
+    public Ant.ANT_BEHAVIOUR ANTS_BEHAVIOUR;
+
+    protected final EntityList<Nest> nests = new EntityList<>();
+    protected final EntityList<Ant> ants = new EntityList<>();
+    protected final EntityList<Food> foods = new EntityList<>();
+    protected final EntityList<FoodClump> foodClumps = new EntityList<>();
+
+    protected boolean selectFirstAnt = true;          // La prima formica generata parte selezionata
+    private volatile int selectedAntId = NO_SELECTION; // Numero di serie della formica selezionata per visualizzazione dettagli
+    private volatile Ant selectedAnt;                 // Risolta da selectedAntId
+
+    protected DensityFieldManager densityManager;
+    protected FoodIndex foodIndex;                    // Indice spaziale persistente del cibo (aggiornato su spawn e raccolta)
+    protected ObstacleManager obstacleManager;
+    protected AntSwarm antSwarm;                      // Sciame struttura-di-array (null = una Ant per formica)
+
+    protected boolean hasObstacles = false;
+    
+    protected boolean exit = false;
+
+    protected double mapWidth;
+    protected double mapHeight;
+
+    public Simulation(int nestsNumber, int antsNumber, int foodsNumber, double mapWidth, double mapHeight) {
+        this.NESTS_NUMBER = nestsNumber;
+        this.ANTS_NUMBER = antsNumber;
+        this.FOODS_NUMBER = foodsNumber;
+        this.FOOD_CLUMP_NUMBER = 0;                     // Non usato in questa simulazione
+        this.FOOD_CLUMP_SIZE = 0;                       // Non usato in questa simulazione
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.ANTS_BEHAVIOUR = Ant.ANT_BEHAVIOUR.RANDOM; // Comportamento predefinito per la simulazione
+        this.foodIndex = new FoodIndex(mapWidth, mapHeight);
+        setAntSwarmEnabled(SimulationParameters.getInstance().isAntSwarmEnabled());
+    }
+
+    public Simulation(int nestsNumber, int antsNumber, int foodClumpSize, int foodClumpNumber, double mapWidth, double mapHeight) {
+        this.NESTS_NUMBER = nestsNumber;
+        this.ANTS_NUMBER = antsNumber;
+        this.FOOD_CLUMP_SIZE = foodClumpSize;
+        this.FOOD_CLUMP_NUMBER = foodClumpNumber;
+        this.FOODS_NUMBER = foodClumpSize * foodClumpNumber; // Numero totale di pezzi di cibo
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.ANTS_BEHAVIOUR = Ant.ANT_BEHAVIOUR.RANDOM; // Comportamento predefinito per la simulazione
+        this.foodIndex = new FoodIndex(mapWidth, mapHeight);
+        setAntSwarmEnabled(SimulationParameters.getInstance().isAntSwarmEnabled());
+    }
+
+
+    /**
+     * Prepara lo stato iniziale (nidi, cibo, ostacoli) e ritorna: i tick li esegue chi
+     * guida la simulazione (SimulationLoop nella finestra, HeadlessRunner senza grafica)
+     */
+    public void start() throws InterruptedException {
+        throw new IllegalArgumentException("Tipo di simulazione non supportato: ");
+    }
+
+    /**
+     * Crea i campi di densità con precisione ed evaporazione delle impostazioni di setup
+     * (SimulationParameters.getFieldPrecision, getEvaporationMode)
+     */
+    public void initDensityManager() {
+        SimulationParameters params = SimulationParameters.getInstance();
+        this.densityManager = new DensityFieldManager(this.mapWidth, this.mapHeight, params.getFieldPrecision());
+        this.densityManager.setEvaporationMode(params.getEvaporationMode());
+    }
+
+    /**
+     * Con lo sciame attivo i nidi generano le formiche negli array di AntSwarm invece che
+     * come oggetti Ant (per colonie molto grandi). Va impostato prima di start; il default
+     * viene dall'impostazione di setup SimulationParameters.isAntSwarmEnabled.
+     *
+     * Le due modalità non producono le stesse metriche: lo sciame usa ALL_PHEROMONES quando il
+     * comportamento è GRADIENT e non registra i campionamenti ANT_POSITION/ANT_DECISION
+     * (solo raccolte e consegne), quindi i CSV vanno confrontati solo a parità di modalità
+     */
+    public void setAntSwarmEnabled(boolean enabled) {
+        this.antSwarm = enabled ? new AntSwarm(this.mapWidth, this.mapHeight) : null;
+    }
+
+    public AntSwarm getAntSwarm() {
+        return antSwarm;
+    }
+
+    public DensityFieldManager getDensityManager() {
+        return densityManager;
+    }
+
+    public void updateDensityField(double deltaTime) {
+        if (densityManager == null) return;
+
+        densityManager.update(deltaTime);
+    }
+
+    public synchronized void reset() throws InterruptedException {
+
+        for (Nest nest : nests.view()) {
+            nest.disable();
+        }
+
+        nests.clear();
+
+        for (Ant ant : ants.view()) {
+            ant.disable();
+        }
+
+        ants.clear();
+        selectedAntId = NO_SELECTION;
+        selectedAnt = null;
+
+        for (Food food : foods.view()) {
+            food.disable();
+        }
+
+        foods.clear();
+        foodIndex.clear();
+
+        for (FoodClump foodClump : foodClumps.view()) {
+            foodClump.disable();
+        }
+
+        foodClumps.clear();
+
+        if (antSwarm != null) {
+            antSwarm.clear();
+        }
+
+        if (densityManager != null) {
+            densityManager.clear();
+        }
+
+    }
+
+    public void addFood(Food food) {
+        this.foods.add(food);
+        this.foodIndex.insert(food);
+    }
+
+    public FoodIndex getFoodIndex() {
+        return foodIndex;
+    }
+
+    public void addAnt(Ant ant) {
+        ant.attachDensityManager(densityManager);
+        ant.setListIndex(ants.size());
+        this.ants.add(ant);
+
+        if (selectFirstAnt && ants.size() == 1) setSelectedAnt(ant);
+    }
+
+    protected synchronized void startupSimulation() {
+
+        System.out.println(new Coord(mapWidth/2, mapHeight/2));
+
+        for (int i = 0; i < NESTS_NUMBER; i++) {
+            nests.add(new Nest(ANTS_NUMBER, calcNestCoordinates(i), this));
+        }
+
+        for(int i = 0; i < FOOD_CLUMP_NUMBER; i++){
+            foodClumps.add(new FoodClump(FOOD_CLUMP_SIZE, mapWidth, mapHeight, this));
+        }
+    }
+
+    private Coord calcNestCoordinates(int index) {
+        double spacing = mapWidth / (NESTS_NUMBER + 1);
+
+
+        int pos = index / 2;
+        double offset = pos == 0 ? 0 : ((pos + 1) / 2) * spacing * (pos % 2 == 1 ? 1 : -1);
+        return new Coord(mapWidth / 2.0 + offset, index % 2 == 0 ? mapHeight : 0);
+    }
+
+    public List<Nest> getNests() { 
+        return nests.view();
+    }
+
+    public List<FoodClump> getFoodClumps() { 
+        return foodClumps.view();
+    }
+
+    public Ant getSelectedAnt() {
+        if (antSwarm != null) return antSwarm.getSelectedAnt();
+
+        return selectedAnt;
+    }
+
+    /**
+     * Seleziona per numero di serie (null = nessuna); una formica che non appartiene
+     * alla simulazione toglie la selezione
+     */
+    public void setSelectedAnt(Ant ant) {
+        boolean found = getAntIndex(ant) >= 0;
+        this.selectedAnt = found ? ant : null;
+        this.selectedAntId = found ? ant.getSerialNumber() : NO_SELECTION;
+    }
+
+    /**
+     * Come setSelectedAnt, cercando la formica nella lista (scansione lineare: solo per la
+     * selezione, non per i tick)
+     */
+    public void setSelectedAntId(int serialNumber) {
+        for (Ant ant : ants.view()) {
+            if (ant.getSerialNumber() == serialNumber) {
+                setSelectedAnt(ant);
+                return;
+            }
+        }
+        setSelectedAnt(null);
+    }
+
+    public int getSelectedAntId() {
+        return selectedAntId;
+    }
+
+    /**
+     * Posizione della formica in getAnts, -1 se non c'è. La posizione sta sulla formica
+     * (come lo slot di Food nel FoodIndex) e viene verificata sulla vista dell'ultima epoca,
+     * quindi la lettura è sicura da qualunque thread e dopo clear
+     */
+    public int getAntIndex(Ant ant) {
+        if (ant == null) return -1;
+
+        List<Ant> view = ants.view();
+        int index = ant.getListIndex();
+        return index >= 0 && index < view.size() && view.get(index) == ant ? index : -1;
+    }
+
+    public List<Ant> getAnts() { 
+        return ants.view();
+    }
+
+    public List<Food> getFoods() { 
+        return foods.view();
+    }
+
+    /**
+     * Epoca delle entità: cambia quando una lista viene modificata (per chi tiene
+     * dati derivati dalle viste e vuole ricalcolarli solo se serve)
+     */
+    public long getEntityEpoch() {
+        return nests.getEpoch() + ants.getEpoch() + foods.getEpoch() + foodClumps.getEpoch();
+    }
+
+    public ObstacleManager getObstacleManager() {
+        return obstacleManager;
+    }
+
+    public boolean hasObstacles() { return this.hasObstacles; }
+    
+    public void setExit(boolean exit) { this.exit = exit; }
+    public boolean isExit() { return exit; }
+    
+    public double getMapWidth() { return mapWidth; }
+    public double getMapHeight() { return mapHeight; }
+
+    public Ant.ANT_BEHAVIOUR getBehaviour() {
+        return this.ANTS_BEHAVIOUR;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.simulation;
+
+/**
+ * Orologio della simulazione: il tempo avanza solo con i deltaTime dei tick (advance),
+ * non con l'orologio di sistema. Tutti i timer del modello (viaggi, milestone, feromoni,
+ * campionamenti) e i timestamp delle metriche lo leggono in nanosecondi, come prima
+ * leggevano System.nanoTime: a parità di deltaTime la dinamica è la stessa sia che i tick
+ * arrivino a 60 FPS dalla UI sia che un'esecuzione senza grafica li esegua il più
+ * velocemente possibile.
+ *
+ * Avanza dal thread che esegue i tick; le letture da altri thread vedono sempre un valore
+ * consistente (campi volatile).
+ */
+public class SimulationClock {
+
+    private static final SimulationClock instance = new SimulationClock();
+
+    private volatile long nanoTime;
+    private volatile long tick;
+
+    private SimulationClock() {
+    }
+
+    public static SimulationClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Un tick di deltaTime secondi
+     */
+    public void advance(double deltaTime) {
+        nanoTime += Math.round(deltaTime * 1_000_000_000.0);
+        tick++;
+    }
+
+    /**
+     * Avanza il tempo senza contare un tick (sotto-passi di un tick già contato da advance)
+     */
+    public void advanceTime(double deltaTime) {
+        nanoTime += Math.round(deltaTime * 1_000_000_000.0);
+    }
+
+    /**
+     * Riporta l'orologio a zero. Come System.nanoTime l'orologio è monotono tra una simulazione
+     * e l'altra (i timer del modello usano solo differenze); lo azzera chi ricrea tutto lo
+     * stato da capo, per esempio un'esecuzione senza grafica
+     */
+    public void reset() {
+        nanoTime = 0;
+        tick = 0;
+    }
+
+    /**
+     * Tempo simulato trascorso in nanosecondi
+     */
+    public long nanoTime() {
+        return nanoTime;
+    }
+
+    public double getSeconds() {
+        return nanoTime / 1_000_000_000.0;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+}
@@ -17,4 +17,20 @@ public enum SimulationType {
     
     public String getDisplayName() { return displayName; }
     public String getDescription() { return description; }
+
+    /**
+     * Crea la simulazione di questo tipo su una mappa delle dimensioni date
+     */
+    public Simulation create(double mapWidth, double mapHeight) {
+        switch (this) {
+            case DOUBLE_BRIDGE:
+                return new DoubleBridgeSimulation(mapWidth, mapHeight);
+            case T_JUNCTION:
+                return new TJunctionSimulation(mapWidth, mapHeight);
+            case DEMO:
+                return new DemoSimulation(mapWidth, mapHeight);
+            default:
+                return new FullSimulation(mapWidth, mapHeight);
+        }
+    }
 }
\ No newline at end of file
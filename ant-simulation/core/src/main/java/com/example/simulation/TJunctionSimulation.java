@@ -79,11 +79,6 @@ public class TJunctionSimulation extends Simulation {
     @Override
     public void start() throws InterruptedException {
         startupSimulation();
-        
-        while (!exit) {
-            
-            try { Thread.sleep(REFRESH_RATE); } catch (InterruptedException e) { }
-        }
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Pheromone;
+
+/**
+ * getTotalActiveCells conta le celle non nulle in almeno un canale: una cella con entrambi
+ * i feromoni vale una volta sola, come nel conteggio cella per cella
+ */
+class ActiveCellCountTest {
+
+    private static final double MAP_SIZE = 300;             // 150 x 150 celle
+
+    @Test
+    void overlappingCellsCountOnceEager() {
+        assertUnionCount(DensityFieldManager.EvaporationMode.EAGER);
+    }
+
+    @Test
+    void overlappingCellsCountOnceLazy() {
+        assertUnionCount(DensityFieldManager.EvaporationMode.LAZY);
+    }
+
+    private static void assertUnionCount(DensityFieldManager.EvaporationMode mode) {
+        DensityFieldManager manager = new DensityFieldManager(MAP_SIZE, MAP_SIZE);
+        manager.setEvaporationMode(mode);
+
+        // Metà dei depositi cade su celle che hanno già l'altro feromone
+        for (int i = 0; i < 200; i++) {
+            double x = (i * 37) % MAP_SIZE;
+            double y = (i * 53) % MAP_SIZE;
+            manager.addPheromone(x, y, Pheromone.PheromoneType.FOOD_TRAIL, 1.0);
+            if (i % 2 == 0) manager.addPheromone(x, y, Pheromone.PheromoneType.HOME_TRAIL, 1.0);
+            else manager.addPheromone(MAP_SIZE - 1 - x, y, Pheromone.PheromoneType.HOME_TRAIL, 1.0);
+        }
+        manager.update(0.05);
+        manager.update(0.05);
+
+        int expected = 0;
+        int overlapping = 0;
+        int cells = (int) (MAP_SIZE / manager.getCellSize());
+        for (int y = 0; y < cells; y++) {
+            for (int x = 0; x < cells; x++) {
+                boolean food = manager.getIntensity(Pheromone.PheromoneType.FOOD_TRAIL, x, y) > 0;
+                boolean home = manager.getIntensity(Pheromone.PheromoneType.HOME_TRAIL, x, y) > 0;
+                expected += food || home ? 1 : 0;
+                overlapping += food && home ? 1 : 0;
+            }
+        }
+
+        assertTrue(overlapping > 0, "no overlapping cells");
+        assertEquals(expected, manager.getTotalActiveCells(), mode + " active cells");
+    }
+}
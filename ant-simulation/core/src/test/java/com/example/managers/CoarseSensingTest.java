@@ -0,0 +1,71 @@
+package com.example.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.config.SimulationParameters;
+import com.example.model.Pheromone;
+
+/**
+ * Con sensori più larghi di COARSE_SENSOR_RADIUS la piramide viene costruita dall'update e
+ * getMeanIntensity la legge (quattro letture interpolate, riportate alla scala dello stencil):
+ * su un campo uniforme deve dare lo stesso valore dello stencil
+ */
+class CoarseSensingTest {
+
+    private static final double MAP_SIZE = 512;             // 256 x 256 celle
+    private static final int RADIUS = DensityFieldManager.COARSE_SENSOR_RADIUS + 4;
+    private static final Pheromone.PheromoneType TYPE = Pheromone.PheromoneType.HOME_TRAIL;
+
+    @AfterEach
+    void restoreParameters() {
+        SimulationParameters.getInstance().resetToDefaults();
+    }
+
+    @Test
+    void wideSensorsReadThePyramid() {
+        SimulationParameters.getInstance().setAntSensorRadius(RADIUS);
+
+        DensityFieldManager manager = new DensityFieldManager(MAP_SIZE, MAP_SIZE);
+        manager.setSensingMode(DensityFieldManager.SensingMode.STENCIL);
+        double cellSize = manager.getCellSize();
+        for (int y = 0; y < MAP_SIZE / cellSize; y++) {
+            for (int x = 0; x < MAP_SIZE / cellSize; x++) {
+                manager.addPheromone((x + 0.5) * cellSize, (y + 0.5) * cellSize, TYPE, 1.0);
+            }
+        }
+        manager.update(0.05);
+        assertTrue(manager.getPyramidLevels() > 1, "pyramid not built");
+
+        // Centro della mappa: i blocchi letti sono interni, lontani dal bordo eroso dalla diffusione
+        double center = MAP_SIZE / 2;
+        int cell = (int) (center / cellSize);
+        double cellValue = manager.getIntensity(TYPE, cell, cell);
+        double stencilCells = 2.0 * RADIUS * RADIUS + 2.0 * RADIUS + 1;
+        double expected = cellValue * stencilCells / (Math.PI * RADIUS * RADIUS);
+
+        assertEquals(expected, manager.getMeanIntensity(center, center, TYPE, RADIUS), 1e-9);
+    }
+
+    @Test
+    void wideSensorsUseFourCoarseReads() {
+        SimulationParameters.getInstance().setAntSensorRadius(RADIUS);
+
+        DensityFieldManager manager = new DensityFieldManager(MAP_SIZE, MAP_SIZE);
+        for (int i = 0; i < 400; i++) {
+            manager.addPheromone((i * 37) % MAP_SIZE, (i * 53) % MAP_SIZE, TYPE, 0.5 + (i % 5) * 0.4);
+        }
+        manager.update(0.05);
+
+        double scale = (2.0 * RADIUS * RADIUS + 2.0 * RADIUS + 1) / (Math.PI * RADIUS * RADIUS);
+        for (double y = 10; y < MAP_SIZE; y += 45) {
+            for (double x = 10; x < MAP_SIZE; x += 45) {
+                assertEquals(manager.getCoarseMeanIntensity(x, y, TYPE, RADIUS) * scale,
+                    manager.getMeanIntensity(x, y, TYPE, RADIUS), 1e-12, "sensor at " + x + "," + y);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.managers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Pheromone;
+
+/**
+ * La copia in blocco usata da RenderSnapshot (copyLevel) deve dare gli stessi valori delle
+ * letture per cella (getLevelIntensity), anche con decay lazy e buffer quantizzati; la copia
+ * dei soli tile attivi (copyActiveTiles) deve restare uguale alla copia completa
+ */
+class DensityFieldCopyTest {
+
+    private static final double MAP_SIZE = 300;             // 150 x 150 celle: tile e livelli non allineati al bordo
+    private static final Pheromone.PheromoneType TYPE = Pheromone.PheromoneType.FOOD_TRAIL;
+
+    @Test
+    void copyMatchesCellReadsEager() {
+        for (DensityFieldManager.FieldPrecision precision : DensityFieldManager.FieldPrecision.values()) {
+            assertCopyMatches(precision, DensityFieldManager.EvaporationMode.EAGER);
+        }
+    }
+
+    @Test
+    void copyMatchesCellReadsLazy() {
+        for (DensityFieldManager.FieldPrecision precision : DensityFieldManager.FieldPrecision.values()) {
+            assertCopyMatches(precision, DensityFieldManager.EvaporationMode.LAZY);
+        }
+    }
+
+    @Test
+    void activeTileCopyMatchesFullCopy() {
+        for (DensityFieldManager.EvaporationMode mode : DensityFieldManager.EvaporationMode.values()) {
+            DensityFieldManager manager = new DensityFieldManager(MAP_SIZE, MAP_SIZE, DensityFieldManager.FieldPrecision.FLOAT);
+            manager.setEvaporationMode(mode);
+
+            int cells = manager.getLevelWidth(0) * manager.getLevelHeight(0);
+            double[] incremental = new double[cells];
+            double[] full = new double[cells];
+            BitSet copiedTiles = new BitSet();
+
+            // Depositi per 60 update, poi solo evaporazione finché i tile si addormentano
+            for (int update = 0; update < 240; update++) {
+                if (update < 60) {
+                    for (int i = 0; i < 10; i++) {
+                        int n = update * 10 + i;
+                        manager.addPheromone((n * 37) % MAP_SIZE, (n * 53) % MAP_SIZE, TYPE, 0.5 + (n % 5) * 0.4);
+                    }
+                }
+                manager.update(0.05);
+                if (update == 200) manager.clear();
+
+                manager.copyActiveTiles(TYPE, incremental, copiedTiles);
+                manager.copyLevel(TYPE, 0, full);
+                assertArrayEquals(full, incremental, mode + " update " + update);
+            }
+        }
+    }
+
+    private static void assertCopyMatches(DensityFieldManager.FieldPrecision precision, DensityFieldManager.EvaporationMode mode) {
+        DensityFieldManager manager = new DensityFieldManager(MAP_SIZE, MAP_SIZE, precision);
+        manager.setEvaporationMode(mode);
+        manager.setPyramidEnabled(true);
+
+        for (int i = 0; i < 120; i++) {
+            manager.addPheromone((i * 37) % MAP_SIZE, (i * 53) % MAP_SIZE, TYPE, 0.5 + (i % 5) * 0.4);
+            if (i % 10 == 9) manager.update(0.05);
+        }
+        assertTrue(manager.getPyramidLevels() > 2, "pyramid not built");
+
+        for (int level = 0; level < manager.getPyramidLevels(); level++) {
+            int width = manager.getLevelWidth(level);
+            int height = manager.getLevelHeight(level);
+            double[] copy = new double[width * height];
+            manager.copyLevel(TYPE, level, copy);
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    assertEquals(manager.getLevelIntensity(TYPE, level, x, y), copy[y * width + x], 0.0,
+                        precision + " " + mode + " level " + level + " at " + x + "," + y);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.config.SimulationParameters;
+import com.example.model.Pheromone;
+import com.example.simulation.Simulation;
+import com.example.simulation.TJunctionSimulation;
+
+/**
+ * Precisione ridotta dei campi (FLOAT, FIXED16) confrontata cella per cella con il riferimento
+ * DOUBLE su deposito, decay, diffusione e sensori, a parità di depositi e di update.
+ *
+ * Tolleranze assolute:
+ * - FLOAT: 1e-6 sul deposito, 1e-5 dopo UPDATES passate (errore relativo ~6e-8 per scrittura)
+ * - FIXED16: un quanto (~1.5e-4) sul deposito, un quanto per passata dopo gli update
+ *   (il troncamento toglie al più un quanto a ogni scrittura)
+ * Una cella può valere zero in un campo e poco sopra minIntensity nell'altro: la soglia è
+ * discontinua, quindi in quel caso basta che il valore non nullo stia entro la tolleranza dalla soglia.
+ */
+class FieldPrecisionAccuracyTest {
+
+    private static final double QUANTUM = SimulationParameters.Constraints.MAX_INTENSITY_MAX / Character.MAX_VALUE;
+    private static final double MAP_SIZE = 256;             // 128 x 128 celle
+    private static final int UPDATES = 60;
+    private static final double DELTA_TIME = 0.05;          // Tre tick a 60 tick/s, come il vecchio FRAME_SKIP
+
+    private static final double FLOAT_DEPOSIT_TOLERANCE = 1e-6;
+    private static final double FLOAT_UPDATE_TOLERANCE = 1e-5;
+    private static final double FIXED16_DEPOSIT_TOLERANCE = QUANTUM;
+    private static final double FIXED16_UPDATE_TOLERANCE = QUANTUM * UPDATES;
+
+    private static final Pheromone.PheromoneType TYPE = Pheromone.PheromoneType.HOME_TRAIL;
+
+    @AfterEach
+    void restoreParameters() {
+        SimulationParameters.getInstance().resetToDefaults();
+    }
+
+    @Test
+    void simulationUsesSetupFieldSettings() {
+        SimulationParameters.getInstance().setFieldPrecision(DensityFieldManager.FieldPrecision.FIXED16);
+        SimulationParameters.getInstance().setEvaporationMode(DensityFieldManager.EvaporationMode.LAZY);
+        Simulation simulation = new TJunctionSimulation(MAP_SIZE, MAP_SIZE);
+
+        assertEquals(DensityFieldManager.FieldPrecision.FIXED16, simulation.getDensityManager().getFieldPrecision());
+        assertEquals(DensityFieldManager.EvaporationMode.LAZY, simulation.getDensityManager().getEvaporationMode());
+    }
+
+    @Test
+    void depositMatchesDoubleReference() {
+        DensityFieldManager reference = depositedField(DensityFieldManager.FieldPrecision.DOUBLE);
+
+        assertFieldClose(reference, depositedField(DensityFieldManager.FieldPrecision.FLOAT), FLOAT_DEPOSIT_TOLERANCE, "FLOAT deposit");
+        assertFieldClose(reference, depositedField(DensityFieldManager.FieldPrecision.FIXED16), FIXED16_DEPOSIT_TOLERANCE, "FIXED16 deposit");
+    }
+
+    @Test
+    void decayMatchesDoubleReference() {
+        SimulationParameters.getInstance().setDiffusionRate(0);
+
+        DensityFieldManager reference = updatedField(DensityFieldManager.FieldPrecision.DOUBLE);
+
+        assertFieldClose(reference, updatedField(DensityFieldManager.FieldPrecision.FLOAT), FLOAT_UPDATE_TOLERANCE, "FLOAT decay");
+        assertFieldClose(reference, updatedField(DensityFieldManager.FieldPrecision.FIXED16), FIXED16_UPDATE_TOLERANCE, "FIXED16 decay");
+    }
+
+    @Test
+    void diffusionMatchesDoubleReference() {
+        DensityFieldManager reference = updatedField(DensityFieldManager.FieldPrecision.DOUBLE);
+
+        assertFieldClose(reference, updatedField(DensityFieldManager.FieldPrecision.FLOAT), FLOAT_UPDATE_TOLERANCE, "FLOAT diffusion");
+        assertFieldClose(reference, updatedField(DensityFieldManager.FieldPrecision.FIXED16), FIXED16_UPDATE_TOLERANCE, "FIXED16 diffusion");
+    }
+
+    @Test
+    void sensingMatchesDoubleReference() {
+        DensityFieldManager reference = updatedField(DensityFieldManager.FieldPrecision.DOUBLE);
+        DensityFieldManager single = updatedField(DensityFieldManager.FieldPrecision.FLOAT);
+        DensityFieldManager fixed = updatedField(DensityFieldManager.FieldPrecision.FIXED16);
+
+        for (double y = 7; y < MAP_SIZE; y += 13) {
+            for (double x = 5; x < MAP_SIZE; x += 11) {
+                double expected = reference.getMeanIntensity(x, y, TYPE, 3);
+                assertEquals(expected, single.getMeanIntensity(x, y, TYPE, 3), FLOAT_UPDATE_TOLERANCE, "FLOAT sensor at " + x + "," + y);
+                assertEquals(expected, fixed.getMeanIntensity(x, y, TYPE, 3), FIXED16_UPDATE_TOLERANCE, "FIXED16 sensor at " + x + "," + y);
+            }
+        }
+    }
+
+    /**
+     * Un valore che decade di meno di mezzo quanto per passata non deve restare bloccato
+     * (con l'arrotondamento al più vicino non evaporava mai)
+     */
+    @Test
+    void fixed16LowValuesEvaporate() {
+        SimulationParameters.getInstance().setDiffusionRate(0);
+        SimulationParameters.getInstance().setMinIntensity(0.01);
+
+        DensityFieldManager reference = new DensityFieldManager(MAP_SIZE, MAP_SIZE, DensityFieldManager.FieldPrecision.DOUBLE);
+        DensityFieldManager fixed = new DensityFieldManager(MAP_SIZE, MAP_SIZE, DensityFieldManager.FieldPrecision.FIXED16);
+        reference.addPheromone(101, 101, TYPE, 0.03);
+        fixed.addPheromone(101, 101, TYPE, 0.03);
+
+        int referenceSteps = 0;
+        while (reference.getIntensity(TYPE, 50, 50) > 0) {
+            reference.update(1 / 60.0);
+            referenceSteps++;
+            assertTrue(referenceSteps < 100_000, "DOUBLE reference never evaporated");
+        }
+
+        for (int step = 0; step < referenceSteps; step++) {
+            fixed.update(1 / 60.0);
+        }
+        assertEquals(0.0, fixed.getIntensity(TYPE, 50, 50), 0.0, "FIXED16 cell still alive after " + referenceSteps + " updates");
+    }
+
+    private static DensityFieldManager depositedField(DensityFieldManager.FieldPrecision precision) {
+        DensityFieldManager manager = new DensityFieldManager(MAP_SIZE, MAP_SIZE, precision);
+
+        // Depositi su celle distinte (centri delle celle), con intensità diverse
+        for (int i = 0; i < 200; i++) {
+            double x = (i % 20) * 12 + 5;
+            double y = (i / 20) * 12 + 5;
+            manager.addPheromone(x, y, TYPE, 0.5 + (i % 7) * 0.3);
+        }
+        return manager;
+    }
+
+    private static DensityFieldManager updatedField(DensityFieldManager.FieldPrecision precision) {
+        DensityFieldManager manager = depositedField(precision);
+        for (int i = 0; i < UPDATES; i++) {
+            manager.update(DELTA_TIME);
+        }
+        return manager;
+    }
+
+    private static void assertFieldClose(DensityFieldManager reference, DensityFieldManager other, double tolerance, String label) {
+        double threshold = SimulationParameters.getInstance().getMinIntensity();
+
+        for (int y = 0; y < reference.getGridHeight(); y++) {
+            for (int x = 0; x < reference.getGridWidth(); x++) {
+                double expected = reference.getIntensity(TYPE, x, y);
+                double actual = other.getIntensity(TYPE, x, y);
+                if (Math.abs(expected - actual) <= tolerance) continue;
+
+                // Cella azzerata da una sola parte: ammessa solo a ridosso della soglia
+                boolean nearThreshold = Math.min(expected, actual) == 0 && Math.max(expected, actual) < threshold + tolerance;
+                assertTrue(nearThreshold, label + " at " + x + "," + y + ": expected " + expected + " got " + actual);
+            }
+        }
+    }
+}
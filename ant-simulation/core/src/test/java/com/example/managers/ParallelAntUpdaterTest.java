@@ -0,0 +1,101 @@
+package com.example.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.graphics.Coord;
+import com.example.metrics.MetricsCollector;
+import com.example.model.Ant;
+import com.example.model.Food;
+import com.example.model.Nest;
+import com.example.simulation.Simulation;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Gli eventi registrati dalle formiche durante l'aggiornamento parallelo arrivano nel
+ * registro nell'ordine delle formiche nella lista, qualunque sia il blocco (e il thread)
+ * che le ha aggiornate: così il CSV non dipende dal numero di core.
+ */
+class ParallelAntUpdaterTest {
+
+    private static final double MAP_WIDTH = 1200;
+    private static final double MAP_HEIGHT = 800;
+    private static final double DELTA_TIME = 1 / 60.0;
+    private static final int CHUNKS = 4;
+    private static final int ANT_COUNT = 256 * CHUNKS;      // Un blocco pieno per ognuno dei CHUNKS
+    private static final int FOOD_COUNT = 300;
+    private static final int FRAMES = 240;
+
+    @Test
+    void eventsAreMergedInAntOrder() {
+        MetricsCollector metrics = MetricsCollector.getInstance();
+        metrics.startExperiment("parallel_event_order");
+
+        Simulation simulation = new Simulation(1, ANT_COUNT, FOOD_COUNT, MAP_WIDTH, MAP_HEIGHT);
+        simulation.ANTS_BEHAVIOUR = Ant.ANT_BEHAVIOUR.ALL_PHEROMONES;
+        simulation.initDensityManager();
+
+        Random random = new Random(42);
+        for (int i = 0; i < FOOD_COUNT; i++) {
+            simulation.addFood(new Food(new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT / 2)));
+        }
+        new Nest(ANT_COUNT, new Coord(MAP_WIDTH / 2, MAP_HEIGHT - 50), simulation).spawnAnts();
+
+        List<Ant> ants = simulation.getAnts();
+        Map<Integer, Integer> indexBySerialNumber = new HashMap<>();
+        for (Ant ant : ants) {
+            indexBySerialNumber.put(ant.getSerialNumber(), simulation.getAntIndex(ant));
+        }
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        MultiHashGrid grid = new MultiHashGrid();
+        grid.setFoodIndex(simulation.getFoodIndex());
+        ParallelAntUpdater updater = new ParallelAntUpdater(CHUNKS);
+
+        int checkedFrames = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            SimulationClock.getInstance().advance(DELTA_TIME);
+            grid.rebuildAnts(ants);
+
+            int first = metrics.getEventCount();
+            updater.update(ants, DELTA_TIME, grid, null, densityManager, null, Ant.ANT_SIZE);
+            assertEquals(CHUNKS, updater.getChunkCount(), "chunk count");
+
+            List<MetricsCollector.LogEntry> entries = metrics.getEntries();
+            int previous = -1;
+            for (int i = first; i < entries.size(); i++) {
+                int index = indexBySerialNumber.get(antSerialNumber(entries.get(i)));
+                assertTrue(index >= previous, "frame " + frame + ": ant #" + index + " logged after ant #" + previous);
+                previous = index;
+            }
+            if (entries.size() > first) checkedFrames++;
+
+            for (int i = 0; i < updater.getPickupCount(); i++) {
+                Food food = updater.getPickupFood(i);
+                updater.getPickupAnt(i).pickupFood(food);
+                food.disable();
+            }
+            if (frame % 3 == 0) densityManager.update(DELTA_TIME * 3);
+        }
+
+        assertTrue(checkedFrames > 0, "No ant events were recorded");
+    }
+
+    /**
+     * Numero di serie da una descrizione "Ant <n> ..." (campionamenti e consegne)
+     */
+    private static int antSerialNumber(MetricsCollector.LogEntry entry) {
+        String description = entry.description;
+        assertTrue(description.startsWith("Ant "), "Unexpected event during the ant update: " + entry.eventType);
+
+        int end = 4;
+        while (end < description.length() && Character.isDigit(description.charAt(end))) end++;
+        return Integer.parseInt(description.substring(4, end));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.graphics.Coord;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.MultiHashGrid;
+import com.example.managers.NeighborBuffer;
+import com.example.metrics.MetricsCollector;
+import com.example.simulation.Simulation;
+import com.example.simulation.SimulationClock;
+
+/**
+ * Allocazioni nel percorso caldo delle Ant con le impostazioni di default (campionamenti
+ * ANT_POSITION/ANT_DECISION attivi): ripete il ciclo formiche del tick (update, rilascio
+ * feromoni, raccolta) e misura con ThreadMXBean.getThreadAllocatedBytes i byte di ogni tick.
+ * I tick con una raccolta o una consegna registrano eventi generici (stringhe) e sono esclusi;
+ * tutti gli altri devono allocare 0 byte.
+ */
+class AntAllocationTest {
+
+    private static final double MAP_WIDTH = 1600;
+    private static final double MAP_HEIGHT = 900;
+    private static final double DELTA_TIME = 1 / 60.0;
+    private static final int ANT_COUNT = 300;
+    private static final int FOOD_COUNT = 500;
+    private static final int WARMUP_TICKS = 1000;        // Abbastanza per far stabilizzare il JIT (deottimizzazioni iniziali allocano)
+    private static final int MEASURED_TICKS = 500;
+
+    @Test
+    void antTickDoesNotAllocateWithTracingOn() {
+        assertAllocationFree(Ant.ANT_BEHAVIOUR.ALL_PHEROMONES);
+    }
+
+    @Test
+    void gradientAntTickDoesNotAllocateWithTracingOn() {
+        assertAllocationFree(Ant.ANT_BEHAVIOUR.GRADIENT);
+    }
+
+    private static void assertAllocationFree(Ant.ANT_BEHAVIOUR behaviour) {
+        MetricsCollector metrics = MetricsCollector.getInstance();
+        assertTrue(metrics.isAntTracingEnabled(), "Ant tracing should be on by default");
+        metrics.startExperiment("ant_allocation_" + behaviour);
+
+        Simulation simulation = new Simulation(1, ANT_COUNT, FOOD_COUNT, MAP_WIDTH, MAP_HEIGHT);
+        simulation.ANTS_BEHAVIOUR = behaviour;
+        simulation.initDensityManager();
+
+        Random random = new Random(42);
+        for (int i = 0; i < FOOD_COUNT; i++) {
+            simulation.addFood(new Food(new Coord(random.nextDouble() * MAP_WIDTH, random.nextDouble() * MAP_HEIGHT / 2)));
+        }
+        Nest nest = new Nest(ANT_COUNT, new Coord(MAP_WIDTH / 2, MAP_HEIGHT - 50), simulation);
+        nest.spawnAnts();
+
+        List<Ant> ants = simulation.getAnts();
+        DensityFieldManager densityManager = simulation.getDensityManager();
+        MultiHashGrid grid = new MultiHashGrid();
+        grid.setFoodIndex(simulation.getFoodIndex());
+        NeighborBuffer<Food> pickupCandidate = new NeighborBuffer<>(1);
+
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+            tick(ants, grid, densityManager, pickupCandidate);
+            if (tick % 3 == 0) densityManager.update(DELTA_TIME * 3);
+        }
+
+        // Due campionamenti al secondo per formica: lo spazio nel registro si prenota prima di misurare
+        metrics.reserve(ANT_COUNT * 2 * (int) (MEASURED_TICKS * DELTA_TIME + 2) * 2);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        // Costo della misura stessa (dovrebbe essere 0)
+        long overhead = threads.getThreadAllocatedBytes(thread);
+        overhead = threads.getThreadAllocatedBytes(thread) - overhead;
+
+        long cleanBytes = 0;
+        int cleanTicks = 0;
+        int tracedEvents = metrics.getEventCount();
+
+        for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+            int delivered = nest.getFoodCount();
+
+            long bytesBefore = threads.getThreadAllocatedBytes(thread);
+            int pickups = tick(ants, grid, densityManager, pickupCandidate);
+            long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore - overhead;
+
+            if (pickups == 0 && nest.getFoodCount() == delivered) {
+                cleanBytes += bytes;
+                cleanTicks++;
+            }
+
+            // Il campo di densità non fa parte del percorso delle formiche
+            if (tick % 3 == 0) densityManager.update(DELTA_TIME * 3);
+        }
+
+        assertTrue(cleanTicks > MEASURED_TICKS / 2, "Too few ticks without pickups or deliveries: " + cleanTicks);
+        assertTrue(metrics.getEventCount() > tracedEvents, "No ant traces were recorded");
+        assertEquals(0L, cleanBytes, behaviour + ": bytes allocated over " + cleanTicks + " ticks without events");
+    }
+
+    /**
+     * Il ciclo formiche di SimulationStepper; ritorna il numero di raccolte
+     */
+    private static int tick(List<Ant> ants, MultiHashGrid grid, DensityFieldManager densityManager,
+                            NeighborBuffer<Food> pickupCandidate) {
+        SimulationClock.getInstance().advance(DELTA_TIME);
+        grid.rebuildAnts(ants);
+
+        for (int i = 0; i < ants.size(); i++) {
+            Ant ant = ants.get(i);
+            ant.attachMultiHashGrid(grid);
+            ant.update(DELTA_TIME);
+            densityManager.addPheromone(ant, ant.hasFoodLoad() ? Pheromone.PheromoneType.FOOD_TRAIL : Pheromone.PheromoneType.HOME_TRAIL);
+        }
+
+        int pickups = 0;
+        double halfFood = Food.FOOD_DIM / 2.0;
+        for (int i = 0; i < ants.size(); i++) {
+            Ant ant = ants.get(i);
+            if (!ant.isEnabled() || ant.hasFoodLoad()) continue;
+
+            if (grid.findFoodWithin(ant.getPosX() + halfFood, ant.getPosY() + halfFood, ant.getSize() + halfFood, pickupCandidate) == 0) continue;
+
+            Food food = pickupCandidate.get(0);
+            ant.pickupFood(food);
+            food.onPickedUp(ant);
+            food.disable();
+            pickups++;
+        }
+        pickupCandidate.clear();
+        return pickups;
+    }
+}
@@ -8,6 +8,7 @@ import com.example.config.SimulationParameters;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.Pane;
@@ -29,6 +30,9 @@ public class OptionsController implements Initializable {
     @FXML private Label antNumberValue;
     @FXML private Label clumpSizeValue;
     @FXML private Label clumpNumberValue;
+
+    @FXML private CheckBox antSwarmCheckBox;
+    @FXML private CheckBox parallelUpdateCheckBox;
     
     @FXML private Button resetButton;
     @FXML private Button cancelButton;
@@ -118,6 +122,14 @@ public class OptionsController implements Initializable {
             clumpNumberValue.setText(String.valueOf(value));
             params.setClumpNumber(value);
         });
+
+        // Sciame struttura-di-array: vale per le simulazioni avviate da qui in poi
+        antSwarmCheckBox.setSelected(params.isAntSwarmEnabled());
+        antSwarmCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> params.setAntSwarmEnabled(newVal));
+
+        // Aggiornamento parallelo delle formiche, per le simulazioni avviate da qui in poi
+        parallelUpdateCheckBox.setSelected(params.isParallelUpdateEnabled());
+        parallelUpdateCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> params.setParallelUpdateEnabled(newVal));
     }
 
     private void updateLabels() {
@@ -147,6 +159,8 @@ public class OptionsController implements Initializable {
         antNumberSlider.setValue(params.getAntNumber());
         clumpSizeSlider.setValue(params.getClumpSize());
         clumpNumberSlider.setValue(params.getClumpNumber());
+        antSwarmCheckBox.setSelected(params.isAntSwarmEnabled());
+        parallelUpdateCheckBox.setSelected(params.isParallelUpdateEnabled());
     }
 
     @FXML
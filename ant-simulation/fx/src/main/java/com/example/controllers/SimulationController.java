@@ -8,12 +8,8 @@ import com.example.App;
 import com.example.graphics.GameCanvas;
 import com.example.managers.SimulationManager;
 import com.example.metrics.MetricsCollector;
-import com.example.simulation.DemoSimulation;
-import com.example.simulation.DoubleBridgeSimulation;
-import com.example.simulation.FullSimulation;
 import com.example.simulation.Simulation;
 import com.example.simulation.SimulationType;
-import com.example.simulation.TJunctionSimulation;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -130,22 +126,8 @@ public class SimulationController implements Initializable {
 
     public void startSimulationNow(double width, double height) {
         
-        Simulation simulation;
         SimulationType experimentType = App.getSelectedSimulation();
-
-        switch (experimentType) {
-            case DOUBLE_BRIDGE:
-                simulation = new DoubleBridgeSimulation(width, height);
-                break;
-            case T_JUNCTION:
-                simulation = new TJunctionSimulation(width, height);
-                break;
-            case DEMO:
-                simulation = new DemoSimulation(width, height);
-                break;
-            default:
-                simulation = new FullSimulation(width, height);
-        }
+        Simulation simulation = experimentType.create(width, height);
         
         System.out.println("Starting " + experimentType.getDisplayName() + 
                         " with " + simulation.ANTS_NUMBER + " ants");
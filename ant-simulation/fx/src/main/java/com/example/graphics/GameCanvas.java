@@ -1,14 +1,11 @@
 package com.example.graphics;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import com.example.config.ParameterAdapter;
-import com.example.model.Ant;
+import com.example.managers.RenderSnapshot;
 import com.example.model.Food;
-import com.example.model.FoodClump;
-import com.example.model.Nest;
 import com.example.model.Obstacle;
 
 import javafx.scene.canvas.Canvas;
@@ -21,17 +18,29 @@ import javafx.scene.paint.Color;
  */
 public class GameCanvas extends Canvas {
     
+    // Colori usati quando mancano gli sprite e per i raggi della formica selezionata
+    public static final Color ANT_FEEL_COLOR = Color.rgb(255, 255, 0, 0.2); // Colore per il raggio di percezione
+    public static final Color ANT_SENSOR_COLOR = Color.rgb(255, 0, 255, 0.2); // Colore per il raggio di sensori
+    public static final Color ANT_COLOR = Color.RED;
+    public static final Color FOOD_COLOR = Color.GREEN;    // Colore del cibo
+
     private GraphicsContext gc;
-    private static Map<String, Image> imageCache;
+    private static final Map<String, Image> imageCache = new HashMap<>();
     private Color backgroundColor;
     
     public GameCanvas(double width, double height) {
         super(width, height);
         this.gc = getGraphicsContext2D();
-        this.imageCache = new HashMap<>();
         this.backgroundColor = Color.LIGHTGREEN;
     }
     
+    /**
+     * Pixel di scena per unità di mappa (1 finché il canvas non viene scalato)
+     */
+    public double getPixelsPerMapUnit() {
+        return getLocalToSceneTransform().getMxx();
+    }
+
     /**
      * Pulisce il canvas e disegna lo sfondo
      */
@@ -41,128 +50,99 @@ public class GameCanvas extends Canvas {
     }
 
 
-    public void renderFoodClumps(List<FoodClump> foodClumps) {
-        for (FoodClump foodClump : foodClumps) {
-            if (foodClump.isEnabled()) {
-                renderFoodClump(foodClump);
-            }
-        }
-    }
-
-    public void renderFoodClump(FoodClump foodClump) {
-        for (Food food : foodClump.getFoodPieces()) {
-            if (!food.isEnabled()) continue;
-            renderFoodItem(food);
-        }
-    }
-
-    public void renderNests(List<Nest> nests) {
-        for (Nest nest : nests) {
-            if (nest.isEnabled()) {
-                renderNest(nest);
-            }
+    /**
+     * Renderizza i nidi della fotografia con il numero di cibo raccolto
+     */
+    public void renderNests(RenderSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getNestCount(); i++) {
+            renderNest(snapshot.getNestX(i), snapshot.getNestY(i), snapshot.getNestSize(i), snapshot.getNestFoodCount(i));
         }
     }
 
-    public void renderNest(Nest nest) {
-        Coord pos = nest.getPos();
-        double size = nest.getSize();
+    private void renderNest(double x, double y, double size, int foodCount) {
         
         // Disegna il nido come un cerchio
         gc.setFill(Color.BROWN);
-        gc.fillOval(pos.x - (size / 2), pos.y - (size / 2), size, size);
+        gc.fillOval(x - (size / 2), y - (size / 2), size, size);
 
         // Scrivi il numero di cibo raccolto
 
-        String foodCountText = String.valueOf(nest.getFoodCount());
+        String foodCountText = String.valueOf(foodCount);
         
         // Calcola la posizione del testo per centrarlo
         // Usa una stima più accurata della larghezza del testo (font size 16)
         double estimatedTextWidth = foodCountText.length() * 9; // ~9 pixel per carattere con font 16
-        double textX = pos.x - estimatedTextWidth / 2;
-        double textY = pos.y; // Offset per centrare verticalmente (font baseline)
+        double textX = x - estimatedTextWidth / 2;
+        double textY = y; // Offset per centrare verticalmente (font baseline)
 
         this.renderText(foodCountText, textX, textY, Color.WHITE, 16);
     }
     
     /**
-     * Renderizza una lista di formiche
+     * Renderizza le formiche della fotografia; la selezionata per ultima, sopra le altre,
+     * con lo sprite speciale, il raggio di percezione e i sensori
      */
-    public void renderAnts(List<Ant> ants, Ant selectedAnt) {
-        for (Ant ant : ants) {
-            if (ant.isEnabled()) {
-                renderAnt(ant, ant == selectedAnt);
-            }
-        }
-    }
-    
-    private void renderAnt(Ant ant, boolean isSelected) {
-        // Disegna la formica con uno sprite se selezionata, se no usa lo sprite normale
-        if (isSelected) {
-            // Seleziona lo sprite speciale per la formica selezionata
-            renderAnt(ant, loadImageCached("selectedAntSprite.png"));
-
-            // Disegna il raggio di percezione della formica
-            gc.setFill(Ant.ANT_FEEL_COLOR);
-            gc.fillOval(
-                ant.getCenter().x - ParameterAdapter.getAntSightRadius(),
-                ant.getCenter().y - ParameterAdapter.getAntSightRadius(),
-                ParameterAdapter.getAntSightRadius() * 2,
-                ParameterAdapter.getAntSightRadius() * 2
-            );
-
-            // Disegna i sensori e i loro raggi
-            drawAntSensors(ant);
+    public void renderAnts(RenderSnapshot snapshot) {
+        Image sprite = loadImageCached("antSprite.png");
+        int selectedIndex = snapshot.getSelectedIndex();
 
+        for (int i = 0; i < snapshot.getAntCount(); i++) {
+            if (i == selectedIndex) continue;
+            renderAnt(snapshot, i, sprite);
         }
-        else renderAnt(ant);
-        
+
+        if (selectedIndex >= 0) renderSelectedAnt(snapshot, selectedIndex);
     }
 
-    private void drawAntSensors(Ant ant) {
+    private void renderSelectedAnt(RenderSnapshot snapshot, int i) {
+        // Seleziona lo sprite speciale per la formica selezionata
+        renderAnt(snapshot, i, loadImageCached("selectedAntSprite.png"));
 
-        gc.setFill(Ant.ANT_SENSOR_COLOR);
+        // Disegna il raggio di percezione della formica
+        gc.setFill(ANT_FEEL_COLOR);
+        gc.fillOval(
+            snapshot.getAntCenterX(i) - ParameterAdapter.getAntSightRadius(),
+            snapshot.getAntCenterY(i) - ParameterAdapter.getAntSightRadius(),
+            ParameterAdapter.getAntSightRadius() * 2,
+            ParameterAdapter.getAntSightRadius() * 2
+        );
 
-        for (Ant.Sensor sensor : ant.getSensors()) {
+        // Disegna i sensori e i loro raggi
+        gc.setFill(ANT_SENSOR_COLOR);
 
-            Coord sensorPos = sensor.getSensorPosition();
+        for (int s = 0; s < snapshot.getSensorCount(); s++) {
             // Disegna il sensore come un cerchio
             gc.fillOval(
-                sensorPos.x - ParameterAdapter.getAntSensorRadius(),
-                sensorPos.y - ParameterAdapter.getAntSensorRadius(),
+                snapshot.getSelectedSensorX(s) - ParameterAdapter.getAntSensorRadius(),
+                snapshot.getSelectedSensorY(s) - ParameterAdapter.getAntSensorRadius(),
                 ParameterAdapter.getAntSensorRadius() * 2,
                 ParameterAdapter.getAntSensorRadius() * 2
             );
         }
     }
 
-    private void renderAnt(Ant ant) {
-        renderAnt(ant, ant.getSprite());
-    }
-
     /**
      * Renderizza una singola formica
      */
-    private void renderAnt(Ant ant, Image sprite) {
+    private void renderAnt(RenderSnapshot snapshot, int i, Image sprite) {
         
-        Coord pos = ant.getPos();
-        double size = ant.getSize();
+        double size = snapshot.getAntSize(i);
         
         // Salva lo stato del context
         gc.save();
         
         // Trasla al centro della formica per la rotazione
-        gc.translate(pos.x + size/2, pos.y + size/2);
-        gc.rotate(Math.toDegrees(ant.getAngle()));
+        gc.translate(snapshot.getAntCenterX(i), snapshot.getAntCenterY(i));
+        gc.rotate(Math.toDegrees(snapshot.getAntAngle(i)));
 
         // Se la formica ha uno sprite, disegnalo
-        if (ant.hasSprite()) {
+        if (sprite != null) {
             gc.drawImage(sprite, -size/2, -size/2, size, size);
         }
         else {
             
             // Disegna la formica come cerchio rosso
-            gc.setFill(ant.getColor());
+            gc.setFill(ANT_COLOR);
             gc.fillOval(-size/2, -size/2, size, size);
             
             // Disegna una linea per indicare la direzione
@@ -172,25 +152,11 @@ public class GameCanvas extends Canvas {
         
         }
             
-        // Se ha del cibo, disegnalo
-        if (ant.hasFoodLoad()) {
-            Food food = (Food)ant.getFoodLoad();
+        // Se ha del cibo, disegnalo nelle coordinate trasformate
+        if (snapshot.isAntCarrying(i)) {
             double offsetDistance = size * 0.6; // distanza dal centro
-            
-            // Renderizza il cibo nelle coordinate trasformate
-            if (food.hasSprite()) {
-                gc.drawImage(food.getSprite(), 
-                    offsetDistance - food.getSize()/2, 
-                    -food.getSize()/2, 
-                    food.getSize(), 
-                    food.getSize());
-            } else {
-                gc.setFill(food.getColor());
-                gc.fillOval(offsetDistance - food.getSize()/2, 
-                           -food.getSize()/2, 
-                           food.getSize(), 
-                           food.getSize());
-            }
+            gc.setFill(FOOD_COLOR);
+            gc.fillOval(offsetDistance - Food.FOOD_DIM/2.0, -Food.FOOD_DIM/2.0, Food.FOOD_DIM, Food.FOOD_DIM);
         }
 
         // Ripristina lo stato
@@ -198,35 +164,25 @@ public class GameCanvas extends Canvas {
     }
     
     /**
-     * Renderizza una lista di cibo
+     * Renderizza il cibo della fotografia (pezzi sparsi e degli ammassi)
      */
-    public void renderFood(List<Food> foods) {
-        for (Food food : foods) {
-            if (food.isEnabled()) {
-                renderFoodItem(food);
-            }
+    public void renderFood(RenderSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getFoodCount(); i++) {
+            renderFoodItem(snapshot.getFoodX(i), snapshot.getFoodY(i), Food.FOOD_DIM);
         }
     }
     
     /**
      * Renderizza un singolo pezzo di cibo
      */
-    private void renderFoodItem(Food food) {
-        Coord pos = food.getPos();
-        double size = food.getSize();
+    private void renderFoodItem(double x, double y, double size) {
+        gc.setFill(FOOD_COLOR);
+        gc.fillOval(x, y, size, size);
         
-        if (food.hasSprite()) {
-            gc.drawImage(food.getSprite(), pos.x, pos.y, size, size);
-        }
-        else {
-            gc.setFill(food.getColor());
-            gc.fillOval(pos.x, pos.y, size, size);
-            
-            // Bordo scuro per visibilità
-            gc.setStroke(Color.DARKGREEN);
-            gc.setLineWidth(1);
-            gc.strokeOval(pos.x, pos.y, size, size);
-        }
+        // Bordo scuro per visibilità
+        gc.setStroke(Color.DARKGREEN);
+        gc.setLineWidth(1);
+        gc.strokeOval(x, y, size, size);
     }
 
     public void drawObstacle(Obstacle obstacle) {
@@ -0,0 +1,157 @@
+package com.example.graphics;
+
+import java.util.SplittableRandom;
+
+import com.example.config.ParameterAdapter;
+import com.example.config.SimulationParameters;
+import com.example.managers.DensityFieldManager;
+import com.example.managers.RenderSnapshot;
+import com.example.model.Pheromone;
+import com.example.simulation.RandomService;
+
+import javafx.scene.paint.Color;
+
+public class PheromoneRenderer {
+    
+    private static final double RANDOM_OFFSET = 0.75;           // Per jitter casuale
+    private static final double SAMPLING_FACTOR = 0.5;          // Riduce il numero di punti renderizzati
+    private static final double ALPHA_FACTOR = 0.5;            // Fattore di opacità per i feromoni
+    private static final double MIN_BLOCK_PIXELS = 2.0;         // Lato minimo (in pixel) di un blocco disegnato: un punto
+
+    // Colori dei feromoni
+    public static final Color FOOD_TRAIL_COLOR = Color.color(0.8, 0.3, 0.2);    // Arancione
+    public static final Color HOME_TRAIL_COLOR = Color.color(0.2, 0.4, 1.0);    // Blu
+
+    private boolean renderingEnabled = true;
+    private int levelOfDetail = 0;                             // Livello della piramide da disegnare (0 = celle piene)
+    private SplittableRandom random;                           // Flusso del rendering, ripreso ad ogni frame
+    
+    /**
+     * RENDERING PRINCIPALE - Renderizza scie di feromoni come punti, dai campi copiati nella
+     * fotografia (al livello di dettaglio richiesto, se la piramide è già disponibile)
+     */
+    public void renderDensityTrails(GameCanvas canvas, RenderSnapshot snapshot) {
+        if (!renderingEnabled || !snapshot.hasField()) return;
+
+        random = RandomService.getInstance().get(RandomService.Stream.RENDER);
+
+        if (snapshot.getFieldLevel() > 0) {
+            renderLevelDots(canvas, snapshot);
+            return;
+        }
+
+        renderDots(canvas, snapshot);
+    }
+
+    /**
+     * Un punto per blocco 2^level x 2^level della piramide, con l'intensità media del blocco
+     */
+    private void renderLevelDots(GameCanvas canvas, RenderSnapshot snapshot) {
+
+        double blockSize = snapshot.getFieldCellSize();
+        int blockCells = 1 << snapshot.getFieldLevel();
+        int levelWidth = snapshot.getFieldWidth();
+        int levelHeight = snapshot.getFieldHeight();
+
+        for (int y = 0; y < levelHeight; y++) {
+            for (int x = 0; x < levelWidth; x++) {
+
+                double foodIntensity = snapshot.getFieldIntensity(Pheromone.PheromoneType.FOOD_TRAIL, x, y);
+                if (foodIntensity > ParameterAdapter.getPheromoneMinIntensity()) {
+                    renderDot(canvas, (x + 0.5) * blockSize, (y + 0.5) * blockSize, foodIntensity, Pheromone.PheromoneType.FOOD_TRAIL, blockCells);
+                }
+
+                double homeIntensity = snapshot.getFieldIntensity(Pheromone.PheromoneType.HOME_TRAIL, x, y);
+                if (homeIntensity > ParameterAdapter.getPheromoneMinIntensity()) {
+                    renderDot(canvas, (x + 0.5) * blockSize, (y + 0.5) * blockSize, homeIntensity, Pheromone.PheromoneType.HOME_TRAIL, blockCells);
+                }
+            }
+        }
+    }
+    
+    
+    /**
+     * Renderizza i punti di feromone come cerchi
+     */
+    private void renderDots(GameCanvas canvas, RenderSnapshot snapshot) {
+        
+        double cellSize = snapshot.getFieldCellSize();
+        int gridWidth = snapshot.getFieldWidth();
+        int gridHeight = snapshot.getFieldHeight();
+
+
+        // Sampling più denso per catturare tutti i feromoni
+        int step = Math.max(1, (int)(cellSize * SAMPLING_FACTOR));
+
+        for (int y = 0; y < gridHeight; y += step) {
+            for (int x = 0; x < gridWidth; x += step) {
+
+                // Food dots (intensità corrente, anche con evaporazione lazy)
+                double foodIntensity = snapshot.getFieldIntensity(Pheromone.PheromoneType.FOOD_TRAIL, x, y);
+                if (foodIntensity > ParameterAdapter.getPheromoneMinIntensity()) {
+                    renderDot(canvas, x * cellSize, y * cellSize, foodIntensity, Pheromone.PheromoneType.FOOD_TRAIL, 1);
+                }
+                
+                // Home dots
+                double homeIntensity = snapshot.getFieldIntensity(Pheromone.PheromoneType.HOME_TRAIL, x, y);
+                if (homeIntensity > ParameterAdapter.getPheromoneMinIntensity()) {
+                    renderDot(canvas, x * cellSize, y * cellSize, homeIntensity, Pheromone.PheromoneType.HOME_TRAIL, 1);
+                }
+            }
+        }
+    }
+    
+    private void renderDot(GameCanvas canvas, double x, double y, double intensity, Pheromone.PheromoneType type, int blockCells) {
+
+        double intensityFactor = (intensity / SimulationParameters.getInstance().getMaxIntensity());
+
+        // Raggio basato su intensità (e sul lato del blocco per i livelli grossolani)
+        double radius = Math.max(Pheromone.PHEROMONE_SIZE * blockCells * intensityFactor, 1);
+
+        Color color = getColorWithAlpha(type, Math.min(intensityFactor, ALPHA_FACTOR));
+
+        //System.out.println(intensity*ALPHA_FACTOR);
+
+        canvas.renderCircle(x + random.nextGaussian() * RANDOM_OFFSET, y + random.nextGaussian() * RANDOM_OFFSET, radius, color);
+    }
+    
+    public static Color getColorForType(Pheromone.PheromoneType type) {
+        switch(type) {
+            case FOOD_TRAIL:
+                return FOOD_TRAIL_COLOR;
+            case HOME_TRAIL:
+                return HOME_TRAIL_COLOR;
+            default:
+                return Color.BLACK;
+        }
+    }
+
+    public static Color getColorWithAlpha(Pheromone.PheromoneType type, double intensity) {
+        Color baseColor = getColorForType(type);
+        double alpha = Math.max(0.1, intensity);
+
+        return new Color(
+            baseColor.getRed(),
+            baseColor.getGreen(),
+            baseColor.getBlue(),
+            alpha
+        );
+    }
+
+    /**
+     * Sceglie il livello della piramide dal rapporto cella/pixel: il livello più fine in cui
+     * un blocco occupa almeno MIN_BLOCK_PIXELS sullo schermo (0 finché le celle sono abbastanza grandi)
+     */
+    public void updateLevelOfDetail(double pixelsPerMapUnit) {
+        double cellPixels = DensityFieldManager.CELL_SIZE * pixelsPerMapUnit;
+        if (!(cellPixels > 0)) return;
+
+        int level = 0;
+        while (cellPixels * (1 << level) < MIN_BLOCK_PIXELS && level < 30) level++;
+        this.levelOfDetail = level;
+    }
+
+    // Getters/Setters
+    public void setRenderingEnabled(boolean enabled) { this.renderingEnabled = enabled; }
+    public int getLevelOfDetail() { return levelOfDetail; }
+}
\ No newline at end of file
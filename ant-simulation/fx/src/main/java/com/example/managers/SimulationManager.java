@@ -0,0 +1,375 @@
+package com.example.managers;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.example.config.SimulationParameters;
+import com.example.graphics.GameCanvas;
+import com.example.graphics.PheromoneRenderer;
+import com.example.model.Ant;
+import com.example.model.Obstacle;
+import com.example.simulation.Simulation;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Manager che coordina simulazione e rendering
+ */
+public class SimulationManager {
+    
+
+    private Simulation currentSimulation;
+    private GameCanvas canvas;
+    private AnimationTimer gameLoop;
+    private AnimationTimer pausedGameLoop = null;
+    private SimulationLoop simulationLoop;
+    private boolean paused = false;
+    private boolean running;
+
+    // Impostazioni del tick, applicate allo stepper di ogni simulazione avviata
+    // (l'aggiornamento parallelo è un'impostazione di setup, in SimulationParameters)
+    private boolean pipelinedDensityEnabled;
+    private boolean adaptiveScheduling;
+
+    private long frameCount;
+    private long pulseCount;                                                // Impulsi dell'AnimationTimer, disegnati o no
+    private double fps;
+    private long fpsLastTime = 0;
+
+    private SimulationStepper stepper;                                      // Logica del tick della simulazione corrente, usata dal suo thread
+    private final PheromoneRenderer pheromoneRenderer = new PheromoneRenderer();
+    
+    private StatsUpdateCallback statsCallback;                              
+    
+    public interface StatsUpdateCallback {
+        void updateStats(long activeAnts, long activeFood, double fps);
+    }
+    
+    public SimulationManager(GameCanvas canvas) {
+        this.canvas = canvas;
+        this.running = false;
+        this.frameCount = 0;
+        this.fps = 0;
+
+        // Con più core la passata del campo si sovrappone alle formiche del tick successivo
+        this.pipelinedDensityEnabled = Runtime.getRuntime().availableProcessors() > 1;
+
+        // Nella finestra la fedeltà si adatta al tempo di frame (headless resta fisso e riproducibile)
+        this.adaptiveScheduling = true;
+    }
+    
+    public void setStatsUpdateCallback(StatsUpdateCallback callback) {
+        this.statsCallback = callback;
+    }
+
+    /**
+     * Avvia una simulazione: i tick girano sul thread di SimulationLoop,
+     * l'AnimationTimer disegna soltanto l'ultima fotografia pubblicata
+     */
+    public void startSimulation(Simulation simulation) {
+        stopSimulation();
+        
+        this.currentSimulation = simulation;
+        this.running = true;
+
+        // Stepper nuovo per ogni simulazione: griglie, updater, scheduler e conto alla rovescia
+        // del campo non devono passare da una simulazione all'altra
+        stepper = createStepper();
+        simulationLoop = new SimulationLoop(simulation, stepper);
+        simulationLoop.setSnapshotFieldLevel(pheromoneRenderer.getLevelOfDetail());
+        
+        // Avvia il game loop (solo rendering)
+        gameLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                // Cadenza di disegno decisa dallo scheduler in base al costo dei frame
+                if (pulseCount++ % stepper.getScheduler().getRenderInterval() == 0) {
+                    render();
+                    updateFPS(now);
+                }
+                updateStatsCallback();
+            }
+        };
+        
+        gameLoop.start();
+        
+        // Avvia thread simulazione
+        simulationLoop.start();
+    }
+    
+    public void pauseSimulation() {
+        if (!running || paused) return;
+        
+        paused = true;
+        simulationLoop.setPaused(true);
+        
+        if (gameLoop != null) {
+            gameLoop.stop();
+            pausedGameLoop = gameLoop;
+            gameLoop = null;
+        }
+        
+        System.out.println("Simulazione messa in pausa");
+    }
+
+    public void resumeSimulation() {
+        if (!running || !paused) return;
+        
+        paused = false;
+        simulationLoop.setPaused(false);
+        
+        if (pausedGameLoop != null) {
+            gameLoop = pausedGameLoop;
+            pausedGameLoop = null;
+            gameLoop.start();
+        }
+        
+        System.out.println("Simulazione ripresa");
+    }
+
+    /**
+     * Ferma la simulazione corrente
+     */
+    public void stopSimulation() {
+        running = false;
+        paused = false;
+        pausedGameLoop = null;
+        
+        if (gameLoop != null) {
+            gameLoop.stop();
+            gameLoop = null;
+        }
+
+        // Attende la fine del thread: da qui in poi la simulazione la tocca solo questo thread
+        if (simulationLoop != null) {
+            simulationLoop.stop();
+            simulationLoop = null;
+        }
+        
+        if (currentSimulation != null) {
+            currentSimulation.setExit(true);
+            try {
+                currentSimulation.reset();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private SimulationStepper createStepper() {
+        SimulationStepper newStepper = new SimulationStepper();
+        newStepper.setParallelUpdateEnabled(SimulationParameters.getInstance().isParallelUpdateEnabled());
+        newStepper.setPipelinedDensityEnabled(pipelinedDensityEnabled);
+        newStepper.getScheduler().setAdaptive(adaptiveScheduling);
+        return newStepper;
+    }
+
+    /**
+     * Aggiornamento delle formiche su più core (vedi ParallelAntUpdater)
+     */
+    public void setParallelUpdateEnabled(boolean enabled) {
+        SimulationParameters.getInstance().setParallelUpdateEnabled(enabled);
+        onStepper(current -> current.setParallelUpdateEnabled(enabled));
+    }
+
+    public boolean isParallelUpdateEnabled() {
+        return SimulationParameters.getInstance().isParallelUpdateEnabled();
+    }
+
+    /**
+     * Update del campo sovrapposto al tick successivo (vedi SimulationStepper.setPipelinedDensityEnabled)
+     */
+    public void setPipelinedDensityEnabled(boolean enabled) {
+        this.pipelinedDensityEnabled = enabled;
+        onStepper(current -> current.setPipelinedDensityEnabled(enabled));
+    }
+
+    public boolean isPipelinedDensityEnabled() {
+        return pipelinedDensityEnabled;
+    }
+
+    /**
+     * Cadenze del campo, del disegno e dei sotto-passi adattive (vedi FrameBudgetScheduler)
+     */
+    public void setAdaptiveScheduling(boolean enabled) {
+        this.adaptiveScheduling = enabled;
+        onStepper(current -> current.getScheduler().setAdaptive(enabled));
+    }
+
+    public boolean isAdaptiveScheduling() {
+        return adaptiveScheduling;
+    }
+
+    /**
+     * Applica il comando allo stepper della simulazione corrente, sul suo thread (nessuno se non è mai partita)
+     */
+    private void onStepper(Consumer<SimulationStepper> command) {
+        SimulationStepper current = stepper;
+        if (current == null) return;
+        onSimulationThread(() -> command.accept(current));
+    }
+
+    /**
+     * La selezione cambia sul thread della simulazione, tra due tick
+     */
+    public void selectNextAnt() {
+        if (currentSimulation == null) return;
+        Simulation simulation = currentSimulation;
+
+        onSimulationThread(() -> {
+            if (simulation.getAntSwarm() != null) {
+                simulation.getAntSwarm().selectNext();
+                return;
+            }
+
+            Ant selectedAnt = simulation.getSelectedAnt();
+            List<Ant> ants = simulation.getAnts();
+
+            if (ants.isEmpty()) return;
+
+            int nextIndex = (selectedAnt == null) ? 0 : (simulation.getAntIndex(selectedAnt) + 1) % ants.size();
+            simulation.setSelectedAnt(ants.get(nextIndex));
+        });
+    }
+
+    public void selectPreviousAnt() {
+        if (currentSimulation == null) return;
+        Simulation simulation = currentSimulation;
+
+        onSimulationThread(() -> {
+            if (simulation.getAntSwarm() != null) {
+                simulation.getAntSwarm().selectPrevious();
+                return;
+            }
+
+            Ant selectedAnt = simulation.getSelectedAnt();
+            List<Ant> ants = simulation.getAnts();
+
+            if (ants.isEmpty()) return;
+
+            int prevIndex = (selectedAnt == null) ? ants.size() - 1 : (simulation.getAntIndex(selectedAnt) - 1 + ants.size()) % ants.size();
+            simulation.setSelectedAnt(ants.get(prevIndex));
+        });
+    }
+
+    /**
+     * Senza thread della simulazione attivo il comando viene eseguito subito
+     */
+    private void onSimulationThread(Runnable command) {
+        if (simulationLoop != null) {
+            simulationLoop.post(command);
+        } else {
+            command.run();
+        }
+    }
+    
+    /**
+     * Rendering principale, dall'ultima fotografia pubblicata dal thread della simulazione
+     */
+    private void render() {
+        if (!running || simulationLoop == null) return;
+
+        // Livello della piramide adatto alla scala del canvas, per le prossime fotografie
+        pheromoneRenderer.updateLevelOfDetail(canvas.getPixelsPerMapUnit());
+        simulationLoop.setSnapshotFieldLevel(pheromoneRenderer.getLevelOfDetail());
+        RenderSnapshot snapshot = simulationLoop.takeSnapshot();
+        if (snapshot == null) return;
+        
+        long renderStart = System.nanoTime();
+        
+        // Pulisci canvas
+        canvas.clear();
+
+        long pheromoneRenderStart = System.nanoTime();
+
+        // Renderizza ostacoli
+        for (Obstacle obstacle : snapshot.getObstacles()) {
+            canvas.drawObstacle(obstacle);
+        }
+
+        // Renderizza density field
+        if (snapshot.hasField()) {
+            pheromoneRenderer.renderDensityTrails(canvas, snapshot);
+        }
+        
+        long pheromoneRenderTime = System.nanoTime() - pheromoneRenderStart;
+        long otherRenderStart = System.nanoTime();
+
+        // Renderizza altri oggetti
+        canvas.renderFood(snapshot);
+        canvas.renderAnts(snapshot);
+        canvas.renderNests(snapshot);
+
+        long otherRenderTime = System.nanoTime() - otherRenderStart;
+        long totalTime = System.nanoTime() - renderStart;
+
+        FrameBudgetScheduler scheduler = stepper.getScheduler();
+        scheduler.recordRender(totalTime);
+
+        // Debug performance rendering
+        if (frameCount % 60 == 0) {
+            System.out.printf("HYBRID RENDER - Total: %.2fms | Trails: %.2fms | Others: %.2fms | Sim: %.0f steps/s\n", totalTime / 1_000_000.0, pheromoneRenderTime / 1_000_000.0, otherRenderTime / 1_000_000.0, snapshot.getStepsPerSecond());
+            System.out.printf("SCHEDULER - Density every %d ticks | Render every %d frames | Ant substeps: %d | Costs ants %.2fms, food %.2fms, density %.2fms, render %.2fms\n",
+                scheduler.getDensityInterval(), scheduler.getRenderInterval(), scheduler.getAntSubsteps(),
+                scheduler.getAntCostMillis(), scheduler.getFoodCostMillis(), scheduler.getDensityCostMillis(), scheduler.getRenderCostMillis());
+        }
+    }
+
+    private void updateStatsCallback() {
+        if (statsCallback == null || simulationLoop == null) return;
+
+        RenderSnapshot snapshot = simulationLoop.currentSnapshot();
+        if (snapshot == null) return;
+
+        statsCallback.updateStats(snapshot.getActiveAnts(), snapshot.getActiveFood(), fps);
+    }
+
+    public double[] getSelectedAntStats() {
+        
+        if (simulationLoop == null) return null;
+
+        RenderSnapshot snapshot = simulationLoop.currentSnapshot();
+        if (snapshot == null) return null;
+
+        return snapshot.getSelectedStats();
+    }
+
+    public void togglePause() {
+        if (paused) {
+            resumeSimulation();
+        } else {
+            pauseSimulation();
+        }
+    }
+
+    public boolean isPaused() { 
+        return paused; 
+    }
+
+    public boolean isRunning() { 
+        return running && !paused; 
+    }
+
+    /**
+     * Aggiorna calcolo FPS
+     */
+    private void updateFPS(long now) {
+        frameCount++;
+        
+        if (fpsLastTime == 0) {
+            fpsLastTime = now;
+        }
+        
+        long elapsedTime = now - fpsLastTime;
+        
+        if (elapsedTime >= 1_000_000_000) {
+            fps = frameCount;
+            frameCount = 0;
+            fpsLastTime = now;
+        }
+    }
+    
+    // Getters
+    public Simulation getCurrentSimulation() { return currentSimulation; }
+    public double getFPS() { return fps; }
+}
\ No newline at end of file
@@ -6,6 +6,7 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.GridPane;
@@ -29,6 +30,8 @@ public class OptionsDialog {
     private Slider antNumberSlider;
     private Slider clumpSizeSlider;
     private Slider clumpNumberSlider;
+    private CheckBox antSwarmCheckBox;
+    private CheckBox parallelUpdateCheckBox;
 
     // Label per i valori
     private Label nestNumberValue;
@@ -121,6 +124,20 @@ public class OptionsDialog {
                 });
             });
 
+        // Ant Swarm (GRADIENT ricade su ALL_PHEROMONES, niente ANT_POSITION/ANT_DECISION nelle metriche)
+        antSwarmCheckBox = new CheckBox("Array-based colony (no per-ant traces)");
+        antSwarmCheckBox.setSelected(params.isAntSwarmEnabled());
+        antSwarmCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> params.setAntSwarmEnabled(newVal));
+        grid.add(new Label("Ant Swarm:"), 0, 4);
+        grid.add(antSwarmCheckBox, 1, 4, 2, 1);
+
+        // Aggiornamento parallelo delle formiche (ParallelAntUpdater)
+        parallelUpdateCheckBox = new CheckBox("Update ants on all cores");
+        parallelUpdateCheckBox.setSelected(params.isParallelUpdateEnabled());
+        parallelUpdateCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> params.setParallelUpdateEnabled(newVal));
+        grid.add(new Label("Parallel Ants:"), 0, 5);
+        grid.add(parallelUpdateCheckBox, 1, 5, 2, 1);
+
         // Pulsanti
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
@@ -144,7 +161,7 @@ public class OptionsDialog {
 
         mainLayout.getChildren().addAll(titleLabel, grid, buttonBox);
 
-        Scene scene = new Scene(mainLayout, 400, 300);
+        Scene scene = new Scene(mainLayout, 400, 380);
         stage.setScene(scene);
     }
 
@@ -179,6 +196,8 @@ public class OptionsDialog {
         antNumberSlider.setValue(params.getAntNumber());
         clumpSizeSlider.setValue(params.getClumpSize());
         clumpNumberSlider.setValue(params.getClumpNumber());
+        antSwarmCheckBox.setSelected(params.isAntSwarmEnabled());
+        parallelUpdateCheckBox.setSelected(params.isParallelUpdateEnabled());
         
         // Aggiorna label
         nestNumberValue.setText(String.valueOf(params.getNestNumber()));
@@ -1 +1 @@
-"C:\ProgramFiles\Apache\Maven\apache-maven-3.9.11\bin\mvn.cmd" clean javafx:run
\ No newline at end of file
+"C:\ProgramFiles\Apache\Maven\apache-maven-3.9.11\bin\mvn.cmd" clean install && "C:\ProgramFiles\Apache\Maven\apache-maven-3.9.11\bin\mvn.cmd" -f fx javafx:run
\ No newline at end of file